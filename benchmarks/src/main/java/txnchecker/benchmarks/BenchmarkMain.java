@@ -0,0 +1,30 @@
+package txnchecker.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+/**
+ * Class name: BenchmarkMain.java
+ *
+ * Detailed Description -  Main class of benchmarks.jar. Takes the usual JMH command line (benchmark regex, -p, -f,
+ * -wi, -i, -rf json, ...) and always adds the GC profiler, so every result has the allocation rate and the GC count
+ * and time next to the time per operation.
+ *
+ * Programming language used is Java.
+ *
+ */
+public class BenchmarkMain {
+	/**
+     * Method name: main
+     * Purpose: Runs the benchmarks that match the command line, with the GC profiler
+     * @param args JMH command line options
+     * @return none
+     */
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		Options options = new OptionsBuilder().parent(commandLineOptions).addProfiler(GCProfiler.class).build();
+		new Runner(options).run();
+	}
+}
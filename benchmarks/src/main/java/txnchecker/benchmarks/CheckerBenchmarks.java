@@ -0,0 +1,210 @@
+package txnchecker.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import txnchecker.BinarySchedule;
+import txnchecker.CycleDetector;
+import txnchecker.MappedScheduleParser;
+import txnchecker.OnlineSerializabilityChecker;
+import txnchecker.ParsedSchedule;
+import txnchecker.PrecedenceGraph;
+import txnchecker.RandomScheduleGenerator;
+import txnchecker.ScheduleColumns;
+import txnchecker.SerializabilityChecker;
+import txnchecker.SerializabilityResult;
+/**
+ * Class name: CheckerBenchmarks.java
+ *
+ * Detailed Description -  JMH benchmarks of every stage of the checker, each measured on its own so that a change of
+ * one stage shows up in its own number:
+ *    parseText          MappedScheduleParser.parse of a .sch file
+ *    openBinary         BinarySchedule.open of the same schedule, and one pass over its columns
+ *    buildGraph         precedence graph construction from the parsed columns
+ *    buildGraphSharded  the same, split by item on all the cores
+ *    detectCycles       CycleDetector.check of the built graph
+ *    checkOnline        OnlineSerializabilityChecker over the parsed columns, with and without pruning
+ *    checkEndToEnd      parse, build and check, what Task 1 does without printing
+ *    sampleSchedule     one Task 2 iteration: a random legal schedule of a transaction set, its graph and its check
+ * The schedules come from WorkloadGenerator, the workload is set with the @Param fields (-p on the command line).
+ * The inputs of a stage are created in the setup, outside of the measurement.
+ *
+ * Technique useds - JMH, average time per operation, one fork. Run with BenchmarkMain to get the GC profiler
+ * (allocation rate and GC time) next to the times.
+ * Programming language used is Java.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckerBenchmarks {
+
+	/**
+     * Class name: ScheduleWorkload
+     * Purpose: A synthetic schedule, written as a .sch and a .bsch file, parsed and turned into a graph once
+     */
+	@State(Scope.Benchmark)
+	public static class ScheduleWorkload {
+		@Param({ "1000", "100000" })
+		public int transactions;
+		@Param({ "8" })
+		public int opsPerTransaction;
+		@Param({ "26", "150" })
+		public int items;
+		@Param({ "0.8" })
+		public double readRatio;
+		@Param({ "0.0", "1.0" })
+		public double skew;
+		@Param({ "16" })
+		public int inFlight;
+		@Param({ "42" })
+		public long seed;
+
+		Path textFilePath;
+		Path binaryFilePath;
+		ParsedSchedule parsedSchedule;
+		PrecedenceGraph precedenceGraph;
+
+		@Setup(Level.Trial)
+		public void setUp() throws IOException {
+			textFilePath = Files.createTempFile("benchmark", ".sch");
+			binaryFilePath = Files.createTempFile("benchmark", ".bsch");
+			Files.write(textFilePath, WorkloadGenerator.createSchedule(transactions, opsPerTransaction, items, readRatio,
+					skew, inFlight, seed));
+			parsedSchedule = MappedScheduleParser.parse(textFilePath);
+			BinarySchedule.write(parsedSchedule, binaryFilePath);
+			precedenceGraph = SerializabilityChecker.buildPrecedenceGraph(parsedSchedule);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws IOException {
+			Files.deleteIfExists(textFilePath);
+			Files.deleteIfExists(binaryFilePath);
+		}
+	}
+
+	/**
+     * Class name: TransactionSetWorkload
+     * Purpose: A synthetic transaction set (.set) for Task 2, and a generator of its random legal schedules
+     */
+	@State(Scope.Thread)
+	public static class TransactionSetWorkload {
+		@Param({ "4", "16" })
+		public int setTransactions;
+		@Param({ "4" })
+		public int setOpsPerTransaction;
+		@Param({ "4" })
+		public int setItems;
+		@Param({ "2" })
+		public int a;
+		@Param({ "4" })
+		public int b;
+
+		RandomScheduleGenerator scheduleGenerator;
+		SplittableRandom random;
+
+		@Setup(Level.Trial)
+		public void setUp() throws IOException {
+			Path setFilePath = Files.createTempFile("benchmark", ".set");
+			try {
+				// every transaction is in flight from the start, the order of the set does not matter to Task 2
+				Files.write(setFilePath, WorkloadGenerator.createSchedule(setTransactions, setOpsPerTransaction, setItems,
+						0.5, 0.0, setTransactions, 42));
+				scheduleGenerator = new RandomScheduleGenerator(MappedScheduleParser.parse(setFilePath));
+			} finally {
+				Files.deleteIfExists(setFilePath);
+			}
+			random = new SplittableRandom(42);
+		}
+	}
+
+	@Benchmark
+	public ParsedSchedule parseText(ScheduleWorkload workload) throws IOException {
+		return MappedScheduleParser.parse(workload.textFilePath);
+	}
+
+	@Benchmark
+	public long openBinary(ScheduleWorkload workload) throws IOException {
+		BinarySchedule binarySchedule = BinarySchedule.open(workload.binaryFilePath);
+		long lChecksum = 0; // read every operation, opening alone only maps the file
+		for (int i = 0; i < binarySchedule.size(); i++)
+			lChecksum += binarySchedule.getOperation(i) + binarySchedule.getTransaction(i) + binarySchedule.getItem(i);
+		return lChecksum;
+	}
+
+	@Benchmark
+	public PrecedenceGraph buildGraph(ScheduleWorkload workload) {
+		return SerializabilityChecker.buildPrecedenceGraph(workload.parsedSchedule);
+	}
+
+	@Benchmark
+	public PrecedenceGraph buildGraphSharded(ScheduleWorkload workload) {
+		return SerializabilityChecker.buildPrecedenceGraph(workload.parsedSchedule, Runtime.getRuntime().availableProcessors());
+	}
+
+	@Benchmark
+	public SerializabilityResult detectCycles(ScheduleWorkload workload) {
+		return CycleDetector.check(workload.precedenceGraph);
+	}
+
+	@Benchmark
+	public boolean checkOnline(ScheduleWorkload workload) {
+		return checkOnline(workload.parsedSchedule, false);
+	}
+
+	@Benchmark
+	public boolean checkOnlinePruned(ScheduleWorkload workload) {
+		return checkOnline(workload.parsedSchedule, true);
+	}
+
+	@Benchmark
+	public boolean checkEndToEnd(ScheduleWorkload workload) throws IOException {
+		return SerializabilityChecker.check(MappedScheduleParser.parse(workload.textFilePath)).isConflictSerializable();
+	}
+
+	@Benchmark
+	public void sampleSchedule(TransactionSetWorkload workload, Blackhole blackhole) {
+		ScheduleColumns schedule = workload.scheduleGenerator.createRandomLegalSchedule(workload.random, workload.a, workload.b);
+		blackhole.consume(SerializabilityChecker.check(schedule).isConflictSerializable());
+	}
+
+	/**
+     * Method name: checkOnline
+     * Purpose: Feeds every operation of a parsed schedule to a new OnlineSerializabilityChecker
+     * @param parsedSchedule the ParsedSchedule
+     * @param bPruneCommitted retire committed transactions
+     * @return boolean; the verdict
+     */
+	private static boolean checkOnline(ParsedSchedule parsedSchedule, boolean bPruneCommitted) {
+		OnlineSerializabilityChecker onlineChecker = new OnlineSerializabilityChecker(bPruneCommitted);
+		String[] itemKeys = new String[parsedSchedule.getItemCount()]; // one String per item, like a reader of lines
+		for (int iItem = 0; iItem < itemKeys.length; iItem++)
+			itemKeys[iItem] = parsedSchedule.getItemKey(iItem);
+		for (int i = 0; i < parsedSchedule.size(); i++) {
+			int iItem = parsedSchedule.getItem(i);
+			onlineChecker.accept(parsedSchedule.getOperation(i), parsedSchedule.getTransactionId(parsedSchedule.getTransaction(i)),
+					iItem != -1 ? itemKeys[iItem] : null);
+		}
+		return onlineChecker.isConflictSerializable();
+	}
+}
@@ -0,0 +1,132 @@
+package txnchecker.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+/**
+ * Class name: WorkloadGenerator.java
+ *
+ * Detailed Description -  A class that creates synthetic schedules (.sch text) for the benchmarks. A workload has
+ * a number of transactions, a number of reads and writes per transaction, a number of items, a read ratio and a skew
+ * of the item accesses. Every transaction ends with its commit. The transactions are interleaved at random,
+ * with at most a number of transactions in flight, so the schedule looks like a real history and not like a
+ * transaction set.
+ *
+ * Technique useds - The item of every read and write is drawn from a Zipf-like distribution: item k (from 0) has the
+ * weight 1/(k+1)^skew, skew 0 is uniform, a larger skew makes a few hot items (and more conflicts). An item is drawn
+ * by a binary search in the cumulative weights. The same seed gives the same schedule. The first 52 items are the
+ * letters A-Z and a-z, the next items are the keys k52, k53, ...
+ * Data structure used is arrays in Java.
+ * Programming language used is Java.
+ *
+ * Input Requirement - At least 1 item.
+ *
+ */
+final class WorkloadGenerator {
+	private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+	private WorkloadGenerator() {
+	}
+
+	/**
+     * Method name: createSchedule
+     * Purpose: Creates the text of a synthetic schedule, one operation per line
+     * Pre-condition - iItems > 0, 0 <= dReadRatio <= 1, dSkew >= 0, iInFlight > 0
+     * Post-condition - Every transaction has iOpsPerTransaction reads and writes in a row, followed by its commit
+     * @param iTransactions number of transactions, IDs 1 to iTransactions
+     * @param iOpsPerTransaction reads and writes of every transaction
+     * @param iItems number of distinct items
+     * @param dReadRatio probability of a read
+     * @param dSkew skew of the item accesses, 0 for uniform
+     * @param iInFlight maximum number of transactions that have started and not committed
+     * @param lSeed seed of the random stream
+     * @return byte array; the schedule in the .sch format, in ASCII
+     */
+	static byte[] createSchedule(int iTransactions, int iOpsPerTransaction, int iItems, double dReadRatio, double dSkew,
+			int iInFlight, long lSeed) {
+		if (iItems <= 0)
+			throw new IllegalArgumentException("items must be at least 1");
+		String[] itemKeys = new String[iItems];
+		for (int k = 0; k < iItems; k++)
+			itemKeys[k] = k < LETTERS.length() ? LETTERS.substring(k, k + 1) : "k" + k;
+		SplittableRandom random = new SplittableRandom(lSeed);
+		double[] cumulativeWeights = getCumulativeWeights(iItems, dSkew);
+		int[] inFlight = new int[Math.min(iInFlight, iTransactions)]; // transaction IDs in flight
+		int[] remaining = new int[inFlight.length]; // reads and writes left of every transaction in flight
+		int iInFlightCount = 0;
+		int iNextTransaction = 1;
+		ByteArrayOutputStream scheduleText = new ByteArrayOutputStream(iTransactions * (iOpsPerTransaction + 1) * 10);
+		while (iInFlightCount > 0 || iNextTransaction <= iTransactions) {
+			// Start transactions until the in flight limit is reached
+			while (iInFlightCount < inFlight.length && iNextTransaction <= iTransactions) {
+				inFlight[iInFlightCount] = iNextTransaction++;
+				remaining[iInFlightCount++] = iOpsPerTransaction;
+			}
+			int iPick = random.nextInt(iInFlightCount);
+			if (remaining[iPick] == 0) { // all its reads and writes are done, commit and swap remove
+				writeLine(scheduleText, 'c', inFlight[iPick], null);
+				inFlight[iPick] = inFlight[--iInFlightCount];
+				remaining[iPick] = remaining[iInFlightCount];
+				continue;
+			}
+			char cOperation = random.nextDouble() < dReadRatio ? 'r' : 'w';
+			writeLine(scheduleText, cOperation, inFlight[iPick], itemKeys[drawItem(random, cumulativeWeights)]);
+			remaining[iPick]--;
+		}
+		return scheduleText.toByteArray();
+	}
+
+	/**
+     * Method name: getCumulativeWeights
+     * Purpose: Computes the cumulative Zipf-like weights of the items, normalized to end at 1
+     * @param iItems number of items
+     * @param dSkew skew, 0 for uniform
+     * @return double array; cumulative weight of items 0 to k at position k
+     */
+	private static double[] getCumulativeWeights(int iItems, double dSkew) {
+		double[] cumulativeWeights = new double[iItems];
+		double dTotal = 0;
+		for (int k = 0; k < iItems; k++) {
+			dTotal += 1.0 / Math.pow(k + 1, dSkew);
+			cumulativeWeights[k] = dTotal;
+		}
+		for (int k = 0; k < iItems; k++)
+			cumulativeWeights[k] /= dTotal;
+		return cumulativeWeights;
+	}
+
+	/**
+     * Method name: drawItem
+     * Purpose: Draws an item from the cumulative weights
+     * @param random the random stream
+     * @param cumulativeWeights see getCumulativeWeights
+     * @return int; the item index
+     */
+	private static int drawItem(SplittableRandom random, double[] cumulativeWeights) {
+		int iPosition = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+		int iItem = iPosition >= 0 ? iPosition : -iPosition - 1;
+		return Math.min(iItem, cumulativeWeights.length - 1); // rounding of the last cumulative weight
+	}
+
+	/**
+     * Method name: writeLine
+     * Purpose: Writes one operation in the .sch format: <op><id> <item>, or c<id> for a commit
+     * @param scheduleText the text so far
+     * @param cOperation r, w or c
+     * @param iTransactionId transaction ID
+     * @param strItem item key, null for a commit
+     * @return none
+     */
+	private static void writeLine(ByteArrayOutputStream scheduleText, char cOperation, int iTransactionId, String strItem) {
+		scheduleText.write(cOperation);
+		String strTransactionId = Integer.toString(iTransactionId);
+		for (int i = 0; i < strTransactionId.length(); i++)
+			scheduleText.write(strTransactionId.charAt(i));
+		if (strItem != null) {
+			scheduleText.write(' ');
+			for (int i = 0; i < strItem.length(); i++)
+				scheduleText.write(strItem.charAt(i));
+		}
+		scheduleText.write('\n');
+	}
+}
@@ -0,0 +1,430 @@
+package txnchecker.cli;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import txnchecker.BinarySchedule;
+import txnchecker.CheckerMetrics;
+import txnchecker.CycleDetector;
+import txnchecker.MappedScheduleParser;
+import txnchecker.ParsedSchedule;
+import txnchecker.PrecedenceGraph;
+import txnchecker.Recoverability;
+import txnchecker.ScheduleColumns;
+import txnchecker.SerializabilityChecker;
+import txnchecker.SerializabilityResult;
+/**
+ * Class name: BatchChecker.java
+ *
+ * Detailed Description -  A class that checks every schedule (.sch or .bsch) of a directory, or every file that matches
+ * a glob, in one JVM, and writes one machine readable record per file instead of the text of MainClass:
+ *    file, status (serializable, not_serializable or error), the serialization order or the cycles,
+ *    the recoverability class (not_recoverable, recoverable, avoids_cascading_aborts or strict),
+ *    the number of operations, transactions, edges and ignored lines, and the time of every stage in microseconds.
+ * The records are JSON lines (default) or CSV with a header line.
+ *
+ * Technique useds - The files are listed lazily and checked on a fixed pool of worker threads. The queue in front of
+ * the workers is bounded and a full queue makes the listing thread check the file itself, so a directory of any size
+ * never has more than a few files waiting in memory. Every worker builds its whole record before it takes the lock of
+ * the output, so the records are never mixed. The records are in the order the files are finished, not listed.
+ * Data structure used is ThreadPoolExecutor with an ArrayBlockingQueue in Java.
+ * Programming language used is Java.
+ *
+ * Input Requirement - MainClass --batch <directory or glob> [--format jsonl|csv] [--output file] [--threads int]
+ *                     [--metrics file] [--jmx], see the metrics of MainClass
+ * A directory is searched recursively. A glob such as 'captured/**.sch' is matched against the path of every
+ * file below the part of the glob without wildcards. Without --output the records are written to the standard output,
+ * the summary always goes to the standard error.
+ *
+ */
+public class BatchChecker {
+	private static final String CSV_HEADER = "file,status,operations,transactions,edges,ignored_lines,"
+			+ "parse_us,graph_us,cycle_us,total_us,order_or_cycles,error,recoverability";
+	private final boolean bCsv;
+	private final Writer output;
+	private final AtomicInteger serializableCount = new AtomicInteger();
+	private final AtomicInteger notSerializableCount = new AtomicInteger();
+	private final AtomicInteger errorCount = new AtomicInteger();
+
+	/**
+     * Method name: BatchChecker()
+     * Purpose: Constructor of BatchChecker Class
+     * @param bCsv, True for CSV records, False for JSON lines
+     * @param output, where the records are written
+     * @return none
+     */
+	public BatchChecker(boolean bCsv, Writer output) {
+		this.bCsv = bCsv;
+		this.output = output;
+	}
+
+	/**
+     * Method name: run
+     * Purpose: Checks every matching file on iThreads workers and writes its record
+     * Pre-condition - The directory or the base of the glob should exist
+     * Post-condition - Every file has one record, the output is flushed
+     * @param strInput a directory or a glob
+     * @param iThreads number of workers, at least 1
+     * @return int; number of files checked
+     * @throws Exception if the files cannot be listed, the output cannot be written, or a worker is interrupted
+     */
+	public int run(String strInput, int iThreads) throws Exception {
+		if (bCsv)
+			output.write(CSV_HEADER + "\n");
+		// At most 4 files per worker wait in the queue, then the listing thread checks the next file itself
+		ThreadPoolExecutor workerPool = new ThreadPoolExecutor(iThreads, iThreads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(4 * iThreads), new ThreadPoolExecutor.CallerRunsPolicy());
+		List<Future<?>> listPending = new ArrayList<Future<?>>();
+		int iFiles = 0;
+		try (Stream<Path> files = listFiles(strInput)) {
+			Iterator<Path> fileIterator = files.iterator();
+			while (fileIterator.hasNext()) {
+				Path filePath = fileIterator.next();
+				listPending.add(workerPool.submit(() -> {
+					writeRecord(checkFile(filePath));
+					return null;
+				}));
+				iFiles++;
+				if (listPending.size() > 8 * iThreads) { // forget the finished ones, report a failed write
+					for (Future<?> eachPending : listPending)
+						if (eachPending.isDone())
+							eachPending.get();
+					listPending.removeIf(Future::isDone);
+				}
+			}
+			for (Future<?> eachPending : listPending)
+				eachPending.get();
+		} finally {
+			workerPool.shutdownNow();
+			output.flush();
+		}
+		return iFiles;
+	}
+
+	/**
+     * Method name: getSummary
+     * Purpose: Gets the counts of the run
+     * @param none
+     * @return String; number of serializable, not serializable and failed files
+     */
+	public String getSummary() {
+		return "Serializable: " + serializableCount.get() + ", not serializable: " + notSerializableCount.get()
+				+ ", errors: " + errorCount.get();
+	}
+
+	/**
+     * Method name: listFiles
+     * Purpose: Lists the schedules of a directory (recursively), or the files that match a glob
+     * @param strInput a directory or a glob
+     * @return Stream of Path; the files, listed while they are taken, to be closed
+     * @throws IOException if a directory cannot be read
+     */
+	private static Stream<Path> listFiles(String strInput) throws IOException {
+		int iWildcard = indexOfWildcard(strInput);
+		if (iWildcard < 0) {
+			Path directoryPath = Paths.get(strInput);
+			if (!Files.isDirectory(directoryPath))
+				return Stream.of(directoryPath); // a single file
+			return Files.walk(directoryPath).filter(Files::isRegularFile).filter(BatchChecker::isSchedule);
+		}
+		// Search below the last directory before the first wildcard
+		int iSeparator = Math.max(strInput.lastIndexOf('/', iWildcard), strInput.lastIndexOf('\\', iWildcard));
+		Path basePath = Paths.get(iSeparator < 0 ? "." : strInput.substring(0, iSeparator + 1));
+		String strGlob = iSeparator < 0 ? "./" + strInput : strInput;
+		PathMatcher pathMatcher = FileSystems.getDefault().getPathMatcher("glob:" + strGlob);
+		return Files.walk(basePath).filter(Files::isRegularFile).filter(pathMatcher::matches);
+	}
+
+	/**
+     * Method name: indexOfWildcard
+     * Purpose: Finds the first glob wildcard
+     * @param strInput a directory or a glob
+     * @return int; position of the first *, ?, [ or {, -1 if there is none
+     */
+	private static int indexOfWildcard(String strInput) {
+		for (int i = 0; i < strInput.length(); i++)
+			if ("*?[{".indexOf(strInput.charAt(i)) >= 0)
+				return i;
+		return -1;
+	}
+
+	/**
+     * Method name: isSchedule
+     * Purpose: Checks if a file of a directory is a schedule
+     * @param filePath the file
+     * @return boolean; True for .sch and .bsch
+     */
+	private static boolean isSchedule(Path filePath) {
+		String strFileName = filePath.getFileName().toString();
+		return strFileName.endsWith(".sch") || strFileName.endsWith(".bsch");
+	}
+
+	/**
+     * Method name: checkFile
+     * Purpose: Reads and checks one schedule and times every stage. A file that cannot be read gives an error record.
+     * @param filePath the schedule, .bsch is opened as BinarySchedule, any other file is parsed as text
+     * @return FileResult; the record of the file
+     */
+	private FileResult checkFile(Path filePath) {
+		FileResult fileResult = new FileResult(filePath);
+		try {
+			long lStart = System.nanoTime();
+			ScheduleColumns scheduleColumns;
+			if (filePath.getFileName().toString().endsWith(".bsch"))
+				scheduleColumns = BinarySchedule.open(filePath);
+			else {
+				ParsedSchedule parsedSchedule = MappedScheduleParser.parse(filePath);
+				fileResult.iIgnoredLines = parsedSchedule.getErrors().size();
+				scheduleColumns = parsedSchedule;
+			}
+			long lParsed = System.nanoTime();
+			PrecedenceGraph precedenceGraph = SerializabilityChecker.buildPrecedenceGraph(scheduleColumns);
+			long lBuilt = System.nanoTime();
+			fileResult.serializabilityResult = CycleDetector.check(precedenceGraph);
+			long lChecked = System.nanoTime();
+			fileResult.iOperations = scheduleColumns.size();
+			fileResult.iTransactions = precedenceGraph.getNodeCount();
+			fileResult.iEdges = precedenceGraph.getEdgeCount();
+			fileResult.recoverability = precedenceGraph.getRecoverability();
+			fileResult.lParseMicros = (lParsed - lStart) / 1000;
+			fileResult.lGraphMicros = (lBuilt - lParsed) / 1000;
+			fileResult.lCycleMicros = (lChecked - lBuilt) / 1000;
+			fileResult.lTotalMicros = (lChecked - lStart) / 1000;
+			if (fileResult.serializabilityResult.isConflictSerializable())
+				serializableCount.incrementAndGet();
+			else
+				notSerializableCount.incrementAndGet();
+		} catch (IOException | RuntimeException e) {
+			fileResult.strError = e.toString();
+			errorCount.incrementAndGet();
+		}
+		return fileResult;
+	}
+
+	/**
+     * Method name: writeRecord
+     * Purpose: Writes the record of one file, in one piece
+     * @param fileResult the record
+     * @return none
+     * @throws IOException if the output cannot be written
+     */
+	private void writeRecord(FileResult fileResult) throws IOException {
+		String strRecord = bCsv ? fileResult.toCsv() : fileResult.toJson();
+		synchronized (output) {
+			output.write(strRecord);
+			output.write('\n');
+		}
+	}
+
+	/**
+     * Class name: FileResult
+     * Purpose: The record of one file, as JSON or as a CSV line
+     */
+	private static class FileResult {
+		private final Path filePath;
+		private SerializabilityResult serializabilityResult; // null if the file could not be checked
+		private Recoverability recoverability;
+		private String strError;
+		private int iOperations, iTransactions, iEdges, iIgnoredLines;
+		private long lParseMicros, lGraphMicros, lCycleMicros, lTotalMicros;
+
+		/**
+	     * Method name: FileResult()
+	     * Purpose: Constructor of FileResult Class
+	     * @param filePath, the schedule
+	     * @return none
+	     */
+		private FileResult(Path filePath) {
+			this.filePath = filePath;
+		}
+
+		/**
+	     * Method name: getStatus
+	     * Purpose: Gets the status of the file
+	     * @param none
+	     * @return String; serializable, not_serializable or error
+	     */
+		private String getStatus() {
+			if (serializabilityResult == null)
+				return "error";
+			return serializabilityResult.isConflictSerializable() ? "serializable" : "not_serializable";
+		}
+
+		/**
+	     * Method name: toJson
+	     * Purpose: Formats the record as one JSON object, see appendResultJson
+	     * @param none
+	     * @return String; the JSON object, without new line
+	     */
+		private String toJson() {
+			StringBuilder json = new StringBuilder(256);
+			json.append("{\"file\":").append(quoteJson(filePath.toString())).append(',');
+			if (serializabilityResult != null) {
+				appendResultJson(json, serializabilityResult);
+				json.append(",\"recoverability\":\"").append(recoverability.getJsonName()).append('"');
+				json.append(",\"operations\":").append(iOperations);
+				json.append(",\"transactions\":").append(iTransactions);
+				json.append(",\"edges\":").append(iEdges);
+				json.append(",\"ignoredLines\":").append(iIgnoredLines);
+				json.append(",\"parseMicros\":").append(lParseMicros);
+				json.append(",\"graphMicros\":").append(lGraphMicros);
+				json.append(",\"cycleMicros\":").append(lCycleMicros);
+				json.append(",\"totalMicros\":").append(lTotalMicros);
+			} else
+				json.append("\"status\":\"error\",\"error\":").append(quoteJson(strError));
+			return json.append('}').toString();
+		}
+
+		/**
+	     * Method name: toCsv
+	     * Purpose: Formats the record as one CSV line in the columns of CSV_HEADER. The order is "T1 T2 T3", the
+	     * cycles are "T1 -> T2 -> T1" separated by "; "
+	     * @param none
+	     * @return String; the CSV line, without new line
+	     */
+		private String toCsv() {
+			StringBuilder csv = new StringBuilder(256);
+			csv.append(quoteCsv(filePath.toString())).append(',').append(getStatus());
+			if (serializabilityResult == null)
+				return csv.append(",,,,,,,,,,").append(quoteCsv(strError)).append(',').toString();
+			csv.append(',').append(iOperations).append(',').append(iTransactions).append(',').append(iEdges)
+					.append(',').append(iIgnoredLines).append(',').append(lParseMicros).append(',').append(lGraphMicros)
+					.append(',').append(lCycleMicros).append(',').append(lTotalMicros).append(',');
+			StringBuilder orderOrCycles = new StringBuilder();
+			if (serializabilityResult.isConflictSerializable()) {
+				for (long lTransactionId : serializabilityResult.getSerializationOrder())
+					orderOrCycles.append(orderOrCycles.length() > 0 ? " T" : "T").append(lTransactionId);
+			} else {
+				for (long[] eachCycle : serializabilityResult.getCycles()) {
+					if (orderOrCycles.length() > 0)
+						orderOrCycles.append("; ");
+					for (long lTransactionId : eachCycle)
+						orderOrCycles.append('T').append(lTransactionId).append(" -> ");
+					orderOrCycles.append('T').append(eachCycle[0]);
+				}
+			}
+			return csv.append(quoteCsv(orderOrCycles.toString())).append(",,").append(recoverability.getJsonName()).toString();
+		}
+	}
+
+	/**
+     * Method name: appendResultJson
+     * Purpose: Appends the status and the order (an array of transaction IDs) or the cycles (an array of arrays, every
+     * cycle without its first transaction repeated at the end) as JSON fields
+     * @param json the JSON object so far
+     * @param serializabilityResult the result of the check
+     * @return none
+     */
+	static void appendResultJson(StringBuilder json, SerializabilityResult serializabilityResult) {
+		if (serializabilityResult.isConflictSerializable()) {
+			json.append("\"status\":\"serializable\",\"order\":");
+			appendJsonArray(json, serializabilityResult.getSerializationOrder());
+		} else {
+			json.append("\"status\":\"not_serializable\",\"cycles\":[");
+			for (int i = 0; i < serializabilityResult.getCycles().size(); i++) {
+				if (i > 0)
+					json.append(',');
+				appendJsonArray(json, serializabilityResult.getCycles().get(i));
+			}
+			json.append(']');
+		}
+	}
+
+	/**
+     * Method name: appendJsonArray
+     * Purpose: Appends the transaction IDs as a JSON array
+     * @param json the JSON so far
+     * @param transactionIds the transaction IDs
+     * @return none
+     */
+	static void appendJsonArray(StringBuilder json, long[] transactionIds) {
+		json.append('[');
+		for (int i = 0; i < transactionIds.length; i++) {
+			if (i > 0)
+				json.append(',');
+			json.append(transactionIds[i]);
+		}
+		json.append(']');
+	}
+
+	/**
+     * Method name: quoteJson
+     * Purpose: Quotes a string as a JSON string
+     * @param str the string
+     * @return String; the string in quotes, with ", \ and the control characters escaped
+     */
+	static String quoteJson(String str) {
+		StringBuilder quoted = new StringBuilder(str.length() + 2).append('"');
+		for (int i = 0; i < str.length(); i++) {
+			char c = str.charAt(i);
+			if (c == '"' || c == '\\')
+				quoted.append('\\').append(c);
+			else if (c < 0x20)
+				quoted.append(String.format("\\u%04x", (int) c));
+			else
+				quoted.append(c);
+		}
+		return quoted.append('"').toString();
+	}
+
+	/**
+     * Method name: quoteCsv
+     * Purpose: Quotes a CSV field if it contains a comma, a quote or a line break
+     * @param str the field
+     * @return String; the field, in quotes with the quotes doubled if needed
+     */
+	private static String quoteCsv(String str) {
+		if (str.indexOf(',') < 0 && str.indexOf('"') < 0 && str.indexOf('\n') < 0 && str.indexOf('\r') < 0)
+			return str;
+		return '"' + str.replace("\"", "\"\"") + '"';
+	}
+
+	/**
+     * Method name: main
+     * Purpose: Runs a batch from the command line, see the Input Requirement of the class
+     * @param args the directory or glob, then the options
+     * @return none
+     */
+	public static void main(String[] args) {
+		try {
+			String strFormat = MainClass.getOptionValue(args, "--format");
+			String strOutput = MainClass.getOptionValue(args, "--output");
+			String strThreads = MainClass.getOptionValue(args, "--threads");
+			boolean bCsv = strFormat != null ? strFormat.equalsIgnoreCase("csv") : strOutput != null && strOutput.endsWith(".csv");
+			int iThreads = strThreads != null ? Integer.parseInt(strThreads) : Runtime.getRuntime().availableProcessors();
+			CheckerMetrics.getInstance().setEnabled(MainClass.getOptionValue(args, "--metrics") != null);
+			if (Arrays.asList(args).contains("--jmx"))
+				CheckerMetrics.registerMBean();
+			long lStart = System.nanoTime();
+			try (Writer output = new BufferedWriter(strOutput != null
+					? Files.newBufferedWriter(Paths.get(strOutput), StandardCharsets.UTF_8)
+					: new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16)) {
+				BatchChecker batchChecker = new BatchChecker(bCsv, output);
+				int iFiles = batchChecker.run(args[0], Math.max(1, iThreads));
+				System.err.println("Checked " + iFiles + " files in " + (System.nanoTime() - lStart) / 1000000 + " ms. "
+						+ batchChecker.getSummary());
+			}
+			MainClass.writeMetrics(MainClass.getOptionValue(args, "--metrics"));
+		} catch (Exception e) {
+			System.out.println(e.toString());
+		}
+	}
+}
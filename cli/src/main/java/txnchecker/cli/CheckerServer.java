@@ -0,0 +1,341 @@
+package txnchecker.cli;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import txnchecker.BinarySchedule;
+import txnchecker.CheckerMetrics;
+import txnchecker.CycleDetector;
+import txnchecker.MappedScheduleParser;
+import txnchecker.ParsedSchedule;
+import txnchecker.PrecedenceGraph;
+import txnchecker.ScheduleColumns;
+import txnchecker.SerializabilityChecker;
+import txnchecker.SerializabilityResult;
+/**
+ * Class name: CheckerServer.java
+ *
+ * Detailed Description -  A resident checker: a local HTTP server that checks schedules for as long as it runs, so
+ * a pipeline that checks many schedules pays the JVM start and the JIT warmup once instead of once per schedule.
+ *    POST /check   the body is a schedule in the text format (.sch) or the binary format (.bsch, recognized by its
+ *                  magic bytes). The answer is a JSON object: status (serializable or not_serializable), the order or
+ *                  the cycles and the recoverability as in BatchChecker, the number of operations, transactions, edges and ignored lines, and
+ *                  the time of the check in microseconds. A body that cannot be read gives 400 and status error.
+ *    GET /stats    number of requests to /check and errors (400, 405 and 500), and the percentiles of the latency
+ *                  of the last requests.
+ *    GET /metrics  the CheckerMetrics of the JVM (time and counts of every phase), also published over JMX.
+ *
+ * Technique useds - Every request is run on its own virtual thread when the JVM has them (Java 21 or later), so a slow
+ * client never holds a platform thread; on an older JVM a cached pool of platform threads is used instead, and the
+ * start up prints which one it is (the build targets Java 17, so the executor is looked up by reflection). The schedule
+ * is checked directly from the bytes of the request (MappedScheduleParser.parse and BinarySchedule.wrap of a
+ * ByteBuffer), nothing is written to a file. The optional warmup checks synthetic schedules through the same code
+ * before the port is opened, so the first requests already run compiled code.
+ * The latency of the last LATENCY_WINDOW requests is kept in a ring, the percentiles are computed when asked.
+ * Data structure used is the JDK HttpServer and a long array ring in Java.
+ * Programming language used is Java.
+ *
+ * Input Requirement - MainClass --serve [--port int] [--host name] [--warmup int]
+ * The default is 127.0.0.1:8080 without warmup.
+ *
+ */
+public class CheckerServer {
+	private static final int LATENCY_WINDOW = 1 << 16; // latencies kept for the percentiles
+	private final long[] recentLatencies = new long[LATENCY_WINDOW]; // ring of the last latencies, in microseconds
+	private long lRequestCount = 0; // requests to /check, the ring position is lRequestCount % LATENCY_WINDOW
+	private long lErrorCount = 0;
+	private final long lStartTime = System.nanoTime();
+	private final boolean bVirtualThreads;
+	private final HttpServer httpServer;
+
+	/**
+     * Method name: CheckerServer()
+     * Purpose: Constructor of CheckerServer Class, binds the port, use start to accept requests
+     * @param strHost, the address to listen on
+     * @param iPort, the port, 0 for any free port
+     * @return none
+     * @throws IOException if the port cannot be bound
+     */
+	public CheckerServer(String strHost, int iPort) throws IOException {
+		httpServer = HttpServer.create(new InetSocketAddress(strHost, iPort), 1024);
+		ExecutorService virtualThreadExecutor = newVirtualThreadExecutor();
+		bVirtualThreads = virtualThreadExecutor != null;
+		httpServer.setExecutor(bVirtualThreads ? virtualThreadExecutor : Executors.newCachedThreadPool());
+		httpServer.createContext("/check", this::handleCheck);
+		httpServer.createContext("/stats", this::handleStats);
+		httpServer.createContext("/metrics", exchange -> sendJson(exchange, 200, CheckerMetrics.getInstance().toJson()));
+	}
+
+	/**
+     * Method name: start
+     * Purpose: Starts accepting requests, in the background
+     * @param none
+     * @return none
+     */
+	public void start() {
+		httpServer.start();
+	}
+
+	/**
+     * Method name: stop
+     * Purpose: Stops accepting requests, and waits at most a second for the requests that are running
+     * @param none
+     * @return none
+     */
+	public void stop() {
+		httpServer.stop(1);
+	}
+
+	/**
+     * Method name: getPort
+     * Purpose: Getter method of the port the server listens on
+     * @param none
+     * @return int; the port
+     */
+	public int getPort() {
+		return httpServer.getAddress().getPort();
+	}
+
+	/**
+     * Method name: warmUp
+     * Purpose: Checks iSchedules synthetic schedules of 2 to 64 transactions through checkSchedule, so that the JIT
+     * compiles the parser, the graph builder and the cycle detector before the first request. Not counted in the stats.
+     * @param iSchedules number of schedules
+     * @return none
+     */
+	public void warmUp(int iSchedules) {
+		SplittableRandom random = new SplittableRandom(0);
+		for (int i = 0; i < iSchedules; i++) {
+			StringBuilder scheduleText = new StringBuilder();
+			int iTransactions = random.nextInt(2, 65);
+			int iOperations = iTransactions * random.nextInt(2, 9);
+			for (int k = 0; k < iOperations; k++)
+				scheduleText.append(random.nextBoolean() ? 'r' : 'w').append(random.nextInt(1, iTransactions + 1))
+						.append(' ').append((char) ('A' + random.nextInt(12))).append('\n');
+			for (int t = 1; t <= iTransactions; t++)
+				scheduleText.append('c').append(t).append('\n');
+			try {
+				checkSchedule(scheduleText.toString().getBytes(StandardCharsets.ISO_8859_1));
+			} catch (IOException e) {
+				throw new IllegalStateException(e); // a text schedule is never rejected
+			}
+		}
+	}
+
+	/**
+     * Method name: checkSchedule
+     * Purpose: Checks one schedule from its bytes
+     * @param scheduleBytes a schedule in the text or the binary format
+     * @return String; the JSON answer
+     * @throws IOException if the bytes start like a binary schedule but are not one
+     */
+	private static String checkSchedule(byte[] scheduleBytes) throws IOException {
+		long lStart = System.nanoTime();
+		ScheduleColumns scheduleColumns;
+		int iIgnoredLines = 0;
+		if (isBinary(scheduleBytes))
+			scheduleColumns = BinarySchedule.wrap(ByteBuffer.wrap(scheduleBytes));
+		else {
+			ParsedSchedule parsedSchedule = MappedScheduleParser.parse(ByteBuffer.wrap(scheduleBytes));
+			iIgnoredLines = parsedSchedule.getErrors().size();
+			scheduleColumns = parsedSchedule;
+		}
+		PrecedenceGraph precedenceGraph = SerializabilityChecker.buildPrecedenceGraph(scheduleColumns);
+		SerializabilityResult serializabilityResult = CycleDetector.check(precedenceGraph);
+		StringBuilder json = new StringBuilder(256).append('{');
+		BatchChecker.appendResultJson(json, serializabilityResult);
+		json.append(",\"recoverability\":\"").append(precedenceGraph.getRecoverability().getJsonName()).append('"');
+		json.append(",\"operations\":").append(scheduleColumns.size());
+		json.append(",\"transactions\":").append(precedenceGraph.getNodeCount());
+		json.append(",\"edges\":").append(precedenceGraph.getEdgeCount());
+		json.append(",\"ignoredLines\":").append(iIgnoredLines);
+		json.append(",\"micros\":").append((System.nanoTime() - lStart) / 1000);
+		return json.append('}').toString();
+	}
+
+	/**
+     * Method name: isBinary
+     * Purpose: Checks if a schedule is in the binary format, by its first 4 bytes
+     * @param scheduleBytes the schedule
+     * @return boolean; True if it starts with "TXNS"
+     */
+	private static boolean isBinary(byte[] scheduleBytes) {
+		return scheduleBytes.length >= 4 && scheduleBytes[0] == 'T' && scheduleBytes[1] == 'X' && scheduleBytes[2] == 'N'
+				&& scheduleBytes[3] == 'S';
+	}
+
+	/**
+     * Method name: handleCheck
+     * Purpose: Answers POST /check, on the thread of the request. Every request to /check is counted in /stats, a
+     * request that is not a POST as an error
+     * @param exchange the request
+     * @return none
+     * @throws IOException if the answer cannot be sent
+     */
+	private void handleCheck(HttpExchange exchange) throws IOException {
+		long lStart = System.nanoTime();
+		if (!exchange.getRequestMethod().equals("POST")) {
+			exchange.getResponseHeaders().set("Allow", "POST");
+			try {
+				sendJson(exchange, 405, "{\"status\":\"error\",\"error\":\"Use POST with the schedule as the body\"}");
+			} finally {
+				recordLatency((System.nanoTime() - lStart) / 1000, true);
+			}
+			return;
+		}
+		// Every request is answered, also when the check fails with an Error (e.g. OutOfMemoryError), which is rethrown
+		int iStatusCode = 500;
+		String strResponse = "{\"status\":\"error\",\"error\":\"Internal error\"}"; // ready before anything can fail
+		try {
+			strResponse = checkSchedule(exchange.getRequestBody().readAllBytes());
+			iStatusCode = 200;
+		} catch (IOException e) {
+			iStatusCode = 400;
+			strResponse = "{\"status\":\"error\",\"error\":" + BatchChecker.quoteJson(String.valueOf(e.getMessage())) + "}";
+		} catch (RuntimeException e) {
+			strResponse = "{\"status\":\"error\",\"error\":" + BatchChecker.quoteJson(e.toString()) + "}";
+		} catch (Error e) {
+			strResponse = "{\"status\":\"error\",\"error\":" + BatchChecker.quoteJson(e.toString()) + "}";
+			throw e;
+		} finally {
+			sendJson(exchange, iStatusCode, strResponse);
+			recordLatency((System.nanoTime() - lStart) / 1000, iStatusCode != 200);
+		}
+	}
+
+	/**
+     * Method name: handleStats
+     * Purpose: Answers GET /stats with the request counts and the latency percentiles in microseconds
+     * @param exchange the request
+     * @return none
+     * @throws IOException if the answer cannot be sent
+     */
+	private void handleStats(HttpExchange exchange) throws IOException {
+		long[] latencies;
+		long lRequests, lErrors;
+		synchronized (recentLatencies) {
+			lRequests = lRequestCount;
+			lErrors = lErrorCount;
+			latencies = Arrays.copyOf(recentLatencies, (int) Math.min(lRequestCount, LATENCY_WINDOW));
+		}
+		Arrays.sort(latencies);
+		StringBuilder json = new StringBuilder(256);
+		json.append("{\"requests\":").append(lRequests);
+		json.append(",\"errors\":").append(lErrors);
+		json.append(",\"window\":").append(latencies.length);
+		json.append(",\"p50Micros\":").append(getPercentile(latencies, 0.50));
+		json.append(",\"p90Micros\":").append(getPercentile(latencies, 0.90));
+		json.append(",\"p99Micros\":").append(getPercentile(latencies, 0.99));
+		json.append(",\"p999Micros\":").append(getPercentile(latencies, 0.999));
+		json.append(",\"maxMicros\":").append(latencies.length == 0 ? 0 : latencies[latencies.length - 1]);
+		json.append(",\"uptimeSeconds\":").append((System.nanoTime() - lStartTime) / 1000000000L);
+		json.append(",\"virtualThreads\":").append(bVirtualThreads);
+		sendJson(exchange, 200, json.append('}').toString());
+	}
+
+	/**
+     * Method name: recordLatency
+     * Purpose: Remembers the latency of a request in the ring
+     * @param lMicros the latency in microseconds
+     * @param bError True if the request failed
+     * @return none
+     */
+	private void recordLatency(long lMicros, boolean bError) {
+		synchronized (recentLatencies) {
+			recentLatencies[(int) (lRequestCount++ % LATENCY_WINDOW)] = lMicros;
+			if (bError)
+				lErrorCount++;
+		}
+	}
+
+	/**
+     * Method name: getPercentile
+     * Purpose: Gets a percentile of sorted values, the nearest rank
+     * @param sortedValues the values, in ascending order
+     * @param dFraction the percentile, between 0 and 1
+     * @return long; the value, 0 if there is none
+     */
+	private static long getPercentile(long[] sortedValues, double dFraction) {
+		if (sortedValues.length == 0)
+			return 0;
+		int iRank = (int) Math.ceil(dFraction * sortedValues.length);
+		return sortedValues[Math.max(0, iRank - 1)];
+	}
+
+	/**
+     * Method name: sendJson
+     * Purpose: Sends a JSON answer and closes the exchange
+     * @param exchange the request
+     * @param iStatusCode the HTTP status
+     * @param strJson the answer
+     * @return none
+     * @throws IOException if the answer cannot be sent
+     */
+	private static void sendJson(HttpExchange exchange, int iStatusCode, String strJson) throws IOException {
+		byte[] response = strJson.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(iStatusCode, response.length);
+		try (OutputStream responseBody = exchange.getResponseBody()) {
+			responseBody.write(response);
+		}
+	}
+
+	/**
+     * Method name: newVirtualThreadExecutor
+     * Purpose: Gets an executor that starts a virtual thread per task. Looked up by reflection so that the server
+     * also compiles and runs on Java 17.
+     * @param none
+     * @return ExecutorService; the executor, null if the JVM has no virtual threads
+     */
+	private static ExecutorService newVirtualThreadExecutor() {
+		try {
+			Method newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+		} catch (ReflectiveOperationException e) { // before Java 21, or a preview feature that is not enabled
+			return null;
+		}
+	}
+
+	/**
+     * Method name: main
+     * Purpose: Runs the server until the JVM is stopped, see the Input Requirement of the class
+     * @param args the options
+     * @return none
+     */
+	public static void main(String[] args) {
+		try {
+			String strHost = MainClass.getOptionValue(args, "--host");
+			String strPort = MainClass.getOptionValue(args, "--port");
+			String strWarmup = MainClass.getOptionValue(args, "--warmup");
+			CheckerServer checkerServer = new CheckerServer(strHost != null ? strHost : "127.0.0.1",
+					strPort != null ? Integer.parseInt(strPort) : 8080);
+			if (strWarmup != null) {
+				long lWarmupStart = System.nanoTime();
+				checkerServer.warmUp(Integer.parseInt(strWarmup));
+				System.out.println("Warmed up with " + strWarmup + " schedules in "
+						+ (System.nanoTime() - lWarmupStart) / 1000000 + " ms");
+			}
+			CheckerMetrics.registerMBean(); // turns the metrics on after the warmup, so it is not counted
+			checkerServer.start();
+			Runtime.getRuntime().addShutdownHook(new Thread(checkerServer::stop));
+			// The build targets Java 17, so say which executor this JVM gives the requests, and why
+			System.out.println("Listening on http://" + checkerServer.httpServer.getAddress().getHostString() + ":"
+					+ checkerServer.getPort() + " (" + (checkerServer.bVirtualThreads ? "virtual threads, Java "
+					: "platform threads, virtual threads need Java 21 or later and this JVM is Java ")
+					+ Runtime.version().feature() + "), POST /check, GET /stats, GET /metrics");
+		} catch (Exception e) {
+			System.out.println(e.toString());
+		}
+	}
+}
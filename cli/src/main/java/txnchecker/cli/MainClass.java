@@ -0,0 +1,661 @@
+package txnchecker.cli;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import txnchecker.BinarySchedule;
+import txnchecker.CheckerMetrics;
+import txnchecker.CycleDetector;
+import txnchecker.FailFastChecker;
+import txnchecker.GetContentromFile;
+import txnchecker.InterleavingCounter;
+import txnchecker.MappedScheduleParser;
+import txnchecker.OnlineSerializabilityChecker;
+import txnchecker.Operation;
+import txnchecker.ParsedSchedule;
+import txnchecker.PrecedenceGraph;
+import txnchecker.RandomScheduleGenerator;
+import txnchecker.ScheduleColumns;
+import txnchecker.SerializabilityChecker;
+import txnchecker.SerializabilityResult;
+import txnchecker.VerdictCache;
+import txnchecker.ViewSerializabilityChecker;
+import txnchecker.WilsonInterval;
+/**
+ * 
+ * Detailed Description - This program performs two task:
+ * Task 1:	It reads a given schedule in .sch format
+ * 			Constructs the precedence graph described by the schedule
+ * 			Checks the graph for cycle(s) to determine whether or not the schedule is conflict serializable
+ * 			If the schedule is conflict serializable, topologically sorts the graph to produce a serializability order 
+ * 			Prints a list of the IDs of the transactions in the schedule, in ascending order by ID 
+ * 			Prints if the schedule is conflict serializable or not
+ * 			Prints the IDs of the transactions participating in the detected cycle
+ * 			Prints the topological ordering if the schedule is conflict serializable schedule
+ * 
+ * Task 2: 	It reads a given set of transactions in .set format
+ * 			Loops for a number of times equal to the non–negative integer that is supplied as a command line argument
+ * 			Creates a legal schedule by creating a random interleaving of the operations of the transaction set
+ * 			Determines whether or not the schedule is conflict serializable
+ * 			Prints the command–line arguments
+ * 			Prints the quantity of schedules that were conflict serializable
+ * 			Prints the percentage of schedules that were conflict serializable
+ * 
+ * Techniques  and data structure used to solve the Task 1 and Task 2:
+ * 
+ * 3. Java Programming language is used to achieve the two tasks, 
+ * 4. The checking is done by the core library (package txnchecker, see SerializabilityChecker), this class only
+ * reads the command line and prints the results.
+ * Input Requirement for Task 1: 
+ * The inputs to task two as provided as just the schedule file filename.sch
+ * Every line is <op><id> <item> or c<id>, the transaction ID is a 64 bit integer and the item any text, e.g. account:1234
+ * If it is not conflict serializable, it is checked for view serializability (see ViewSerializabilityChecker) within
+ * --view-time ms (default 1000) and --view-nodes decisions (default 1000000) of the search, Unknown if they run out
+ * The verdict is followed by the recoverability class of the schedule: not recoverable, recoverable (RC), avoids
+ * cascading aborts (ACA) or strict, see Recoverability
+ * With --threads int the edges of a large schedule are built on that many threads (default: number of cores), the
+ * schedule is split by item, see SerializabilityChecker
+ * With filename.sch --stream the schedule is checked while it is read, and the operation that forms a cycle is reported
+ * With filename.sch --stream --prune committed transactions are also retired, so memory stays bounded on long streams
+ * filename.bsch (and filename.bset for Task 2) is read from the binary format of BinarySchedule instead of text
+ * With --convert filename.sch [filename.bsch] a schedule or transaction set is converted to that binary format, the
+ * output defaults to the input with a b in front of the extension (.sch to .bsch, .set to .bset)
+ * With --batch <directory or glob> [--format jsonl|csv] [--output file] [--threads int] every schedule of a directory
+ * is checked and one record per file is written, see BatchChecker
+ * With --serve [--port int] [--host name] [--warmup int] the checker stays resident and checks the schedules posted to
+ * it over HTTP, see CheckerServer
+ * 
+ * Input Requirement Task 2:
+ * The inputs to task two are provided as follows:
+ * filename.set non_int_num a-b [--seed long] [--threads int]
+ * The schedules are checked on --threads workers (default: number of cores), the same --seed and --threads give the
+ * same result
+ * With --check-only the schedules are not printed, only counted, and the check of a schedule stops at its first cycle
+ * Otherwise the percentage of the schedules in every recoverability class (RC, ACA, strict) is also printed
+ * Otherwise the verdicts are cached by precedence graph (see VerdictCache), --cache int sets the most verdicts kept
+ * (default 4096, 0 turns the cache off) and the hit rate is printed at the end
+ * With --precision percent [--confidence percent] the schedules are checked until the Wilson interval of the percentage
+ * is at most +-precision wide (default confidence 99), the number of schedules is then the maximum, if it is passed
+ * With --exact [--exact-budget int] every legal interleaving is counted instead (see InterleavingCounter), each
+ * interleaving once; when that needs more states than the budget (default 1000000) the schedules are sampled as above
+ * 
+ * Output of Task 1 and Task 2:
+ * --level quiet|summary|verbose sets how much is printed, see ScheduleReporter. The default is verbose for Task 1 (every
+ * edge and the verdict) and summary for Task 2 (only the totals, verbose also prints every schedule, which is slow)
+ * --report file also writes the schedules and the totals as JSON lines, --report - writes them instead of the text
+ * --metrics file writes the CheckerMetrics of the run (time and counts of every phase) as one JSON object at the end,
+ * --metrics - prints it; --jmx also publishes them over JMX while the run lasts
+ * 
+ */
+public class MainClass {
+	private static final long DEFAULT_STATE_BUDGET = 1000000; // states of the exact count of --exact
+	private static final long DEFAULT_VIEW_TIME = 1000; // milliseconds of the view serializability search, see --view-time
+	private static final long DEFAULT_VIEW_NODES = 1000000; // nodes of the view serializability search, see --view-nodes
+	private static final int DEFAULT_CACHE_SIZE = 4096; // verdicts kept by the cache of Task 2, see --cache
+	private static final String SEPARATOR = "---------------------------------------------------------------------------------------------------------------------------";
+	/**
+     * Method name: isCyclic
+     * Purpose: Checks if the precedence graph is cyclic or acyclic, prints its edges, then the serialization order if
+     * it is acyclic and the transactions of every cycle if it is cyclic. Cycles of any length are found, see CycleDetector.
+     * Pre-condition - The precedence graph should be ready for processing  
+     * Post-condition - None
+     * @param precedenceGraph the precedence graph of the schedule
+     * @return a boolean; True if the precedence graph is cyclic, False if the precedence graph is acyclic
+     */
+	public static boolean isCyclic(PrecedenceGraph precedenceGraph) {
+		return isCyclic(precedenceGraph, null, new ScheduleReporter(ScheduleReporter.Level.VERBOSE));
+	}
+
+	/**
+     * Method name: isCyclic
+     * Purpose: Same as isCyclic(PrecedenceGraph), the verdict is taken from the cache if the same graph has been checked
+     * and is reported at the level of the reporter
+     * Pre-condition - The precedence graph should be ready for processing  
+     * Post-condition - None
+     * @param precedenceGraph the precedence graph of the schedule
+     * @param verdictCache the cache of the verdicts, null to always run CycleDetector
+     * @param reporter reports the edges and the verdict, null to report nothing
+     * @return a boolean; True if the precedence graph is cyclic, False if the precedence graph is acyclic
+     */
+	private static boolean isCyclic(PrecedenceGraph precedenceGraph, VerdictCache verdictCache, ScheduleReporter reporter) {
+        // One traversal of the graph gives the verdict together with the topological order or the cycles
+        SerializabilityResult serializabilityResult = verdictCache != null ? verdictCache.check(precedenceGraph)
+        		: CycleDetector.check(precedenceGraph);
+        if (reporter != null)
+        	reporter.reportSchedule(precedenceGraph, serializabilityResult);
+        return !serializabilityResult.isConflictSerializable(); // returns false if the precedence graph is acyclic
+    }
+
+	/**
+     * Method name: processRandomLegalSchedules
+     * Purpose: Creates nonNegativeInteger random legal schedules and tests each for conflict serializability,
+     * on iThreads workers. Worker w checks nonNegativeInteger / iThreads schedules (one more if w is smaller than the
+     * remainder) with its own SplittableRandom, split from one random seeded with lSeed in the order of the workers.
+     * So the result is the same for the same seed and number of threads, whatever the timing of the threads.
+     * Pre-condition - scheduleGenerator should contain all the operations in the set file
+     * Post-condition - The result should be greater than or equal to 0 and less than or equal to nonNegativeInteger
+     * @param nonNegativeInteger that is passed as the command line argument
+     * @param a lower range (inclusive) that is passed as the command line argument
+     * @param b upper range (inclusive) that is passed as the command line argument
+     * @param scheduleGenerator The generator of random legal schedules of the .set file, copied for every worker
+     * @param failFastChecker null to print every schedule, otherwise the checker of the check only mode, copied for
+     * every worker
+     * @param verdictCache the cache of the verdicts of the printed schedules, shared by the workers, null for none
+     * @param reporter reports every schedule if it is verbose, shared by the workers
+     * @param lSeed the seed of all the random streams
+     * @param iThreads number of workers, at least 1
+     * @return a int informing how many schedules are conflict serializable
+     * @throws Exception if a worker fails or is interrupted
+     */
+	private static int processRandomLegalSchedules(int nonNegativeInteger, int a, int b,
+			RandomScheduleGenerator scheduleGenerator, FailFastChecker failFastChecker, VerdictCache verdictCache, ScheduleReporter reporter, long lSeed, int iThreads) throws Exception {
+		SplittableRandom rootRandom = new SplittableRandom(lSeed);
+		ExecutorService workerPool = Executors.newFixedThreadPool(iThreads);
+		List<Future<Integer>> listWorkerResults = new ArrayList<Future<Integer>>();
+		try {
+			for (int iWorker = 0; iWorker < iThreads; iWorker++) {
+				int iSchedules = nonNegativeInteger / iThreads + (iWorker < nonNegativeInteger % iThreads ? 1 : 0);
+				SplittableRandom workerRandom = rootRandom.split(); // split here, in worker order, not in the worker
+				// Every worker has its own generator, they share the operations of the set
+				RandomScheduleGenerator workerGenerator = new RandomScheduleGenerator(scheduleGenerator);
+				FailFastChecker workerChecker = failFastChecker != null ? new FailFastChecker(failFastChecker) : null;
+				listWorkerResults.add(workerPool.submit(() -> processRandomLegalSchedules(iSchedules, a, b, workerGenerator,
+						workerChecker, verdictCache, reporter, workerRandom)));
+			}
+			int numOfConflicSerializables = 0;
+			for (Future<Integer> eachWorkerResult : listWorkerResults)
+				numOfConflicSerializables += eachWorkerResult.get(); // add up the counts of the workers
+			return numOfConflicSerializables;
+		} finally {
+			workerPool.shutdownNow();
+		}
+	}
+
+	/**
+     * Method name: processRandomLegalSchedulesAdaptive
+     * Purpose: Creates random legal schedules and tests each for conflict serializability until the Wilson interval
+     * of the fraction of conflict serializable schedules is at most dPrecision wide on each side, or lMaxSchedules
+     * schedules are checked. The schedules are checked in rounds on iThreads workers, the interval is computed after
+     * every round. The next round is sized from the fraction so far, at most doubling what is checked, so that a
+     * fraction close to 0 or 1 stops after a few small rounds and the target is not overshot by much. Every worker keeps its random stream from round to round, split from one random
+     * seeded with lSeed, so the result is the same for the same seed and number of threads.
+     * Pre-condition - scheduleGenerator should contain all the operations in the set file
+     * Post-condition - The interval is computed from every schedule that is checked
+     * @param dPrecision the target half width of the interval, as a fraction (0.005 for +-0.5%)
+     * @param dConfidence the confidence of the interval, e.g. 0.99
+     * @param lMaxSchedules the most schedules to check
+     * @param a lower range (inclusive) that is passed as the command line argument
+     * @param b upper range (inclusive) that is passed as the command line argument
+     * @param scheduleGenerator The generator of random legal schedules of the .set file, copied for every worker
+     * @param failFastChecker null to print every schedule, otherwise the checker of the check only mode, copied for
+     * every worker
+     * @param verdictCache the cache of the verdicts of the printed schedules, shared by the workers, null for none
+     * @param reporter reports every schedule if it is verbose, shared by the workers
+     * @param lSeed the seed of all the random streams
+     * @param iThreads number of workers, at least 1
+     * @return WilsonInterval; the number of conflict serializable and checked schedules, and the interval
+     * @throws Exception if a worker fails or is interrupted
+     */
+	private static WilsonInterval processRandomLegalSchedulesAdaptive(double dPrecision, double dConfidence, long lMaxSchedules,
+			int a, int b, RandomScheduleGenerator scheduleGenerator, FailFastChecker failFastChecker, VerdictCache verdictCache, ScheduleReporter reporter, long lSeed, int iThreads)
+			throws Exception {
+		SplittableRandom rootRandom = new SplittableRandom(lSeed);
+		SplittableRandom[] workerRandoms = new SplittableRandom[iThreads];
+		RandomScheduleGenerator[] workerGenerators = new RandomScheduleGenerator[iThreads];
+		FailFastChecker[] workerCheckers = new FailFastChecker[iThreads];
+		for (int iWorker = 0; iWorker < iThreads; iWorker++) {
+			workerRandoms[iWorker] = rootRandom.split(); // split in worker order, as processRandomLegalSchedules
+			workerGenerators[iWorker] = new RandomScheduleGenerator(scheduleGenerator);
+			workerCheckers[iWorker] = failFastChecker != null ? new FailFastChecker(failFastChecker) : null;
+		}
+		ExecutorService workerPool = Executors.newFixedThreadPool(iThreads);
+		long lSerializable = 0, lChecked = 0;
+		WilsonInterval wilsonInterval = new WilsonInterval(0, 0, dConfidence);
+		try {
+			double z = WilsonInterval.getNormalQuantile(1 - (1 - dConfidence) / 2);
+			long lRound = 64L * iThreads; // the first round
+			while (lChecked < lMaxSchedules && wilsonInterval.getHalfWidth() > dPrecision) {
+				lRound = Math.min(lRound, lMaxSchedules - lChecked);
+				List<Future<Integer>> listWorkerResults = new ArrayList<Future<Integer>>();
+				for (int iWorker = 0; iWorker < iThreads; iWorker++) {
+					int iSchedules = (int) (lRound / iThreads + (iWorker < lRound % iThreads ? 1 : 0));
+					SplittableRandom workerRandom = workerRandoms[iWorker];
+					RandomScheduleGenerator workerGenerator = workerGenerators[iWorker];
+					FailFastChecker workerChecker = workerCheckers[iWorker];
+					listWorkerResults.add(workerPool.submit(() -> processRandomLegalSchedules(iSchedules, a, b, workerGenerator,
+							workerChecker, verdictCache, reporter, workerRandom)));
+				}
+				for (Future<Integer> eachWorkerResult : listWorkerResults)
+					lSerializable += eachWorkerResult.get();
+				lChecked += lRound;
+				wilsonInterval = new WilsonInterval(lSerializable, lChecked, dConfidence);
+				// The next round is what the fraction so far needs (n = z^2 p(1-p) / precision^2), at most as many as
+				// are checked so far, and at least 64 per worker
+				double p = wilsonInterval.getEstimate();
+				long lNeeded = (long) Math.ceil(z * z * Math.max(p * (1 - p), 1.0 / lChecked) / (dPrecision * dPrecision));
+				lRound = Math.max(64L * iThreads, Math.min(lNeeded - lChecked, lChecked));
+			}
+			return wilsonInterval;
+		} finally {
+			workerPool.shutdownNow();
+		}
+	}
+
+	/**
+     * Method name: processRandomLegalSchedules
+     * Purpose: The work of one worker; creates iSchedules random legal schedules and tests each for conflict
+     * serializability. Every schedule is generated, checked and discarded before the next one is generated, into the
+     * same array of the generator, so memory stays constant whatever the number of schedules.
+     * In the check only mode (failFastChecker is not null) nothing is reported and no precedence graph is built, the
+     * check of a schedule stops at the first cycle.
+     * Pre-condition - scheduleGenerator should contain all the operations in the set file and only be used by this worker
+     * Post-condition - The result should be greater than or equal to 0 and less than or equal to iSchedules
+     * @param iSchedules number of schedules of this worker
+     * @param a lower range (inclusive) that is passed as the command line argument
+     * @param b upper range (inclusive) that is passed as the command line argument
+     * @param scheduleGenerator The generator of random legal schedules of this worker
+     * @param failFastChecker null to print every schedule, otherwise the checker of this worker
+     * @param verdictCache the cache of the verdicts of the printed schedules, null for none
+     * @param reporter reports every schedule if it is verbose, otherwise nothing is formatted per schedule
+     * @param random the random stream of this worker
+     * @return a int informing how many schedules are conflict serializable
+     */
+	private static int processRandomLegalSchedules(int iSchedules, int a, int b,
+			RandomScheduleGenerator scheduleGenerator, FailFastChecker failFastChecker, VerdictCache verdictCache,
+			ScheduleReporter reporter, SplittableRandom random) {
+		int numOfConflicSerializables = 0; // Stores the number of conflict serializable schedules, default value is 0
+		/* Create each random, legal schedule and check if it's conflict serializable 
+		   By creating it's precedence graph and checking if the graph is asyclic */
+		for(int i = 1; i <= iSchedules; i++) { // Loop until the number of schedules of this worker
+			ScheduleColumns eachRandomLegalSchedule = scheduleGenerator.createRandomLegalSchedule(random, a, b);
+			if (failFastChecker != null) {
+				if (failFastChecker.isConflictSerializable(eachRandomLegalSchedule))
+					numOfConflicSerializables++;
+				continue;
+			}
+			PrecedenceGraph precedenceGraph = SerializabilityChecker.buildPrecedenceGraph(eachRandomLegalSchedule);
+			reporter.countRecoverability(precedenceGraph.getRecoverability()); // found in the same pass as the edges
+			// Check if it's asyclic, the schedule is only reported if the output is verbose
+			boolean isCyclic = isCyclic(precedenceGraph, verdictCache, reporter.isVerbose() ? reporter : null);
+			if(!isCyclic)
+				numOfConflicSerializables++; // If the schedule is acyclic, it's conflict serializable, increment counter.
+		}
+		return numOfConflicSerializables;
+	}
+
+	/**
+     * Method name: printVerdictCache
+     * Purpose: Prints how many verdicts were taken from the cache, and so how many checks of a graph were saved
+     * @param verdictCache the cache of the verdicts, nothing is printed if it is null
+     * @param reporter prints the line from the summary level
+     * @return none
+     */
+	private static void printVerdictCache(VerdictCache verdictCache, ScheduleReporter reporter) {
+		if (verdictCache == null)
+			return;
+		reporter.printText(ScheduleReporter.Level.SUMMARY, "Verdict cache: hits = " + verdictCache.getHits() + ", misses = " + verdictCache.getMisses()
+				+ ", hit rate = " + String.format("%.2f", verdictCache.getHitRate() * 100) + "%, evictions = "
+				+ verdictCache.getEvictions() + ", distinct graphs kept = " + verdictCache.getSize());
+	}
+
+	/**
+     * Method name: getVerdictCacheJson
+     * Purpose: Gets the counts of the verdict cache as JSON fields for the summary line
+     * @param verdictCache the cache of the verdicts, null for none
+     * @return String; the fields with a leading comma, empty if there is no cache
+     */
+	private static String getVerdictCacheJson(VerdictCache verdictCache) {
+		if (verdictCache == null)
+			return "";
+		return ",\"cacheHits\":" + verdictCache.getHits() + ",\"cacheMisses\":" + verdictCache.getMisses()
+				+ ",\"cacheEvictions\":" + verdictCache.getEvictions();
+	}
+
+	/**
+     * Method name: checkViewSerializability
+     * Purpose: Checks if a schedule that is not conflict serializable is still view serializable and prints the verdict,
+     * with the view equivalent serial order or the reason, see ViewSerializabilityChecker
+     * Pre-condition - None
+     * Post-condition - The verdict is Unknown if a budget runs out
+     * @param schedule the operations of the schedule
+     * @param serializabilityResult the conflict serializability of the schedule, not checked again
+     * @param lTimeBudgetMillis the most milliseconds of the search
+     * @param lNodeBudget the most decisions of the search
+     * @param reporter prints the verdict at every level, the order and the reason from the summary level
+     * @return none
+     */
+	private static void checkViewSerializability(ScheduleColumns schedule, SerializabilityResult serializabilityResult,
+			long lTimeBudgetMillis, long lNodeBudget, ScheduleReporter reporter) {
+		ViewSerializabilityChecker.Result viewResult = new ViewSerializabilityChecker(schedule)
+				.check(serializabilityResult, lTimeBudgetMillis, lNodeBudget);
+		reporter.printText(ScheduleReporter.Level.QUIET, "Is Schedule View-Serializable: " + viewResult.getVerdict());
+		StringBuilder text = new StringBuilder(viewResult.getVerdict() == ViewSerializabilityChecker.Verdict.UNKNOWN
+				? "Unknown because " : "Because ").append(viewResult.getReason());
+		if (viewResult.getSerialOrder() != null) {
+			text.append("\nView equivalent serial order:");
+			for (long lTransactionId : viewResult.getSerialOrder())
+				text.append(" T").append(lTransactionId);
+		}
+		reporter.printText(ScheduleReporter.Level.SUMMARY, text.toString());
+		StringBuilder json = new StringBuilder("\"status\":\"").append(viewResult.getVerdict().getJsonName()).append('"');
+		if (viewResult.getSerialOrder() != null)
+			BatchChecker.appendJsonArray(json.append(",\"order\":"), viewResult.getSerialOrder());
+		reporter.reportJson("view", json.append(",\"nodes\":").append(viewResult.getNodeCount()).append(",\"reason\":")
+				.append(BatchChecker.quoteJson(viewResult.getReason())).toString());
+	}
+
+	/**
+     * Method name: countSerializableInterleavings
+     * Purpose: Counts exactly how many legal interleavings of the transaction set are conflict serializable and prints
+     * the count and the percentage, see InterleavingCounter
+     * Pre-condition - listOperations should contain all the operations in the set file
+     * Post-condition - Nothing is printed if the count is abandoned
+     * @param listOperations the operations of the set file
+     * @param lStateBudget the most states the count may memoize
+     * @param reporter prints the count and the percentage at every level, the rest from the summary level
+     * @return boolean; True if the exact count is printed, False if the set is too large for it
+     */
+	private static boolean countSerializableInterleavings(List<Operation> listOperations, long lStateBudget,
+			ScheduleReporter reporter) {
+		InterleavingCounter.Result exactCount;
+		String strFallback; // why the count is abandoned
+		try {
+			exactCount = new InterleavingCounter(listOperations).count(lStateBudget);
+			strFallback = "The exact count needs more than " + lStateBudget + " states";
+		} catch (IllegalArgumentException e) { // too many transactions, or too many operations in one of them
+			exactCount = null;
+			strFallback = e.getMessage();
+		}
+		if (exactCount == null) {
+			// Always say so, the percentage printed next is sampled, not exact
+			reporter.printText(ScheduleReporter.Level.SUMMARY, strFallback + ", falling back to sampling: the results below are sampled, not exact");
+			reporter.reportJson("exact", "\"fallback\":" + BatchChecker.quoteJson(strFallback));
+			return false;
+		}
+		reporter.printText(ScheduleReporter.Level.SUMMARY, SEPARATOR);
+		reporter.printText(ScheduleReporter.Level.QUIET, "Exact number of Conflict Serializables in "
+				+ exactCount.getInterleavingCount() + " legal interleavings = " + exactCount.getSerializableCount());
+		reporter.printText(ScheduleReporter.Level.QUIET, "Exact percentage of Conflict Serializables = "
+				+ String.format("%.4f", exactCount.getFraction() * 100) + "%");
+		reporter.printText(ScheduleReporter.Level.SUMMARY, "States = " + exactCount.getStateCount());
+		reporter.reportJson("exact", "\"interleavings\":" + exactCount.getInterleavingCount() + ",\"serializable\":"
+				+ exactCount.getSerializableCount() + ",\"fraction\":" + exactCount.getFraction() + ",\"states\":"
+				+ exactCount.getStateCount());
+		return true;
+	}
+
+	/**
+     * Method name: getOptionValue
+     * Purpose: Gets the value of a command line option given as "--name value"
+     * @param args the command line arguments
+     * @param strOption the option name, e.g. --seed
+     * @return String; the value after the option, null if the option is not passed
+     */
+	static String getOptionValue(String[] args, String strOption) {
+		for (int i = 0; i < args.length - 1; i++)
+			if (args[i].equals(strOption))
+				return args[i + 1];
+		return null;
+	}
+	
+	/**
+     * Method name: checkScheduleStream
+     * Purpose: Checks the conflict serializability of a schedule while reading it, one operation at a time, and
+     * reports the moment a cycle forms. The schedule is never kept in memory, so it can be a live operation log.
+     * Pre-condition - The reader should be positioned at the first operation of the schedule
+     * Post-condition - The reader is read until the end of the file
+     * @param reader Buffered reader object of the schedule
+     * @param bPruneCommitted True to retire committed transactions, the order is then not printed as it would
+     * only contain the transactions that are not retired
+     * @return none
+     * @throws IOException if the reader fails
+     */
+	private static void checkScheduleStream(BufferedReader reader, boolean bPruneCommitted) throws IOException {
+		OnlineSerializabilityChecker onlineChecker = new OnlineSerializabilityChecker(bPruneCommitted);
+		// Raise the alert as soon as the operation that forms the cycle is accepted
+		onlineChecker.setCycleListener(cycle -> {
+			String alert = "Cycle formed at operation " + onlineChecker.getOperationCount() + ":";
+			for (long lTransactionId : cycle)
+				alert += " T" + lTransactionId + " ->";
+			System.out.println(alert + " T" + cycle[0]);
+		});
+		Operation operation;
+		while ((operation = GetContentromFile.getNextOperation(reader)) != null)
+			onlineChecker.accept(operation);
+		String result = "Is Schedule Conflict-Serializable: ";
+		if (onlineChecker.isConflictSerializable() && bPruneCommitted)
+			result += "True\nRetired transactions: " + onlineChecker.getRetiredCount()
+					+ ", transactions still in the graph: " + onlineChecker.getTransactionCount();
+		else if (onlineChecker.isConflictSerializable()) {
+			result += "True\nSerialization order:";
+			for (long lTransactionId : onlineChecker.getSerializationOrder())
+				result += " T" + lTransactionId;
+		} else
+			result += "False";
+		System.out.println(result);
+	}
+
+	/**
+     * Method name: convertToBinary
+     * Purpose: Converts a text schedule or transaction set to the binary format of BinarySchedule:
+     * --convert /path/to/schedule.sch [/path/to/schedule.bsch]
+     * The output defaults to the input with a b in front of the extension (.sch to .bsch, .set to .bset).
+     * @param args the input file and optionally the output file
+     * @return none
+     */
+	private static void convertToBinary(String[] args) {
+		try {
+			Path inputFilePath = Paths.get(args[0]);
+			String strOutput = args.length > 1 ? args[1] : args[0].replaceFirst("\\.(sch|set)$", ".b$1");
+			if (strOutput.equals(args[0]))
+				strOutput = args[0] + ".bsch";
+			ParsedSchedule parsedSchedule = MappedScheduleParser.parse(inputFilePath);
+			for (ParsedSchedule.ParseError eachError : parsedSchedule.getErrors())
+				System.err.println("Ignoring Operation - " + eachError);
+			BinarySchedule.write(parsedSchedule, Paths.get(strOutput));
+			System.out.println("Wrote " + parsedSchedule.size() + " operations to " + strOutput);
+		} catch (Exception e) {
+			System.out.println(e.toString());
+		}
+	}
+
+	/**
+     * Method name: main
+     * Purpose: Process to test for conflict serializability for all the random legal schedules that were created
+     * Pre-condition - mapTransactionRandomLegalSchedules the result map that contains all the random, legal schedules
+     * Post-condition - The result should be greater than 0 and less than or equal to the total number of schedules
+     * @param mapTransactionRandomLegalSchedules The Map containing the transaction number and it's operations in form of a queue
+     * @return a int informing how many schedules are conflict serializable
+     */
+	public static void main(String[] args) {
+		if (args.length > 0 && args[0].equals("--batch")) { // many schedules in one run, see BatchChecker
+			BatchChecker.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+		if (args.length > 0 && args[0].equals("--serve")) { // resident checker over HTTP, see CheckerServer
+			CheckerServer.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+		if (args.length > 0 && args[0].equals("--convert")) { // text to the binary format, see BinarySchedule
+			convertToBinary(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+		// The metrics are only recorded when they are asked for, see CheckerMetrics
+		CheckerMetrics.getInstance().setEnabled(getOptionValue(args, "--metrics") != null);
+		if (Arrays.asList(args).contains("--jmx")) // read the metrics with jconsole or any JMX client while it runs
+			CheckerMetrics.registerMBean();
+		String strFilePath = args[0];
+		Path inputFilePath = Paths.get(strFilePath);
+		String inputFileName = inputFilePath.getFileName().toString();
+		ScheduleReporter reporter = null;
+		try {
+			if(inputFileName.trim().endsWith(".sch") && Arrays.asList(args).contains("--stream")) {
+				// Check the schedule while reading it, one operation at a time
+				try (BufferedReader reader = new BufferedReader(new FileReader(strFilePath))) {
+					checkScheduleStream(reader, Arrays.asList(args).contains("--prune"));
+				}
+				return;
+			}
+			// The text goes through a buffer that is flushed at the end, not to the console line by line
+			System.setOut(new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16), false));
+			// Task 1 reports its edges by default, Task 2 only its totals, see ScheduleReporter
+			ScheduleReporter.Level defaultLevel = inputFileName.trim().endsWith("set") ? ScheduleReporter.Level.SUMMARY
+					: ScheduleReporter.Level.VERBOSE;
+			reporter = new ScheduleReporter(ScheduleReporter.parseLevel(getOptionValue(args, "--level"), defaultLevel),
+					getOptionValue(args, "--report"));
+			ScheduleColumns parsedSchedule;
+			if(inputFileName.trim().endsWith(".bsch") || inputFileName.trim().endsWith(".bset"))
+				// A binary file (see BinarySchedule) is only mapped, the operations are read from the file by the checker
+				parsedSchedule = BinarySchedule.open(inputFilePath);
+			else {
+				// Parse the whole file from a memory mapped buffer into primitive arrays
+				ParsedSchedule parsedTextSchedule = MappedScheduleParser.parse(inputFilePath);
+				for (ParsedSchedule.ParseError eachError : parsedTextSchedule.getErrors())
+					System.err.println("Ignoring Operation - " + eachError);
+				parsedSchedule = parsedTextSchedule;
+			}
+			if(inputFileName.trim().endsWith("sch")) { // .sch or .bsch
+			//Check logic for .sch & .set
+					// A large schedule is split by item and its edges are built on --threads threads (default: number of cores)
+					String strThreads = getOptionValue(args, "--threads");
+					int iThreads = strThreads != null ? Integer.parseInt(strThreads) : Runtime.getRuntime().availableProcessors();
+					PrecedenceGraph precedenceGraph = SerializabilityChecker.buildPrecedenceGraph(parsedSchedule, Math.max(1, iThreads));
+					SerializabilityResult serializabilityResult = CycleDetector.check(precedenceGraph);
+					reporter.reportSchedule(precedenceGraph, serializabilityResult); // prints the topological sort if non-cyclic
+					if(!serializabilityResult.isConflictSerializable()) {
+						reporter.printText(ScheduleReporter.Level.SUMMARY, "Topological Sorting cannot be created because the graph is cyclic");
+						// It may still be view serializable (blind writes), searched within --view-time ms and --view-nodes nodes
+						String strViewTime = getOptionValue(args, "--view-time");
+						String strViewNodes = getOptionValue(args, "--view-nodes");
+						checkViewSerializability(parsedSchedule, serializabilityResult, strViewTime != null ? Long.parseLong(strViewTime) : DEFAULT_VIEW_TIME,
+								strViewNodes != null ? Long.parseLong(strViewNodes) : DEFAULT_VIEW_NODES, reporter);
+					}
+					
+			} else if(inputFileName.trim().endsWith("set")) { // .set or .bset
+				
+				// Defaults when the number of schedules and the range are not passed
+				int nonNegativeInteger = 3;
+				int a = 2;
+				int b = 4;
+				if(args.length >= 3 && !args[1].startsWith("--")) {
+					nonNegativeInteger = Integer.valueOf(args[1]);
+					String range = args[2];
+					String [] ab = range.split("-");
+					a = Integer.valueOf(ab[0]);
+					b = Integer.valueOf(ab[1]);
+				}
+				// The seed makes a run reproducible, together with the number of threads
+				String strSeed = getOptionValue(args, "--seed");
+				long lSeed = strSeed != null ? Long.parseLong(strSeed) : new SplittableRandom().nextLong();
+				String strThreads = getOptionValue(args, "--threads");
+				int iThreads = strThreads != null ? Integer.parseInt(strThreads) : Runtime.getRuntime().availableProcessors();
+				if (Arrays.asList(args).contains("--exact")) {
+					// Count every interleaving if the state budget allows, otherwise sample as usual
+					String strStateBudget = getOptionValue(args, "--exact-budget");
+					long lStateBudget = strStateBudget != null ? Long.parseLong(strStateBudget) : DEFAULT_STATE_BUDGET;
+					if (countSerializableInterleavings(parsedSchedule.toOperationList(), lStateBudget, reporter))
+						return;
+				}
+				RandomScheduleGenerator scheduleGenerator = new RandomScheduleGenerator(parsedSchedule);
+				// --check-only counts the serializable schedules without printing them
+				FailFastChecker failFastChecker = Arrays.asList(args).contains("--check-only")
+						? new FailFastChecker(parsedSchedule) : null;
+				// The verdicts of the printed schedules are cached by precedence graph, --cache 0 turns the cache off
+				String strCacheSize = getOptionValue(args, "--cache");
+				int iCacheSize = strCacheSize != null ? Integer.parseInt(strCacheSize) : DEFAULT_CACHE_SIZE;
+				VerdictCache verdictCache = failFastChecker == null && iCacheSize > 0 ? new VerdictCache(iCacheSize) : null;
+				String strPrecision = getOptionValue(args, "--precision");
+				if (strPrecision != null) {
+					// Sample until the interval is narrow enough, the number of schedules (if passed) is the maximum
+					String strConfidence = getOptionValue(args, "--confidence");
+					double dConfidence = strConfidence != null ? Double.parseDouble(strConfidence) / 100 : 0.99;
+					long lMaxSchedules = args.length >= 3 && !args[1].startsWith("--") ? nonNegativeInteger : Long.MAX_VALUE;
+					double dPrecision = Double.parseDouble(strPrecision) / 100;
+					long lSampleStart = CheckerMetrics.getInstance().startTimer();
+					WilsonInterval wilsonInterval = processRandomLegalSchedulesAdaptive(dPrecision, dConfidence, lMaxSchedules,
+							a, b, scheduleGenerator, failFastChecker, verdictCache, reporter, lSeed, Math.max(1, iThreads));
+					CheckerMetrics.getInstance().recordSampling(wilsonInterval.getTrials(), lSampleStart);
+					reporter.printText(ScheduleReporter.Level.SUMMARY, "");
+					reporter.printText(ScheduleReporter.Level.SUMMARY, SEPARATOR);
+					if (wilsonInterval.getHalfWidth() <= dPrecision)
+						reporter.printText(ScheduleReporter.Level.SUMMARY, "Stopped after " + wilsonInterval.getTrials()
+								+ " random legal schedules, the target of +-" + strPrecision + "% at " + dConfidence * 100 + "% confidence is reached");
+					else
+						reporter.printText(ScheduleReporter.Level.SUMMARY, "Stopped at the maximum of " + wilsonInterval.getTrials()
+								+ " random legal schedules, before the target of +-" + strPrecision + "% is reached");
+					reporter.printText(ScheduleReporter.Level.QUIET, "Total number of Conflict Serializables in " + wilsonInterval.getTrials()
+							+ " random legal schedules = " + wilsonInterval.getSuccesses());
+					reporter.printText(ScheduleReporter.Level.QUIET, "Percentage of Conflict Serializables = "
+							+ String.format("%.4f", wilsonInterval.getEstimate() * 100) + "%, " + dConfidence * 100 + "% Wilson interval = ["
+							+ String.format("%.4f", wilsonInterval.getLower() * 100) + "%, " + String.format("%.4f", wilsonInterval.getUpper() * 100) + "%]");
+					reporter.printRecoverability();
+					reporter.printText(ScheduleReporter.Level.SUMMARY, "Seed = " + lSeed + ", threads = " + Math.max(1, iThreads));
+					printVerdictCache(verdictCache, reporter);
+					reporter.reportJson("summary", "\"schedules\":" + wilsonInterval.getTrials() + ",\"serializable\":"
+							+ wilsonInterval.getSuccesses() + ",\"fraction\":" + wilsonInterval.getEstimate() + ",\"lower\":"
+							+ wilsonInterval.getLower() + ",\"upper\":" + wilsonInterval.getUpper() + ",\"confidence\":" + dConfidence
+							+ ",\"seed\":" + lSeed + ",\"threads\":" + Math.max(1, iThreads) + reporter.getRecoverabilityJson() + getVerdictCacheJson(verdictCache));
+					return;
+				}
+				long lSampleStart = CheckerMetrics.getInstance().startTimer();
+				int numberOfConflictSerializables = processRandomLegalSchedules(nonNegativeInteger, a, b, scheduleGenerator, failFastChecker, verdictCache, reporter, lSeed, Math.max(1, iThreads));
+				CheckerMetrics.getInstance().recordSampling(nonNegativeInteger, lSampleStart);
+				double percentageOfConflictSerializable = Math.round((Double.valueOf(numberOfConflictSerializables)/Double.valueOf(nonNegativeInteger)) * 100);
+				reporter.printText(ScheduleReporter.Level.SUMMARY, "");
+				reporter.printText(ScheduleReporter.Level.SUMMARY, SEPARATOR);
+				reporter.printText(ScheduleReporter.Level.QUIET, "Total number of Conflict Serializables in " + nonNegativeInteger +  " random legal schedules = " + numberOfConflictSerializables);
+				reporter.printText(ScheduleReporter.Level.QUIET, "Percentage of Conflict Serializables in " + nonNegativeInteger +  " random legal schedules = " + percentageOfConflictSerializable + "%");
+				reporter.printRecoverability();
+				reporter.printText(ScheduleReporter.Level.SUMMARY, "Seed = " + lSeed + ", threads = " + Math.max(1, iThreads));
+				printVerdictCache(verdictCache, reporter);
+				reporter.reportJson("summary", "\"schedules\":" + nonNegativeInteger + ",\"serializable\":" + numberOfConflictSerializables
+						+ ",\"fraction\":" + (nonNegativeInteger > 0 ? (double) numberOfConflictSerializables / nonNegativeInteger : 0)
+						+ ",\"seed\":" + lSeed + ",\"threads\":" + Math.max(1, iThreads) + reporter.getRecoverabilityJson() + getVerdictCacheJson(verdictCache));
+			}
+		} catch(Exception e) {
+			System.out.println(e.toString());
+		} finally {
+			if (reporter != null)
+				reporter.close();
+			writeMetrics(getOptionValue(args, "--metrics"));
+			System.out.flush();
+		}
+	}
+
+	/**
+     * Method name: writeMetrics
+     * Purpose: Writes the CheckerMetrics of the run as one JSON object, for --metrics
+     * @param strMetricsFile the file, - for the standard output, null to write nothing
+     * @return none
+     */
+	static void writeMetrics(String strMetricsFile) {
+		if (strMetricsFile == null)
+			return;
+		String strJson = CheckerMetrics.getInstance().toJson();
+		if (strMetricsFile.equals("-")) {
+			System.out.println(strJson);
+			return;
+		}
+		try {
+			Files.writeString(Paths.get(strMetricsFile), strJson + "\n", StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			System.err.println("Could not write the metrics to " + strMetricsFile + ": " + e);
+		}
+	}
+}
@@ -0,0 +1,286 @@
+package txnchecker.cli;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import txnchecker.PrecedenceGraph;
+import txnchecker.Recoverability;
+import txnchecker.SerializabilityResult;
+/**
+ * Class name: ScheduleReporter.java
+ *
+ * Detailed Description -  A class that reports the checked schedules of MainClass at an output level:
+ *    quiet:   only the verdict of Task 1, only the totals of Task 2
+ *    summary: the verdict with the order or the cycles and the recoverability of Task 1, the totals, seed and cache of
+ *             Task 2
+ *    verbose: also every edge of the precedence graph, and every schedule of Task 2 with its edges and verdict
+ * The totals of Task 2 include the percentage of every recoverability class (see Recoverability), counted with
+ * countRecoverability for every schedule at every level.
+ * The reports are text on the standard output, and optionally JSON lines (one object per schedule with its edges,
+ * status and order or cycles, and one object for the totals) in a file, or on the standard output instead of the text.
+ *
+ * Technique useds - The text of a schedule is built in one StringBuilder and printed with one call, so the schedules
+ * of the Task 2 workers are never mixed. The JSON lines go through a 64 KB buffer, a record is written with one
+ * synchronized call. MainClass only calls reportSchedule for the schedules of Task 2 when the level is verbose, so
+ * nothing is formatted per schedule otherwise.
+ * Data structure used is StringBuilder and a buffered PrintStream in Java.
+ * Programming language used is Java.
+ *
+ * Input Requirement - The level, and the JSON lines file: null for none, - for the standard output.
+ *
+ */
+public class ScheduleReporter {
+	/**
+	 * Enum name: Level
+	 * Purpose: The output levels, from the least to the most output
+	 */
+	public enum Level {
+		QUIET, SUMMARY, VERBOSE
+	}
+
+	private final Level level;
+	private final boolean bText; // False when the JSON lines replace the text on the standard output
+	private final PrintStream jsonOutput; // null for no JSON lines
+	private final AtomicLong scheduleCount = new AtomicLong();
+	private final LongAdder[] recoverabilityCounts = new LongAdder[Recoverability.values().length]; // schedules per class
+
+	/**
+     * Method name: ScheduleReporter()
+     * Purpose: Constructor of ScheduleReporter Class, text on the standard output only
+     * @param level, the output level
+     * @return none
+     */
+	public ScheduleReporter(Level level) {
+		this.level = level;
+		this.bText = true;
+		this.jsonOutput = null;
+		for (int i = 0; i < recoverabilityCounts.length; i++)
+			recoverabilityCounts[i] = new LongAdder();
+	}
+
+	/**
+     * Method name: ScheduleReporter()
+     * Purpose: Constructor of ScheduleReporter Class
+     * @param level, the output level
+     * @param strJsonFile, the file of the JSON lines, - for the standard output, null for none
+     * @return none
+     * @throws IOException if the file cannot be created
+     */
+	public ScheduleReporter(Level level, String strJsonFile) throws IOException {
+		this.level = level;
+		this.bText = !"-".equals(strJsonFile);
+		if (strJsonFile == null)
+			jsonOutput = null;
+		else if (!bText)
+			jsonOutput = System.out;
+		else
+			jsonOutput = new PrintStream(new BufferedOutputStream(Files.newOutputStream(Paths.get(strJsonFile)), 1 << 16),
+					false, StandardCharsets.UTF_8);
+		for (int i = 0; i < recoverabilityCounts.length; i++)
+			recoverabilityCounts[i] = new LongAdder();
+	}
+
+	/**
+     * Method name: parseLevel
+     * Purpose: Reads an output level from the command line
+     * @param strLevel quiet, summary or verbose, null for the default
+     * @param defaultLevel the level when none is passed
+     * @return Level
+     * @throws IllegalArgumentException if it is not a level
+     */
+	public static Level parseLevel(String strLevel, Level defaultLevel) {
+		if (strLevel == null)
+			return defaultLevel;
+		for (Level eachLevel : Level.values())
+			if (eachLevel.name().equalsIgnoreCase(strLevel))
+				return eachLevel;
+		throw new IllegalArgumentException("Unknown output level " + strLevel + ", expected quiet, summary or verbose");
+	}
+
+	/**
+     * Method name: isVerbose
+     * Purpose: Checks if every schedule and edge is reported
+     * @param none
+     * @return boolean; True for the verbose level
+     */
+	public boolean isVerbose() {
+		return level == Level.VERBOSE;
+	}
+
+	/**
+     * Method name: reportSchedule
+     * Purpose: Reports one checked schedule: its edges if verbose, then its verdict with the order or the cycles (only
+     * the verdict if quiet). The text is the one MainClass has always printed.
+     * Pre-condition - The result is the result of the graph
+     * Post-condition - None
+     * @param precedenceGraph the precedence graph of the schedule
+     * @param serializabilityResult the result of CycleDetector
+     * @return none
+     */
+	public void reportSchedule(PrecedenceGraph precedenceGraph, SerializabilityResult serializabilityResult) {
+		long lSchedule = scheduleCount.incrementAndGet();
+		if (jsonOutput != null) {
+			StringBuilder json = new StringBuilder(256);
+			json.append("{\"type\":\"schedule\",\"schedule\":").append(lSchedule);
+			if (level == Level.VERBOSE) {
+				json.append(",\"edges\":[");
+				for (int iNode = 0, iEdges = 0; iNode < precedenceGraph.getNodeCount(); iNode++)
+					for (int iEdge = precedenceGraph.getEdgeStart(iNode); iEdge < precedenceGraph.getEdgeEnd(iNode); iEdge++)
+						json.append(iEdges++ > 0 ? ",[" : "[").append(precedenceGraph.getTransactionId(iNode)).append(',')
+								.append(precedenceGraph.getTransactionId(precedenceGraph.getEdgeTarget(iEdge))).append(']');
+				json.append(']');
+			}
+			json.append(',');
+			BatchChecker.appendResultJson(json, serializabilityResult);
+			if (precedenceGraph.getRecoverability() != null)
+				json.append(",\"recoverability\":\"").append(precedenceGraph.getRecoverability().getJsonName()).append('"');
+			writeJson(json.append('}').toString());
+		}
+		if (!bText)
+			return;
+		StringBuilder text = new StringBuilder(256);
+		if (level == Level.VERBOSE)
+			for (int iNode = 0; iNode < precedenceGraph.getNodeCount(); iNode++)
+				for (int iEdge = precedenceGraph.getEdgeStart(iNode); iEdge < precedenceGraph.getEdgeEnd(iNode); iEdge++)
+					text.append(precedenceGraph.getTransactionId(iNode)).append("->")
+							.append(precedenceGraph.getTransactionId(precedenceGraph.getEdgeTarget(iEdge))).append("\n\n");
+		text.append("Is Schedule Conflict-Serializable: ");
+		if (level == Level.QUIET)
+			text.append(serializabilityResult.isConflictSerializable() ? "True" : "False");
+		else if (!serializabilityResult.isConflictSerializable()) {
+			text.append("False\n");
+			// If a cycle is formed; print the the Transactions due to which the cycle is formed.
+			for (long[] eachComponent : serializabilityResult.getCyclicComponents()) {
+				text.append("There is a cycle between transactions:");
+				for (long lTransactionId : eachComponent)
+					text.append(" T").append(lTransactionId);
+				text.append('\n');
+			}
+			text.append(serializabilityResult);
+		} else {
+			text.append("True\n");
+			text.append("Schedule is acyclic, thus it's serializable.\n");
+			text.append("The schedule is also View-Serializable (Every conflict serializable schedule is also view serializable)\n");
+			text.append(serializabilityResult); // the topological sort of the precedence graph
+		}
+		if (level != Level.QUIET && precedenceGraph.getRecoverability() != null)
+			text.append("\nRecoverability of the Schedule: ").append(precedenceGraph.getRecoverability());
+		System.out.println(text);
+	}
+
+	/**
+     * Method name: countRecoverability
+     * Purpose: Counts the recoverability class of a schedule of Task 2, for printRecoverability
+     * @param recoverability the class of the schedule, null is not counted
+     * @return none
+     */
+	public void countRecoverability(Recoverability recoverability) {
+		if (recoverability != null)
+			recoverabilityCounts[recoverability.ordinal()].increment();
+	}
+
+	/**
+     * Method name: printRecoverability
+     * Purpose: Prints the percentage of the counted schedules in every recoverability class, a class contains the
+     * stronger ones (every strict schedule is also counted as recoverable). Nothing is printed if none was counted.
+     * @param none
+     * @return none
+     */
+	public void printRecoverability() {
+		long[] atLeastCounts = getRecoverabilityCounts();
+		if (atLeastCounts[0] == 0)
+			return;
+		StringBuilder text = new StringBuilder("Percentage of");
+		for (int i = 1; i < atLeastCounts.length; i++)
+			text.append(i > 1 ? ", " : " ").append(Recoverability.values()[i]).append(" = ")
+					.append(String.format("%.2f", atLeastCounts[i] * 100.0 / atLeastCounts[0])).append('%');
+		printText(Level.QUIET, text.append(" (of ").append(atLeastCounts[0]).append(" classified schedules)").toString());
+	}
+
+	/**
+     * Method name: getRecoverabilityJson
+     * Purpose: Gets the counts of printRecoverability as fields of a JSON record
+     * @param none
+     * @return String; ,"recoverable":n,"avoids_cascading_aborts":n,"strict":n or nothing if none was counted
+     */
+	public String getRecoverabilityJson() {
+		long[] atLeastCounts = getRecoverabilityCounts();
+		if (atLeastCounts[0] == 0)
+			return "";
+		StringBuilder json = new StringBuilder();
+		for (int i = 1; i < atLeastCounts.length; i++)
+			json.append(",\"").append(Recoverability.values()[i].getJsonName()).append("\":").append(atLeastCounts[i]);
+		return json.toString();
+	}
+
+	/**
+     * Method name: getRecoverabilityCounts
+     * Purpose: Gets the number of counted schedules that are at least in every class
+     * @param none
+     * @return long array; index = ordinal of the class, index 0 is every counted schedule
+     */
+	private long[] getRecoverabilityCounts() {
+		long[] atLeastCounts = new long[recoverabilityCounts.length];
+		for (int i = recoverabilityCounts.length - 1; i >= 0; i--)
+			atLeastCounts[i] = recoverabilityCounts[i].sum() + (i + 1 < atLeastCounts.length ? atLeastCounts[i + 1] : 0);
+		return atLeastCounts;
+	}
+
+	/**
+     * Method name: printText
+     * Purpose: Prints a line of text if the level is at least the given level and the text is not replaced by JSON
+     * @param minimumLevel the lowest level that prints the line
+     * @param strLine the line
+     * @return none
+     */
+	public void printText(Level minimumLevel, String strLine) {
+		if (bText && level.compareTo(minimumLevel) >= 0)
+			System.out.println(strLine);
+	}
+
+	/**
+     * Method name: reportJson
+     * Purpose: Writes one JSON line of the given type with the given fields, at every level
+     * @param strType the type of the record, e.g. summary
+     * @param strFields the fields of the record, "name":value separated by commas
+     * @return none
+     */
+	public void reportJson(String strType, String strFields) {
+		if (jsonOutput != null)
+			writeJson("{\"type\":\"" + strType + "\"," + strFields + "}");
+	}
+
+	/**
+     * Method name: close
+     * Purpose: Flushes the JSON lines and closes their file
+     * @param none
+     * @return none
+     */
+	public void close() {
+		if (jsonOutput == null)
+			return;
+		jsonOutput.flush();
+		if (jsonOutput != System.out)
+			jsonOutput.close();
+		if (jsonOutput.checkError())
+			System.err.println("Could not write every JSON line of the report");
+	}
+
+	/**
+     * Method name: writeJson
+     * Purpose: Writes one JSON line, the lines of the workers are never mixed
+     * @param strRecord the JSON object
+     * @return none
+     */
+	private void writeJson(String strRecord) {
+		synchronized (jsonOutput) {
+			jsonOutput.println(strRecord);
+		}
+	}
+}
@@ -0,0 +1,434 @@
+package txnchecker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+/**
+ * Class name: BinarySchedule.java
+ *
+ * Detailed Description -  A class that stores a schedule (.sch) or a transaction set (.set) in a compact binary file
+ * (.bsch or .bset), and reads it back without parsing or copying: the operations are read directly from the mapped file,
+ * or from the bytes of a file that is already in memory (see wrap).
+ *
+ * Binary format, version 2, all numbers little endian:
+ * Header, 32 bytes:
+ *    offset  0: 4 bytes  magic "TXNS"
+ *    offset  4: int32    format version, 2
+ *    offset  8: int64    n, number of operations
+ *    offset 16: int32    t, number of distinct transaction IDs
+ *    offset 20: int32    i, number of distinct items
+ *    offset 24: int64    k, number of bytes of all the item keys
+ * Columns, one after another, every column starts at a multiple of 4 bytes (the transaction IDs at a multiple of 8):
+ *    operations:        n bytes, 'r', 'w' or 'c' in ASCII, followed by 0 to 7 bytes of padding
+ *    transactions:      n int32, the transaction index, 0 to t - 1
+ *    items:             n int32, the item index, 0 to i - 1, -1 for a commit
+ *    transaction IDs:   t int64, the transaction ID of every transaction index
+ *    item key offsets:  i + 1 int32, the first byte of the key of every item index in the item keys, then k
+ *    item keys:         k bytes, the UTF-8 keys one after another
+ * So an operation takes 9 bytes and the file size is known from the header. Version 1 (int32 transaction IDs and
+ * one character items) is not read any more, convert the text file again.
+ *
+ * Technique useds - Every column is mapped with NIO, in chunks of 2^27 values so that a column larger than the 2 GB
+ * limit of one mapping can be read. Opening a file maps it and reads the columns once to check that every transaction
+ * and item index is inside the dictionaries, so a broken or hostile file is rejected with an IOException instead of
+ * failing later in the checker; nothing is copied.
+ * Data structure used is MappedByteBuffer in Java.
+ * Programming language used is Java.
+ *
+ * Input Requirement - To write: a parsed schedule (MainClass --convert writes a .sch or .set file). To read: a file
+ * written by write.
+ *
+ */
+public class BinarySchedule implements ScheduleColumns {
+	private static final int MAGIC = 0x534E5854; // "TXNS" read as a little endian int32
+	private static final int VERSION = 2;
+	private static final int HEADER_SIZE = 32;
+	private static final int CHUNK_SHIFT = 27; // 2^27 values per mapped chunk, at most 1 GB
+	private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+	// bytes per value of the columns: operations, transactions, items, transaction IDs, item key offsets, item keys
+	private static final int[] COLUMN_WIDTHS = { 1, 4, 4, 8, 4, 1 };
+	private final int iSize;
+	private final int iTransactionCount;
+	private final int iItemCount;
+	private final ByteBuffer[] operationChunks;
+	private final ByteBuffer[] transactionChunks;
+	private final ByteBuffer[] itemChunks;
+	private final ByteBuffer[] transactionIdChunks;
+	private final ByteBuffer[] keyOffsetChunks;
+	private final ByteBuffer[] keyChunks;
+
+	/**
+     * Method name: BinarySchedule()
+     * Purpose: Constructor of BinarySchedule Class, use open to read a file
+     * @param iSize, number of operations
+     * @param iTransactionCount, number of distinct transaction IDs
+     * @param iItemCount, number of distinct items
+     * @param columns, the mapped columns in the order of the file
+     * @return none
+     */
+	private BinarySchedule(int iSize, int iTransactionCount, int iItemCount, ByteBuffer[][] columns) {
+		this.iSize = iSize;
+		this.iTransactionCount = iTransactionCount;
+		this.iItemCount = iItemCount;
+		this.operationChunks = columns[0];
+		this.transactionChunks = columns[1];
+		this.itemChunks = columns[2];
+		this.transactionIdChunks = columns[3];
+		this.keyOffsetChunks = columns[4];
+		this.keyChunks = columns[5];
+	}
+
+	/**
+     * Method name: open
+     * Purpose: Maps a binary schedule file, nothing is copied
+     * Pre-condition - The file should be written by write
+     * Post-condition - None
+     * @param filePath the binary file
+     * @return BinarySchedule; the operations of the file, read from the mapped file
+     * @throws IOException if the file cannot be read or is not a binary schedule of this version
+     */
+	public static BinarySchedule open(Path filePath) throws IOException {
+		try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+			if (fileChannel.size() < HEADER_SIZE)
+				throw new IOException(filePath + " is too small to be a binary schedule");
+			ByteBuffer header = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			checkHeader(header, fileChannel.size(), filePath.toString());
+			long[] columnSizes = getColumnSizes(header);
+			ByteBuffer[][] columns = new ByteBuffer[COLUMN_WIDTHS.length][];
+			long lOffset = HEADER_SIZE;
+			for (int c = 0; c < COLUMN_WIDTHS.length; c++) {
+				columns[c] = mapColumn(fileChannel, lOffset, columnSizes[c], COLUMN_WIDTHS[c]);
+				lOffset += getColumnBytes(columnSizes[c], c);
+			}
+			return new BinarySchedule((int) columnSizes[0], header.getInt(16), header.getInt(20), columns)
+					.checkIndexes(filePath.toString());
+		} // the mappings stay valid after the channel is closed
+	}
+
+	/**
+     * Method name: wrap
+     * Purpose: Reads a binary schedule that is already in memory, from the position to the limit of the buffer,
+     * nothing is copied
+     * Pre-condition - The bytes should be written by write, and should not be changed while the schedule is read
+     * Post-condition - None
+     * @param scheduleBytes the bytes of a binary schedule file
+     * @return BinarySchedule; the operations, read from the buffer
+     * @throws IOException if the bytes are not a binary schedule of this version
+     */
+	public static BinarySchedule wrap(ByteBuffer scheduleBytes) throws IOException {
+		ByteBuffer buffer = scheduleBytes.slice().order(ByteOrder.LITTLE_ENDIAN);
+		if (buffer.limit() < HEADER_SIZE)
+			throw new IOException("The data is too small to be a binary schedule");
+		checkHeader(buffer, buffer.limit(), "The data");
+		long[] columnSizes = getColumnSizes(buffer);
+		ByteBuffer[][] columns = new ByteBuffer[COLUMN_WIDTHS.length][];
+		int iOffset = HEADER_SIZE; // the buffer is smaller than 2 GB, so is every offset
+		for (int c = 0; c < COLUMN_WIDTHS.length; c++) {
+			columns[c] = sliceColumn(buffer, iOffset, (int) columnSizes[c], COLUMN_WIDTHS[c]);
+			iOffset += (int) getColumnBytes(columnSizes[c], c);
+		}
+		return new BinarySchedule((int) columnSizes[0], buffer.getInt(16), buffer.getInt(20), columns).checkIndexes("The data");
+	}
+
+	/**
+     * Method name: checkIndexes
+     * Purpose: Checks in one pass that every operation is r, w or c with a transaction index of the dictionary and an
+     * item index of the dictionary (-1 for a commit), and that the item keys are inside the key bytes
+     * @param strSource the file or buffer, for the messages
+     * @return BinarySchedule; this schedule
+     * @throws IOException if an operation or an item key is out of range
+     */
+	private BinarySchedule checkIndexes(String strSource) throws IOException {
+		for (int i = 0; i < iSize; i++) {
+			char cOperation = getOperation(i);
+			int iTransaction = getTransaction(i);
+			int iItem = getItem(i);
+			if (cOperation != 'r' && cOperation != 'w' && cOperation != 'c')
+				throw new IOException(strSource + " has an unknown operation at position " + i);
+			if (iTransaction < 0 || iTransaction >= iTransactionCount)
+				throw new IOException(strSource + " has transaction index " + iTransaction + " at position " + i
+						+ ", the dictionary has " + iTransactionCount);
+			if (cOperation == 'c' ? iItem != -1 : iItem < 0 || iItem >= iItemCount)
+				throw new IOException(strSource + " has item index " + iItem + " at position " + i + ", the dictionary has "
+						+ iItemCount);
+		}
+		int iKeyBytes = 0; // bytes of all the item keys, at most Integer.MAX_VALUE (see checkHeader)
+		for (ByteBuffer eachChunk : keyChunks)
+			iKeyBytes += eachChunk.limit();
+		int iPreviousOffset = 0;
+		for (int iItem = 0; iItem <= iItemCount; iItem++) {
+			int iOffset = keyOffsetChunks[iItem >>> CHUNK_SHIFT].getInt((iItem & CHUNK_MASK) << 2);
+			if (iOffset < iPreviousOffset || iOffset > iKeyBytes)
+				throw new IOException(strSource + " has a broken item key offset for item index " + iItem);
+			iPreviousOffset = iOffset;
+		}
+		return this;
+	}
+
+	/**
+     * Method name: checkHeader
+     * Purpose: Checks the header of a binary schedule and that the columns it describes fit
+     * @param header the first HEADER_SIZE bytes, little endian
+     * @param lAvailable number of bytes of the file or buffer
+     * @param strSource the file or buffer, for the messages
+     * @return none
+     * @throws IOException if it is not a binary schedule of this version, or is truncated
+     */
+	private static void checkHeader(ByteBuffer header, long lAvailable, String strSource) throws IOException {
+		if (header.getInt(0) != MAGIC)
+			throw new IOException(strSource + " is not a binary schedule");
+		if (header.getInt(4) != VERSION)
+			throw new IOException(strSource + " has binary schedule version " + header.getInt(4) + ", expected " + VERSION);
+		long lSize = header.getLong(8);
+		if (lSize < 0 || lSize > Integer.MAX_VALUE)
+			throw new IOException(strSource + " has " + lSize + " operations, at most " + Integer.MAX_VALUE + " are supported");
+		long lKeyBytes = header.getLong(24);
+		if (header.getInt(16) < 0 || header.getInt(20) < 0 || lKeyBytes < 0 || lKeyBytes > Integer.MAX_VALUE)
+			throw new IOException(strSource + " has a broken header");
+		long[] columnSizes = getColumnSizes(header);
+		long lNeeded = HEADER_SIZE;
+		for (int c = 0; c < COLUMN_WIDTHS.length; c++)
+			lNeeded += getColumnBytes(columnSizes[c], c);
+		if (lAvailable < lNeeded)
+			throw new IOException(strSource + " is truncated");
+	}
+
+	/**
+     * Method name: getColumnSizes
+     * Purpose: Gets the number of values of every column from the header
+     * @param header the first HEADER_SIZE bytes, little endian
+     * @return long array; the number of values of every column, in the order of the file
+     */
+	private static long[] getColumnSizes(ByteBuffer header) {
+		long lSize = header.getLong(8);
+		return new long[] { lSize, lSize, lSize, header.getInt(16), header.getInt(20) + 1L, header.getLong(24) };
+	}
+
+	/**
+     * Method name: getColumnBytes
+     * Purpose: Gets the number of bytes of a column with its padding
+     * @param lValues the number of values of the column
+     * @param iColumn the column, in the order of the file
+     * @return long; the bytes until the next column
+     */
+	private static long getColumnBytes(long lValues, int iColumn) {
+		return iColumn == 0 ? align(lValues) : lValues * COLUMN_WIDTHS[iColumn];
+	}
+
+	/**
+     * Method name: write
+     * Purpose: Writes the operations of a schedule or transaction set as a binary schedule file
+     * Pre-condition - None
+     * Post-condition - The file is replaced
+     * @param scheduleColumns the operations
+     * @param filePath the binary file
+     * @return none
+     * @throws IOException if the file cannot be written
+     */
+	public static void write(ScheduleColumns scheduleColumns, Path filePath) throws IOException {
+		int iSize = scheduleColumns.size();
+		// The keys are encoded once to count their bytes for the header, and again to write them
+		long lKeyBytes = 0;
+		for (int iItem = 0; iItem < scheduleColumns.getItemCount(); iItem++)
+			lKeyBytes += scheduleColumns.getItemKey(iItem).getBytes(StandardCharsets.UTF_8).length;
+		if (lKeyBytes > Integer.MAX_VALUE)
+			throw new IOException("The item keys need more than 2 GB");
+		try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+			buffer.putInt(MAGIC).putInt(VERSION).putLong(iSize).putInt(scheduleColumns.getTransactionCount())
+					.putInt(scheduleColumns.getItemCount()).putLong(lKeyBytes);
+			for (int i = 0; i < iSize; i++)
+				buffer = flushIfFull(fileChannel, buffer, 1).put((byte) scheduleColumns.getOperation(i));
+			for (long l = iSize; l < align(iSize); l++)
+				buffer = flushIfFull(fileChannel, buffer, 1).put((byte) 0); // padding
+			for (int i = 0; i < iSize; i++)
+				buffer = flushIfFull(fileChannel, buffer, 4).putInt(scheduleColumns.getTransaction(i));
+			for (int i = 0; i < iSize; i++)
+				buffer = flushIfFull(fileChannel, buffer, 4).putInt(scheduleColumns.getItem(i));
+			for (int iTransaction = 0; iTransaction < scheduleColumns.getTransactionCount(); iTransaction++)
+				buffer = flushIfFull(fileChannel, buffer, 8).putLong(scheduleColumns.getTransactionId(iTransaction));
+			int iKeyOffset = 0;
+			for (int iItem = 0; iItem < scheduleColumns.getItemCount(); iItem++) {
+				buffer = flushIfFull(fileChannel, buffer, 4).putInt(iKeyOffset);
+				iKeyOffset += scheduleColumns.getItemKey(iItem).getBytes(StandardCharsets.UTF_8).length;
+			}
+			buffer = flushIfFull(fileChannel, buffer, 4).putInt(iKeyOffset);
+			for (int iItem = 0; iItem < scheduleColumns.getItemCount(); iItem++)
+				for (byte b : scheduleColumns.getItemKey(iItem).getBytes(StandardCharsets.UTF_8))
+					buffer = flushIfFull(fileChannel, buffer, 1).put(b);
+			buffer.flip();
+			while (buffer.hasRemaining())
+				fileChannel.write(buffer);
+		}
+	}
+
+	/**
+     * Method name: getTransactionCount
+     * Purpose: Getter method of the number of distinct transaction IDs, from the header
+     * @param none
+     * @return int; number of transactions
+     */
+	@Override
+	public int getTransactionCount() {
+		return iTransactionCount;
+	}
+
+	/**
+     * Method name: getItemCount
+     * Purpose: Getter method of the number of distinct items, from the header
+     * @param none
+     * @return int; number of items
+     */
+	@Override
+	public int getItemCount() {
+		return iItemCount;
+	}
+
+	/**
+     * Method name: size
+     * Purpose: Getter method of the number of operations
+     * @param none
+     * @return int; number of operations
+     */
+	@Override
+	public int size() {
+		return iSize;
+	}
+
+	/**
+     * Method name: getOperation
+     * Purpose: Reads the operation at a position from the mapped file
+     * @param i position in the schedule
+     * @return char; r, w or c
+     */
+	@Override
+	public char getOperation(int i) {
+		return (char) operationChunks[i >>> CHUNK_SHIFT].get(i & CHUNK_MASK);
+	}
+
+	/**
+     * Method name: getTransaction
+     * Purpose: Reads the transaction index at a position from the mapped file
+     * @param i position in the schedule
+     * @return int; transaction index
+     */
+	@Override
+	public int getTransaction(int i) {
+		return transactionChunks[i >>> CHUNK_SHIFT].getInt((i & CHUNK_MASK) << 2);
+	}
+
+	/**
+     * Method name: getItem
+     * Purpose: Reads the item index at a position from the mapped file
+     * @param i position in the schedule
+     * @return int; item index, -1 for a commit
+     */
+	@Override
+	public int getItem(int i) {
+		return itemChunks[i >>> CHUNK_SHIFT].getInt((i & CHUNK_MASK) << 2);
+	}
+
+	/**
+     * Method name: getTransactionId
+     * Purpose: Reads the transaction ID of a transaction index from the mapped file
+     * @param iTransaction the transaction index
+     * @return long; transaction ID
+     */
+	@Override
+	public long getTransactionId(int iTransaction) {
+		return transactionIdChunks[iTransaction >>> CHUNK_SHIFT].getLong((iTransaction & CHUNK_MASK) << 3);
+	}
+
+	/**
+     * Method name: getItemKey
+     * Purpose: Reads the key of an item index from the mapped file, a key may cross the end of a chunk
+     * @param iItem the item index
+     * @return String; item key
+     */
+	@Override
+	public String getItemKey(int iItem) {
+		int iStart = keyOffsetChunks[iItem >>> CHUNK_SHIFT].getInt((iItem & CHUNK_MASK) << 2);
+		int iEnd = keyOffsetChunks[(iItem + 1) >>> CHUNK_SHIFT].getInt(((iItem + 1) & CHUNK_MASK) << 2);
+		byte[] keyBytes = new byte[iEnd - iStart];
+		for (int i = iStart; i < iEnd; i++)
+			keyBytes[i - iStart] = keyChunks[i >>> CHUNK_SHIFT].get(i & CHUNK_MASK);
+		return new String(keyBytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+     * Method name: mapColumn
+     * Purpose: Maps a column in chunks of 2^27 values
+     * @param fileChannel the open file
+     * @param lOffset byte offset of the column
+     * @param lSize number of values
+     * @param iWidth bytes per value
+     * @return MappedByteBuffer array; the chunks, little endian
+     * @throws IOException if the file cannot be mapped
+     */
+	private static MappedByteBuffer[] mapColumn(FileChannel fileChannel, long lOffset, long lSize, int iWidth) throws IOException {
+		int iChunks = (int) ((lSize + CHUNK_MASK) >>> CHUNK_SHIFT);
+		MappedByteBuffer[] chunks = new MappedByteBuffer[iChunks];
+		for (int c = 0; c < iChunks; c++) {
+			long lFirst = (long) c << CHUNK_SHIFT;
+			long lCount = Math.min(1L << CHUNK_SHIFT, lSize - lFirst);
+			chunks[c] = fileChannel.map(FileChannel.MapMode.READ_ONLY, lOffset + lFirst * iWidth, lCount * iWidth);
+			chunks[c].order(ByteOrder.LITTLE_ENDIAN);
+		}
+		return chunks;
+	}
+
+	/**
+     * Method name: sliceColumn
+     * Purpose: Cuts a column out of a buffer in chunks of 2^27 values, see mapColumn
+     * @param buffer the binary schedule
+     * @param iOffset byte offset of the column
+     * @param iSize number of values
+     * @param iWidth bytes per value
+     * @return ByteBuffer array; the chunks, little endian
+     */
+	private static ByteBuffer[] sliceColumn(ByteBuffer buffer, int iOffset, int iSize, int iWidth) {
+		int iChunks = (int) (((long) iSize + CHUNK_MASK) >>> CHUNK_SHIFT);
+		ByteBuffer[] chunks = new ByteBuffer[iChunks];
+		for (int c = 0; c < iChunks; c++) {
+			int iFirst = c << CHUNK_SHIFT;
+			int iCount = Math.min(1 << CHUNK_SHIFT, iSize - iFirst);
+			chunks[c] = buffer.slice(iOffset + iFirst * iWidth, iCount * iWidth).order(ByteOrder.LITTLE_ENDIAN);
+		}
+		return chunks;
+	}
+
+	/**
+     * Method name: flushIfFull
+     * Purpose: Writes the buffer to the file when it has no room for the next value
+     * @param fileChannel the open file
+     * @param buffer the write buffer
+     * @param iWidth bytes of the next value
+     * @return ByteBuffer; the buffer, ready for the next value
+     * @throws IOException if the file cannot be written
+     */
+	private static ByteBuffer flushIfFull(FileChannel fileChannel, ByteBuffer buffer, int iWidth) throws IOException {
+		if (buffer.remaining() >= iWidth)
+			return buffer;
+		buffer.flip();
+		while (buffer.hasRemaining())
+			fileChannel.write(buffer);
+		buffer.clear();
+		return buffer;
+	}
+
+	/**
+     * Method name: align
+     * Purpose: Rounds a byte count up to a multiple of 8
+     * @param lBytes the byte count
+     * @return long; the rounded byte count
+     */
+	private static long align(long lBytes) {
+		return (lBytes + 7) & ~7L;
+	}
+}
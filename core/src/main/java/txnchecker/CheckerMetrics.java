@@ -0,0 +1,399 @@
+package txnchecker;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+/**
+ * Class name: CheckerMetrics.java
+ *
+ * Detailed Description -  The counters and the timers of the phases of the checker, for the whole JVM: parsing
+ * (operations parsed, lines rejected), building the precedence graph (edges emitted, duplicate edges suppressed),
+ * checking it for cycles (the sizes of the cyclic components), creating and checking the random schedules of Task 2
+ * (schedules per second), the view serializability checks and the verdict cache (hits and misses). The classes of the checker record into the one
+ * instance of getInstance; it is read over JMX (registerMBean) or as one JSON object (toJson).
+ *
+ * Technique useds - Every counter is a LongAdder, so the Task 2 workers record without a lock and without fighting for
+ * one cache line; the sum is only computed when a value is read. A phase is timed once per call (a parse, a graph, a
+ * schedule) with System.nanoTime, never per operation. The metrics are off until setEnabled or registerMBean: then
+ * startTimer returns 0 without reading the clock and nothing is recorded, so a run without metrics only pays one test
+ * per call (the random schedules of Task 2 are checked in a few hundred nanoseconds, a clock read each is measurable).
+ * Nothing is printed and nothing is registered until registerMBean is called. The switch is volatile, so a thread that
+ * records sees setEnabled at its next call. A call whose timer was started while the metrics were off (startTimer
+ * returned 0) is not recorded, even if they are on when it ends; reset is best-effort while the workers record.
+ * Data structure used is LongAdder in Java.
+ * Programming language used is Java.
+ *
+ */
+public class CheckerMetrics implements CheckerMetricsMXBean {
+	/**
+	 * Enum name: Phase
+	 * Purpose: The timed phases, every one has a number of calls and a total time
+	 */
+	public enum Phase {
+		PARSE, BUILD_GRAPH, CHECK_CYCLES, GENERATE_SCHEDULE, FAIL_FAST_CHECK, SAMPLE_SCHEDULES, VIEW_SEARCH
+	}
+
+	public static final String OBJECT_NAME = "txnchecker:type=CheckerMetrics";
+	private static final CheckerMetrics INSTANCE = new CheckerMetrics();
+	private final LongAdder[] phaseCalls = newAdders(Phase.values().length);
+	private final LongAdder[] phaseNanos = newAdders(Phase.values().length);
+	private final LongAdder operationsParsed = new LongAdder();
+	private final LongAdder linesRejected = new LongAdder();
+	private final LongAdder edgesEmitted = new LongAdder();
+	private final LongAdder duplicateEdges = new LongAdder();
+	private final LongAdder cyclicComponents = new LongAdder();
+	private final LongAdder transactionsInCyclicComponents = new LongAdder();
+	private final LongAccumulator largestCyclicComponent = new LongAccumulator(Math::max, 0);
+	private final LongAdder schedulesSampled = new LongAdder();
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
+	private volatile boolean bEnabled = false; // as cheap to read as a plain field on x86
+
+	private CheckerMetrics() {
+	}
+
+	/**
+     * Method name: getInstance
+     * Purpose: Gets the metrics of the JVM
+     * @param none
+     * @return CheckerMetrics
+     */
+	public static CheckerMetrics getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+     * Method name: setEnabled
+     * Purpose: Turns the recording on or off, the threads that record see the change at their next call
+     * @param bEnabled True to record
+     * @return none
+     */
+	public void setEnabled(boolean bEnabled) {
+		this.bEnabled = bEnabled;
+	}
+
+	/**
+     * Method name: isEnabled
+     * Purpose: Checks if the metrics are recorded
+     * @param none
+     * @return boolean; True if they are recorded
+     */
+	public boolean isEnabled() {
+		return bEnabled;
+	}
+
+	/**
+     * Method name: registerMBean
+     * Purpose: Turns the recording on and publishes the metrics over JMX as txnchecker:type=CheckerMetrics,
+     * registering twice has no effect
+     * @param none
+     * @return none
+     * @throws IllegalStateException if the platform MBean server refuses the bean
+     */
+	public static void registerMBean() {
+		INSTANCE.setEnabled(true);
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+		} catch (InstanceAlreadyExistsException e) {
+			// already published
+		} catch (JMException e) {
+			throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+		}
+	}
+
+	/**
+     * Method name: startTimer
+     * Purpose: Gets the start time of a call of a phase, for recordPhase
+     * @param none
+     * @return long; System.nanoTime, 0 if the metrics are off
+     */
+	public long startTimer() {
+		return bEnabled ? System.nanoTime() : 0;
+	}
+
+	/**
+     * Method name: recordPhase
+     * Purpose: Adds one call of a phase that started at lStartNanos and ends now, nothing if the timer was started
+     * while the metrics were off
+     * @param phase the phase
+     * @param lStartNanos startTimer at the start of the call
+     * @return none
+     */
+	public void recordPhase(Phase phase, long lStartNanos) {
+		if (!bEnabled || lStartNanos == 0)
+			return;
+		phaseNanos[phase.ordinal()].add(System.nanoTime() - lStartNanos);
+		phaseCalls[phase.ordinal()].increment();
+	}
+
+	/**
+     * Method name: recordParse
+     * Purpose: Adds the result of parsing a schedule
+     * @param lOperations number of operations read
+     * @param lRejected number of lines that were not an operation
+     * @return none
+     */
+	public void recordParse(long lOperations, long lRejected) {
+		if (!bEnabled)
+			return;
+		operationsParsed.add(lOperations);
+		linesRejected.add(lRejected);
+	}
+
+	/**
+     * Method name: recordEdges
+     * Purpose: Adds the conflicting pairs of a graph, and how many of them were an edge already found
+     * @param lEmitted number of conflicting pairs
+     * @param lDuplicates number of them that were dropped
+     * @return none
+     */
+	public void recordEdges(long lEmitted, long lDuplicates) {
+		if (!bEnabled)
+			return;
+		edgesEmitted.add(lEmitted);
+		duplicateEdges.add(lDuplicates);
+	}
+
+	/**
+     * Method name: recordCyclicComponent
+     * Purpose: Adds a strongly connected component of more than one transaction
+     * @param iSize number of transactions of the component
+     * @return none
+     */
+	public void recordCyclicComponent(int iSize) {
+		if (!bEnabled)
+			return;
+		cyclicComponents.increment();
+		transactionsInCyclicComponents.add(iSize);
+		largestCyclicComponent.accumulate(iSize);
+	}
+
+	/**
+     * Method name: recordCacheLookup
+     * Purpose: Adds a lookup of a VerdictCache
+     * @param bHit True if the verdict was in the cache
+     * @return none
+     */
+	public void recordCacheLookup(boolean bHit) {
+		if (!bEnabled)
+			return;
+		(bHit ? cacheHits : cacheMisses).increment();
+	}
+
+	/**
+     * Method name: recordSampling
+     * Purpose: Adds a finished Task 2 run, for the schedules per second, nothing if the timer was started while the
+     * metrics were off
+     * @param lSchedules number of schedules of the run
+     * @param lStartNanos startTimer at the start of the run
+     * @return none
+     */
+	public void recordSampling(long lSchedules, long lStartNanos) {
+		if (!bEnabled || lStartNanos == 0)
+			return;
+		schedulesSampled.add(lSchedules);
+		recordPhase(Phase.SAMPLE_SCHEDULES, lStartNanos);
+	}
+
+	/**
+     * Method name: getPhaseCalls
+     * Purpose: Gets the number of calls of a phase
+     * @param phase the phase
+     * @return long
+     */
+	public long getPhaseCalls(Phase phase) {
+		return phaseCalls[phase.ordinal()].sum();
+	}
+
+	/**
+     * Method name: getPhaseNanos
+     * Purpose: Gets the total time of a phase
+     * @param phase the phase
+     * @return long; nanoseconds
+     */
+	public long getPhaseNanos(Phase phase) {
+		return phaseNanos[phase.ordinal()].sum();
+	}
+
+	@Override
+	public long getOperationsParsed() {
+		return operationsParsed.sum();
+	}
+
+	@Override
+	public long getLinesRejected() {
+		return linesRejected.sum();
+	}
+
+	@Override
+	public long getParseNanos() {
+		return getPhaseNanos(Phase.PARSE);
+	}
+
+	@Override
+	public long getGraphsBuilt() {
+		return getPhaseCalls(Phase.BUILD_GRAPH);
+	}
+
+	@Override
+	public long getBuildGraphNanos() {
+		return getPhaseNanos(Phase.BUILD_GRAPH);
+	}
+
+	@Override
+	public long getEdgesEmitted() {
+		return edgesEmitted.sum();
+	}
+
+	@Override
+	public long getDuplicateEdgesSuppressed() {
+		return duplicateEdges.sum();
+	}
+
+	@Override
+	public long getCycleChecks() {
+		return getPhaseCalls(Phase.CHECK_CYCLES);
+	}
+
+	@Override
+	public long getCycleCheckNanos() {
+		return getPhaseNanos(Phase.CHECK_CYCLES);
+	}
+
+	@Override
+	public long getCyclicComponents() {
+		return cyclicComponents.sum();
+	}
+
+	@Override
+	public long getTransactionsInCyclicComponents() {
+		return transactionsInCyclicComponents.sum();
+	}
+
+	@Override
+	public long getLargestCyclicComponent() {
+		return largestCyclicComponent.get();
+	}
+
+	@Override
+	public long getSchedulesGenerated() {
+		return getPhaseCalls(Phase.GENERATE_SCHEDULE);
+	}
+
+	@Override
+	public long getGenerateNanos() {
+		return getPhaseNanos(Phase.GENERATE_SCHEDULE);
+	}
+
+	@Override
+	public long getFailFastChecks() {
+		return getPhaseCalls(Phase.FAIL_FAST_CHECK);
+	}
+
+	@Override
+	public long getFailFastNanos() {
+		return getPhaseNanos(Phase.FAIL_FAST_CHECK);
+	}
+
+	@Override
+	public long getViewChecks() {
+		return getPhaseCalls(Phase.VIEW_SEARCH);
+	}
+
+	@Override
+	public long getViewCheckNanos() {
+		return getPhaseNanos(Phase.VIEW_SEARCH);
+	}
+
+	@Override
+	public long getSchedulesSampled() {
+		return schedulesSampled.sum();
+	}
+
+	@Override
+	public long getSampleNanos() {
+		return getPhaseNanos(Phase.SAMPLE_SCHEDULES);
+	}
+
+	@Override
+	public double getSchedulesPerSecond() {
+		long lNanos = getSampleNanos();
+		return lNanos == 0 ? 0 : getSchedulesSampled() * 1e9 / lNanos;
+	}
+
+	@Override
+	public long getCacheHits() {
+		return cacheHits.sum();
+	}
+
+	@Override
+	public long getCacheMisses() {
+		return cacheMisses.sum();
+	}
+
+	/**
+     * Method name: reset
+     * Purpose: Sets every counter and time back to 0, best-effort: the counters are reset one by one while the workers
+     * may still record, so a value recorded during the reset can be kept or lost, and the largest cyclic component can
+     * keep a size recorded just before the reset. Values recorded after reset returns are always counted.
+     * @param none
+     * @return none
+     */
+	@Override
+	public void reset() {
+		for (int i = 0; i < phaseCalls.length; i++) {
+			phaseCalls[i].reset();
+			phaseNanos[i].reset();
+		}
+		for (LongAdder eachAdder : new LongAdder[] { operationsParsed, linesRejected, edgesEmitted, duplicateEdges,
+				cyclicComponents, transactionsInCyclicComponents, schedulesSampled, cacheHits, cacheMisses })
+			eachAdder.reset();
+		largestCyclicComponent.reset();
+	}
+
+	/**
+     * Method name: toJson
+     * Purpose: Gets every value as one JSON object: the counters, then the calls and the milliseconds of every phase
+     * @param none
+     * @return String; the JSON object
+     */
+	@Override
+	public String toJson() {
+		StringBuilder json = new StringBuilder(512);
+		json.append("{\"operationsParsed\":").append(getOperationsParsed());
+		json.append(",\"linesRejected\":").append(getLinesRejected());
+		json.append(",\"edgesEmitted\":").append(getEdgesEmitted());
+		json.append(",\"duplicateEdgesSuppressed\":").append(getDuplicateEdgesSuppressed());
+		json.append(",\"cyclicComponents\":").append(getCyclicComponents());
+		json.append(",\"transactionsInCyclicComponents\":").append(getTransactionsInCyclicComponents());
+		json.append(",\"largestCyclicComponent\":").append(getLargestCyclicComponent());
+		json.append(",\"schedulesSampled\":").append(getSchedulesSampled());
+		json.append(",\"schedulesPerSecond\":").append(String.format(Locale.ROOT, "%.1f", getSchedulesPerSecond()));
+		json.append(",\"cacheHits\":").append(getCacheHits());
+		json.append(",\"cacheMisses\":").append(getCacheMisses());
+		json.append(",\"phases\":{");
+		for (Phase eachPhase : Phase.values())
+			json.append(eachPhase.ordinal() > 0 ? ",\"" : "\"").append(eachPhase.name().toLowerCase()).append("\":{\"calls\":")
+					.append(getPhaseCalls(eachPhase)).append(",\"millis\":")
+					.append(String.format(Locale.ROOT, "%.3f", getPhaseNanos(eachPhase) / 1e6)).append('}');
+		return json.append("}}").toString();
+	}
+
+	/**
+     * Method name: newAdders
+     * Purpose: Creates an array of new LongAdder
+     * @param iCount length of the array
+     * @return LongAdder array
+     */
+	private static LongAdder[] newAdders(int iCount) {
+		LongAdder[] adders = new LongAdder[iCount];
+		for (int i = 0; i < iCount; i++)
+			adders[i] = new LongAdder();
+		return adders;
+	}
+}
@@ -0,0 +1,213 @@
+package txnchecker;
+/**
+ * Interface name: CheckerMetricsMXBean.java
+ *
+ * Detailed Description -  The attributes of CheckerMetrics as they are published over JMX, under the name
+ * txnchecker:type=CheckerMetrics (see CheckerMetrics.registerMBean). Every value is counted since the start of the JVM
+ * or the last reset, the times are in nanoseconds.
+ *
+ * Programming language used is Java.
+ *
+ */
+public interface CheckerMetricsMXBean {
+	/**
+     * Method name: getOperationsParsed
+     * Purpose: Gets the number of operations read from text schedules
+     * @param none
+     * @return long
+     */
+	long getOperationsParsed();
+
+	/**
+     * Method name: getLinesRejected
+     * Purpose: Gets the number of lines of text schedules that were not an operation
+     * @param none
+     * @return long
+     */
+	long getLinesRejected();
+
+	/**
+     * Method name: getParseNanos
+     * Purpose: Gets the time spent parsing whole text schedules
+     * @param none
+     * @return long; nanoseconds
+     */
+	long getParseNanos();
+
+	/**
+     * Method name: getGraphsBuilt
+     * Purpose: Gets the number of precedence graphs built by SerializabilityChecker
+     * @param none
+     * @return long
+     */
+	long getGraphsBuilt();
+
+	/**
+     * Method name: getBuildGraphNanos
+     * Purpose: Gets the time spent building precedence graphs
+     * @param none
+     * @return long; nanoseconds
+     */
+	long getBuildGraphNanos();
+
+	/**
+     * Method name: getEdgesEmitted
+     * Purpose: Gets the number of conflicting pairs given to the graph builders, before the duplicates are removed
+     * @param none
+     * @return long
+     */
+	long getEdgesEmitted();
+
+	/**
+     * Method name: getDuplicateEdgesSuppressed
+     * Purpose: Gets the number of conflicting pairs that were an edge already found
+     * @param none
+     * @return long
+     */
+	long getDuplicateEdgesSuppressed();
+
+	/**
+     * Method name: getCycleChecks
+     * Purpose: Gets the number of graphs checked by CycleDetector
+     * @param none
+     * @return long
+     */
+	long getCycleChecks();
+
+	/**
+     * Method name: getCycleCheckNanos
+     * Purpose: Gets the time spent in CycleDetector, the components, the order and the cycles
+     * @param none
+     * @return long; nanoseconds
+     */
+	long getCycleCheckNanos();
+
+	/**
+     * Method name: getCyclicComponents
+     * Purpose: Gets the number of strongly connected components of more than one transaction found
+     * @param none
+     * @return long
+     */
+	long getCyclicComponents();
+
+	/**
+     * Method name: getTransactionsInCyclicComponents
+     * Purpose: Gets the total size of the cyclic components found
+     * @param none
+     * @return long
+     */
+	long getTransactionsInCyclicComponents();
+
+	/**
+     * Method name: getLargestCyclicComponent
+     * Purpose: Gets the size of the largest cyclic component found
+     * @param none
+     * @return long; 0 if none
+     */
+	long getLargestCyclicComponent();
+
+	/**
+     * Method name: getSchedulesGenerated
+     * Purpose: Gets the number of random legal schedules created by RandomScheduleGenerator
+     * @param none
+     * @return long
+     */
+	long getSchedulesGenerated();
+
+	/**
+     * Method name: getGenerateNanos
+     * Purpose: Gets the time spent creating random legal schedules
+     * @param none
+     * @return long; nanoseconds
+     */
+	long getGenerateNanos();
+
+	/**
+     * Method name: getFailFastChecks
+     * Purpose: Gets the number of schedules checked by FailFastChecker
+     * @param none
+     * @return long
+     */
+	long getFailFastChecks();
+
+	/**
+     * Method name: getFailFastNanos
+     * Purpose: Gets the time spent in FailFastChecker
+     * @param none
+     * @return long; nanoseconds
+     */
+	long getFailFastNanos();
+
+	/**
+     * Method name: getViewChecks
+     * Purpose: Gets the number of schedules checked by ViewSerializabilityChecker
+     * @param none
+     * @return long
+     */
+	long getViewChecks();
+
+	/**
+     * Method name: getViewCheckNanos
+     * Purpose: Gets the time spent in ViewSerializabilityChecker, its polygraphs are not counted as graphs or cycle checks
+     * @param none
+     * @return long; nanoseconds
+     */
+	long getViewCheckNanos();
+
+	/**
+     * Method name: getSchedulesSampled
+     * Purpose: Gets the number of schedules of the finished Task 2 runs
+     * @param none
+     * @return long
+     */
+	long getSchedulesSampled();
+
+	/**
+     * Method name: getSampleNanos
+     * Purpose: Gets the wall clock time of the finished Task 2 runs
+     * @param none
+     * @return long; nanoseconds
+     */
+	long getSampleNanos();
+
+	/**
+     * Method name: getSchedulesPerSecond
+     * Purpose: Gets the rate of the finished Task 2 runs
+     * @param none
+     * @return double; schedules per second of wall clock time, 0 if none
+     */
+	double getSchedulesPerSecond();
+
+	/**
+     * Method name: getCacheHits
+     * Purpose: Gets the number of verdicts answered by a VerdictCache
+     * @param none
+     * @return long
+     */
+	long getCacheHits();
+
+	/**
+     * Method name: getCacheMisses
+     * Purpose: Gets the number of verdicts a VerdictCache had to compute
+     * @param none
+     * @return long
+     */
+	long getCacheMisses();
+
+	/**
+     * Method name: reset
+     * Purpose: Sets every counter and time back to 0, best-effort: values recorded by workers during the reset can be
+     * kept or lost, see CheckerMetrics.reset
+     * @param none
+     * @return none
+     */
+	void reset();
+
+	/**
+     * Method name: toJson
+     * Purpose: Gets every value as one JSON object
+     * @param none
+     * @return String; the JSON object
+     */
+	String toJson();
+}
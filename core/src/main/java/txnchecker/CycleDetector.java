@@ -0,0 +1,185 @@
+package txnchecker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+/**
+ * Class name: CycleDetector.java
+ *
+ * Detailed Description -  A class that checks a precedence graph for cycles in O(V + E) time
+ *
+ * Technique useds - Tarjan's strongly connected components algorithm, written with an explicit stack so that
+ * long chains of transactions do not overflow the Java call stack. One depth first traversal gives
+ * 1. the verdict: the graph is acyclic if and only if every strongly connected component is a single transaction,
+ * 2. the serialization order: Tarjan finds the components in reverse topological order, so reading them
+ *    backwards is a topological sort of an acyclic graph,
+ * 3. the cycles: every component with more than one transaction contains all the transactions of its cycles.
+ * For every such component one shortest cycle through its smallest transaction ID is found with a breadth first
+ * search that stays inside the component, so the edges of every component are looked at once more.
+ * Data structure used is primitive int arrays in Java.
+ * Programming language used is Java.
+ *
+ * Input Requirement - A PrecedenceGraph.
+ *
+ */
+public class CycleDetector {
+	/**
+     * Method name: check
+     * Purpose: Checks if the precedence graph is acyclic and returns the serialization order or the cycles
+     * Pre-condition - The precedence graph should be ready for processing
+     * Post-condition - None
+     * @param precedenceGraph the precedence graph of the schedule
+     * @return SerializabilityResult; the verdict with the serialization order or the cycles
+     */
+	public static SerializabilityResult check(PrecedenceGraph precedenceGraph) {
+		return check(precedenceGraph, true);
+	}
+
+	/**
+     * Method name: check
+     * Purpose: Same as check(PrecedenceGraph), the call and the cyclic components are only added to the CheckerMetrics
+     * if bRecord is True, a graph that is not a precedence graph (e.g. a polygraph) is not counted
+     * @param precedenceGraph the graph
+     * @param bRecord True to record the check
+     * @return SerializabilityResult; the verdict with the serialization order or the cycles
+     */
+	static SerializabilityResult check(PrecedenceGraph precedenceGraph, boolean bRecord) {
+		long lStart = bRecord ? CheckerMetrics.getInstance().startTimer() : 0;
+		int iNodeCount = precedenceGraph.getNodeCount();
+		int[] index = new int[iNodeCount]; // order in which the nodes are visited, -1 if not visited yet
+		int[] lowLink = new int[iNodeCount]; // smallest index reachable from the node inside its component
+		int[] componentOf = new int[iNodeCount]; // component number of every node, -1 while on the stack
+		Arrays.fill(index, -1);
+		Arrays.fill(componentOf, -1);
+		int[] componentStack = new int[iNodeCount]; // visited nodes whose component is not known yet
+		int iComponentTop = 0;
+		int[] callNode = new int[iNodeCount]; // explicit call stack: the node and its next edge to follow
+		int[] callEdge = new int[iNodeCount];
+		int iCallTop = 0;
+		// The nodes in the order their components are found, every component is contiguous in this array
+		int[] foundNodes = new int[iNodeCount];
+		int iFoundCount = 0;
+		List<Integer> listCyclicStarts = new ArrayList<Integer>(); // start of every cyclic component in foundNodes
+		int iNextIndex = 0;
+		int iComponentCount = 0;
+		for (int iRoot = 0; iRoot < iNodeCount; iRoot++) {
+			if (index[iRoot] != -1)
+				continue;
+			// Visit the root
+			index[iRoot] = lowLink[iRoot] = iNextIndex++;
+			componentStack[iComponentTop++] = iRoot;
+			callNode[iCallTop] = iRoot;
+			callEdge[iCallTop++] = precedenceGraph.getEdgeStart(iRoot);
+			while (iCallTop > 0) {
+				int iNode = callNode[iCallTop - 1];
+				int iEdge = callEdge[iCallTop - 1];
+				if (iEdge < precedenceGraph.getEdgeEnd(iNode)) {
+					callEdge[iCallTop - 1]++;
+					int iToNode = precedenceGraph.getEdgeTarget(iEdge);
+					if (index[iToNode] == -1) { // Not visited yet, visit it as a child of iNode
+						index[iToNode] = lowLink[iToNode] = iNextIndex++;
+						componentStack[iComponentTop++] = iToNode;
+						callNode[iCallTop] = iToNode;
+						callEdge[iCallTop++] = precedenceGraph.getEdgeStart(iToNode);
+					} else if (componentOf[iToNode] == -1) // Still on the stack, so it is in the component of iNode
+						lowLink[iNode] = Math.min(lowLink[iNode], index[iToNode]);
+					continue;
+				}
+				// All the edges of iNode are followed, return to its parent
+				iCallTop--;
+				if (iCallTop > 0)
+					lowLink[callNode[iCallTop - 1]] = Math.min(lowLink[callNode[iCallTop - 1]], lowLink[iNode]);
+				if (lowLink[iNode] != index[iNode])
+					continue;
+				// iNode is the root of a component, pop the component from the stack
+				int iComponentStart = iFoundCount;
+				int iMember;
+				do {
+					iMember = componentStack[--iComponentTop];
+					componentOf[iMember] = iComponentCount;
+					foundNodes[iFoundCount++] = iMember;
+				} while (iMember != iNode);
+				if (iFoundCount - iComponentStart > 1)
+					listCyclicStarts.add(iComponentStart);
+				iComponentCount++;
+			}
+		}
+		if (listCyclicStarts.isEmpty()) {
+			// Acyclic, the reverse of the order in which the components were found is a topological order
+			long[] serializationOrder = new long[iNodeCount];
+			for (int i = 0; i < iNodeCount; i++)
+				serializationOrder[i] = precedenceGraph.getTransactionId(foundNodes[iNodeCount - 1 - i]);
+			if (bRecord)
+				CheckerMetrics.getInstance().recordPhase(CheckerMetrics.Phase.CHECK_CYCLES, lStart);
+			return new SerializabilityResult(serializationOrder, new ArrayList<long[]>(), new ArrayList<long[]>());
+		}
+		// Cyclic, report every cyclic component and one cycle through it
+		List<long[]> listComponents = new ArrayList<long[]>();
+		List<long[]> listCycles = new ArrayList<long[]>();
+		int[] parent = new int[iNodeCount]; // breadth first search tree, -1 if not reached
+		Arrays.fill(parent, -1);
+		for (int iComponentStart : listCyclicStarts) {
+			int iComponent = componentOf[foundNodes[iComponentStart]];
+			int iComponentEnd = iComponentStart;
+			while (iComponentEnd < iFoundCount && componentOf[foundNodes[iComponentEnd]] == iComponent)
+				iComponentEnd++;
+			int[] members = Arrays.copyOfRange(foundNodes, iComponentStart, iComponentEnd);
+			Arrays.sort(members); // node ids are in ascending order of transaction ID
+			listCycles.add(getShortestCycle(precedenceGraph, members[0], componentOf, parent));
+			long[] componentTransactionIds = new long[members.length];
+			for (int i = 0; i < members.length; i++)
+				componentTransactionIds[i] = precedenceGraph.getTransactionId(members[i]);
+			listComponents.add(componentTransactionIds);
+			if (bRecord)
+				CheckerMetrics.getInstance().recordCyclicComponent(members.length);
+		}
+		if (bRecord)
+			CheckerMetrics.getInstance().recordPhase(CheckerMetrics.Phase.CHECK_CYCLES, lStart);
+		return new SerializabilityResult(null, listComponents, listCycles);
+	}
+
+	/**
+     * Method name: getShortestCycle
+     * Purpose: Finds a shortest cycle through a node of a cyclic component with a breadth first search that only
+     * follows the edges inside the component
+     * Pre-condition - The component of iStartNode has more than one node, parent is -1 for every node of it
+     * Post-condition - parent is -1 again for every node of the component
+     * @param precedenceGraph the precedence graph of the schedule
+     * @param iStartNode node id the cycle goes through
+     * @param componentOf component number of every node
+     * @param parent scratch array of the breadth first search
+     * @return long array; the transaction IDs of the cycle, starting with the one of iStartNode
+     */
+	private static long[] getShortestCycle(PrecedenceGraph precedenceGraph, int iStartNode, int[] componentOf, int[] parent) {
+		int iComponent = componentOf[iStartNode];
+		List<Integer> listVisited = new ArrayList<Integer>(); // the queue of the search, also used for the clean up
+		listVisited.add(iStartNode);
+		parent[iStartNode] = iStartNode;
+		int iLastNode = -1; // the node whose edge closes the cycle
+		search: for (int iHead = 0; iHead < listVisited.size(); iHead++) {
+			int iNode = listVisited.get(iHead);
+			for (int iEdge = precedenceGraph.getEdgeStart(iNode); iEdge < precedenceGraph.getEdgeEnd(iNode); iEdge++) {
+				int iToNode = precedenceGraph.getEdgeTarget(iEdge);
+				if (iToNode == iStartNode) {
+					iLastNode = iNode;
+					break search;
+				}
+				if (componentOf[iToNode] == iComponent && parent[iToNode] == -1) {
+					parent[iToNode] = iNode;
+					listVisited.add(iToNode);
+				}
+			}
+		}
+		// Walk back from the last node to the start node, then reverse to get the direction of the edges
+		List<Integer> listPath = new ArrayList<Integer>();
+		for (int iNode = iLastNode; iNode != iStartNode; iNode = parent[iNode])
+			listPath.add(iNode);
+		listPath.add(iStartNode);
+		long[] cycle = new long[listPath.size()];
+		for (int i = 0; i < cycle.length; i++)
+			cycle[i] = precedenceGraph.getTransactionId(listPath.get(cycle.length - 1 - i));
+		for (int iNode : listVisited)
+			parent[iNode] = -1;
+		return cycle;
+	}
+}
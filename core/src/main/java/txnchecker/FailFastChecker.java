@@ -0,0 +1,142 @@
+package txnchecker;
+
+import java.util.Arrays;
+/**
+ * Class name: FailFastChecker.java
+ *
+ * Detailed Description -  A class that only answers whether a schedule of a known transaction set (the random legal
+ * schedules of Task 2) is conflict serializable, as fast as possible: no precedence graph is built, no order and no
+ * cycle is computed, nothing is printed, and the check stops at the first edge that closes a cycle.
+ *
+ * Technique useds - The schedules are read as ScheduleColumns (the packed schedules of RandomScheduleGenerator), whose
+ * operations already carry the dense transaction and item indexes of the set, so checking an operation needs no
+ * lookup. Every item remembers its last writer and the set of transactions that have read it since (one 64 bit set),
+ * which gives the same cycles as the full precedence graph with less edges (see OnlineSerializabilityChecker). The graph is kept as its transitive closure, one
+ * 64 bit set of reachable transactions per transaction, so an edge U->T closes a cycle exactly when T already reaches U,
+ * a test of one bit (see TransitiveClosure). The arrays are allocated once and cleared for every schedule, so checking allocates nothing.
+ * A set with more than 64 transactions is checked with an OnlineSerializabilityChecker, stopped at the first cycle.
+ * Data structure used is primitive arrays and long bit sets in Java.
+ * Programming language used is Java.
+ *
+ * Input Requirement - The columns of a transaction set. The schedules must only contain operations of that set, with
+ * its transaction and item indexes (the schedules of a RandomScheduleGenerator of the same columns).
+ * One checker must only be used by one thread, use the copy constructor to get a checker for every worker.
+ *
+ */
+public class FailFastChecker {
+	private static final int MAX_TRANSACTIONS = 64; // one bit per transaction in the closure
+	private final int iTransactionCount;
+	private final String[] itemKeys; // item index -> key, only for the OnlineSerializabilityChecker of a large set
+	private final long[] reachable; // transaction index -> bit set of the transactions it reaches
+	private final int[] lastWriter; // item index -> transaction index of its last write, -1 if none
+	private final long[] readersSinceWrite; // item index -> bit set of the transactions that read it since the last write
+
+	/**
+     * Method name: FailFastChecker()
+     * Purpose: Constructor of FailFastChecker Class, sizes the state by the transactions and the items of the set
+     * @param transactionSet, the operations of the transaction set
+     * @return none
+     */
+	public FailFastChecker(ScheduleColumns transactionSet) {
+		iTransactionCount = transactionSet.getTransactionCount();
+		boolean bBitSets = iTransactionCount <= MAX_TRANSACTIONS;
+		if (bBitSets)
+			itemKeys = null;
+		else {
+			itemKeys = new String[transactionSet.getItemCount()];
+			for (int iItem = 0; iItem < itemKeys.length; iItem++)
+				itemKeys[iItem] = transactionSet.getItemKey(iItem);
+		}
+		reachable = bBitSets ? new long[iTransactionCount] : null;
+		lastWriter = bBitSets ? new int[transactionSet.getItemCount()] : null;
+		readersSinceWrite = bBitSets ? new long[transactionSet.getItemCount()] : null;
+	}
+
+	/**
+     * Method name: FailFastChecker()
+     * Purpose: Copy constructor of FailFastChecker Class, shares the item keys with the template and has its own state,
+     * so that it can be used by another thread
+     * @param template, the checker to copy
+     * @return none
+     */
+	public FailFastChecker(FailFastChecker template) {
+		iTransactionCount = template.iTransactionCount;
+		itemKeys = template.itemKeys;
+		boolean bBitSets = template.reachable != null;
+		reachable = bBitSets ? new long[iTransactionCount] : null;
+		lastWriter = bBitSets ? new int[template.lastWriter.length] : null;
+		readersSinceWrite = bBitSets ? new long[template.readersSinceWrite.length] : null;
+	}
+
+	/**
+     * Method name: isConflictSerializable
+     * Purpose: Checks a schedule for conflict serializability, stops at the first cycle
+     * Pre-condition - The schedule only contains operations of the transaction set, with its indexes
+     * Post-condition - None
+     * @param schedule the operations of the schedule, in order
+     * @return boolean; True if the precedence graph of the schedule is acyclic
+     */
+	public boolean isConflictSerializable(ScheduleColumns schedule) {
+		long lStart = CheckerMetrics.getInstance().startTimer();
+		boolean bSerializable = isAcyclic(schedule);
+		CheckerMetrics.getInstance().recordPhase(CheckerMetrics.Phase.FAIL_FAST_CHECK, lStart);
+		return bSerializable;
+	}
+
+	/**
+     * Method name: isAcyclic
+     * Purpose: The check of isConflictSerializable, stops at the first cycle
+     * @param schedule the operations of the schedule, in order
+     * @return boolean; True if the precedence graph of the schedule is acyclic
+     */
+	private boolean isAcyclic(ScheduleColumns schedule) {
+		if (reachable == null) { // more than 64 transactions
+			OnlineSerializabilityChecker onlineChecker = new OnlineSerializabilityChecker();
+			for (int i = 0; i < schedule.size(); i++)
+				if (!onlineChecker.accept(schedule.getOperation(i), schedule.getTransactionId(schedule.getTransaction(i)),
+						schedule.getItem(i) != -1 ? itemKeys[schedule.getItem(i)] : null))
+					return false;
+			return true;
+		}
+		Arrays.fill(reachable, 0);
+		Arrays.fill(lastWriter, -1);
+		Arrays.fill(readersSinceWrite, 0);
+		for (int i = 0; i < schedule.size(); i++) {
+			char cOperation = schedule.getOperation(i);
+			if (cOperation != 'r' && cOperation != 'w')
+				continue; // a commit does not work on an item
+			int t = schedule.getTransaction(i);
+			int iItem = schedule.getItem(i);
+			// Both a read and a write conflict with the last write of the item
+			if (lastWriter[iItem] != -1 && !addEdge(lastWriter[iItem], t))
+				return false;
+			if (cOperation == 'r') {
+				readersSinceWrite[iItem] |= 1L << t;
+				continue;
+			}
+			// A write also conflicts with the reads since the last write, then it becomes the last write
+			for (long lReaders = readersSinceWrite[iItem] & ~(1L << t); lReaders != 0; lReaders &= lReaders - 1)
+				if (!addEdge(Long.numberOfTrailingZeros(lReaders), t))
+					return false;
+			readersSinceWrite[iItem] = 0;
+			lastWriter[iItem] = t;
+		}
+		return true;
+	}
+
+	/**
+     * Method name: addEdge
+     * Purpose: Adds the edge u->t to the closure
+     * @param u the transaction index of the earlier operation
+     * @param t the transaction index of the later operation
+     * @return boolean; False if the edge closes a cycle
+     */
+	private boolean addEdge(int u, int t) {
+		if (u == t || (reachable[u] >>> t & 1L) != 0)
+			return true; // nothing new
+		if ((reachable[t] >>> u & 1L) != 0)
+			return false; // t already reaches u
+		TransitiveClosure.closeOver(reachable, 1, u, t, null);
+		return true;
+	}
+}
@@ -0,0 +1,123 @@
+package txnchecker;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+/**
+ * Class name: GetContentromFile.java
+ * @author ugola (Urvika Gola)
+ * 
+ * Detailed Description -  A class that fetches data from the .set and .sch files using buffered reader
+ * 
+ * Technique useds - Read line by line, seprated by new line delimeter, remove all spaces in between the operations, and trim
+ * and accidental space.  
+ * Data structure used is BufferedReader in Java.
+ * Programming language used is Java. 
+ * 
+ * Input Requirement for .set or .sch 
+ * Transactions will be provided as sequences of read, write, and commit operations, one
+ * operation per line of a text file. Similarly, our schedules will be given as text files containing the operations of
+ * one or more potentially interleaved transactions. Operations have the format <op><id><space(s)><item>,
+ * where <op> is one of r (for read), w (write), or c (commit); <id> is an integer that identifies the transaction
+ * executing <op>; <item> is a single upper–case letter representing the DB item being read or written
+ * The transaction ID may be any non negative 64 bit integer and the item any key, e.g. A, 42 or account:1234,
+ * see MappedScheduleParser for the exact rules.
+ * 
+ */
+public class GetContentromFile {
+	/**
+     * Method name: getListOfOperationsFromSchedule
+     * Purpose: This public method reads the operation per line and stores in a 
+     * user defined data type of Class Operation, which is a POJO (Plain Old Java Object).
+     * Pre-condition - The file should contain operations in the correct syntax.
+     * Post-condition - None
+     * @param br Buffered reader object
+     * @return a list of Operation class object
+     */
+	public static List<Operation> getListOfOperationsFromSchedule(BufferedReader br)   
+	{  
+		long lStart = CheckerMetrics.getInstance().startTimer();
+		List<Operation> listOperations = new ArrayList<Operation>();
+		try {  
+			Operation operation;
+			while ((operation = getNextOperation(br)) != null) // Read until the end of the file
+				listOperations.add(operation); // Add a non null operation to the list of operations
+		} catch (IOException e) {  
+			e.printStackTrace();  // Print exception if any
+		}
+		CheckerMetrics.getInstance().recordPhase(CheckerMetrics.Phase.PARSE, lStart);
+		return listOperations; // return a List of Operation Pojo
+	}
+	/**
+     * Method name: getNextOperation
+     * Purpose: This public method reads lines until it finds the next valid operation, so that a schedule can be
+     * processed one operation at a time without keeping the whole file in memory (see OnlineSerializabilityChecker).
+     * Blank lines and operations that are not in the right format are skipped.
+     * Pre-condition - The file should contain operations in the correct syntax.
+     * Post-condition - The reader is positioned after the line of the returned operation
+     * @param br Buffered reader object
+     * @return the next Operation, null at the end of the file
+     * @throws IOException if the reader fails
+     */
+	public static Operation getNextOperation(BufferedReader br) throws IOException
+	{
+		String line = ""; // Initialize a string
+		while ((line = br.readLine()) != null) { // Read until the end of the file
+			if(line.isBlank()) // Continue if a blank line is encountered
+				continue;
+			// Get rid of the spaces around the operation and store in it Operation pojo class object
+			Operation operation = getValidOperation(line.strip()); 
+			// Count the line for the CheckerMetrics, one operation or one rejected line
+			CheckerMetrics.getInstance().recordParse(operation != null ? 1 : 0, operation != null ? 0 : 1);
+			if(operation != null)
+				return operation;
+		}
+		return null;
+	}
+	/**
+     * Method name: getValidOperation
+     * Purpose: Check if an operation is valid, i.e Operations have the format <op><id><space(s)><item>
+     * Pre-condition - Operations in the file should have the correct syntax.
+     * Post-condition - None
+     * @param line Non empty, non null line read by the buferred reader
+     * @return a list of Operation class object
+     */
+	private static Operation getValidOperation(String line) {
+		/* The first char will be operation
+		   then the digits of the transaction ID (it takes care of double digit transaction IDs)
+		   and the rest of the line is the item, a commit has no item */
+		char cAction = line.charAt(0); // first char is the action 
+		//Operation operation;
+		if(cAction == 'r' || cAction == 'w' || cAction == 'c') {
+			int iDigitsStart = 1;
+			while (iDigitsStart < line.length() && Character.isWhitespace(line.charAt(iDigitsStart)))
+				iDigitsStart++;
+			int iDigitsEnd = iDigitsStart;
+			while (iDigitsEnd < line.length() && line.charAt(iDigitsEnd) >= '0' && line.charAt(iDigitsEnd) <= '9')
+				iDigitsEnd++;
+			String strItem = line.substring(iDigitsEnd).strip();
+			if (cAction != 'c' && strItem.isEmpty() && iDigitsEnd - iDigitsStart > 1) {
+				// Without an item the last digit is the item, r12 reads item 2 of transaction 1
+				strItem = line.substring(--iDigitsEnd);
+			}
+			long lTransactionNumber; // The transaction ID
+			try {
+				lTransactionNumber = Long.parseLong(line.substring(iDigitsStart, iDigitsEnd)); // Parse the string to long for Transaction ID
+		    } catch (NumberFormatException nfe) { // Acceptable format of transaction is a non negative long only
+		    	lTransactionNumber = -1;
+		    }
+			if(lTransactionNumber >= 0 && (cAction == 'c') == strItem.isEmpty()) // Check if a non negative transaction number
+				if(cAction == 'r' || cAction=='w')
+					return new Operation(cAction, lTransactionNumber, strItem);
+				else
+					return new Operation(cAction, lTransactionNumber, null);
+			else {
+				System.out.println("--------------------------------------------------------- \n");
+				System.out.println("Ignoring Operation - Transaction Number not in right format");
+				System.out.println("Required Format - <op><id><space(s)><item>");
+			}
+		} 
+		return null;
+	}  
+}
\ No newline at end of file
@@ -0,0 +1,357 @@
+package txnchecker;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+/**
+ * Class name: InterleavingCounter.java
+ *
+ * Detailed Description -  A class that counts exactly how many legal interleavings of a transaction set are conflict
+ * serializable, instead of estimating it from random schedules. Every legal interleaving (the operations of every
+ * transaction in their original order, commits included) is counted once.
+ *
+ * Technique useds - Depth first search over the lattice of progress vectors: a state is the number of operations every
+ * transaction has executed so far, and a step executes the next operation of one transaction. The step adds the edge
+ * U->T for every transaction U that has already executed an operation conflicting with the executed one of T (known
+ * from the progress of U and the first conflicting operation of U, computed once). The precedence graph of the prefix
+ * is kept as its transitive closure, one 64 bit set of reachable transactions per transaction, so an edge that closes
+ * a cycle is seen in O(1) (see TransitiveClosure) and the whole subtree below it is pruned: none of its interleavings is serializable.
+ * Which future edges appear only depends on the progress vector, and whether they close a cycle only on the closure,
+ * so the number of serializable completions of a state is memoized by (progress vector, closure). Many prefixes share
+ * a state, so far fewer states than interleavings are visited. The memo is bounded by a state budget.
+ * The search runs on an explicit stack, one frame per executed operation, so that long transactions do not overflow
+ * the Java call stack. A set with more operations than the budget is abandoned before the conflicts are even looked
+ * up: the search memoizes the states along a whole interleaving, one per operation.
+ * Data structure used is HashMap and long bit sets in Java.
+ * Programming language used is Java.
+ *
+ * Input Requirement - The operations of a transaction set (.set file) with at most 64 transactions and less than 65536
+ * operations per transaction.
+ *
+ */
+public class InterleavingCounter {
+	public static final int MAX_TRANSACTIONS = 64; // one bit per transaction in the closure
+	private final int iTransactionCount;
+	private final int[] transactionLength; // transaction index -> number of operations
+	private final int[] transactionStart; // transaction index -> global index of its first operation
+	private final Operation[] groupedOperations; // the operations, grouped by transaction
+	private final int[] transactionOf; // global operation index -> transaction index
+	private int[][] firstConflict; // global operation index -> transaction index -> position of its first operation
+	                               // that conflicts with the operation, Integer.MAX_VALUE if there is none
+	private Map<State, BigInteger> mapStateToCount;
+	private long lStateBudget;
+
+	/**
+     * Method name: InterleavingCounter()
+     * Purpose: Constructor of InterleavingCounter Class, groups the operations by transaction (ascending ID, the order
+     * of the set within a transaction). The conflicts are only looked up by count, once the budget allows it.
+     * @param listOperations, the operations of the transaction set
+     * @return none
+     * @throws IllegalArgumentException if the set has more than MAX_TRANSACTIONS transactions
+     */
+	public InterleavingCounter(List<Operation> listOperations) {
+		groupedOperations = listOperations.toArray(new Operation[0]);
+		Arrays.sort(groupedOperations); // compareTo compares the transaction ID, the sort is stable
+		int iCount = 0;
+		for (int i = 0; i < groupedOperations.length; i++)
+			if (i == 0 || groupedOperations[i].getlTransactionId() != groupedOperations[i - 1].getlTransactionId())
+				iCount++;
+		if (iCount > MAX_TRANSACTIONS)
+			throw new IllegalArgumentException("Exact counting supports at most " + MAX_TRANSACTIONS + " transactions, the set has " + iCount);
+		iTransactionCount = iCount;
+		transactionStart = new int[iCount + 1];
+		transactionLength = new int[iCount];
+		transactionOf = new int[groupedOperations.length];
+		int iTransaction = -1;
+		for (int i = 0; i < groupedOperations.length; i++) {
+			if (i == 0 || groupedOperations[i].getlTransactionId() != groupedOperations[i - 1].getlTransactionId())
+				transactionStart[++iTransaction] = i;
+			transactionOf[i] = iTransaction;
+		}
+		transactionStart[iCount] = groupedOperations.length;
+		for (int t = 0; t < iCount; t++) {
+			transactionLength[t] = transactionStart[t + 1] - transactionStart[t];
+			if (transactionLength[t] >= 1 << 16)
+				throw new IllegalArgumentException("Exact counting supports less than 65536 operations per transaction");
+		}
+	}
+
+	/**
+     * Method name: count
+     * Purpose: Counts the conflict serializable interleavings
+     * Pre-condition - None
+     * Post-condition - None
+     * @param lStateBudget the most states that are memoized, the count is abandoned when more are needed
+     * @return Result; the exact counts, null if the state budget is exceeded
+     */
+	public Result count(long lStateBudget) {
+		if (groupedOperations.length >= lStateBudget)
+			return null; // one interleaving alone memoizes a state per operation and the final one
+		if (firstConflict == null)
+			findFirstConflicts();
+		this.lStateBudget = lStateBudget;
+		mapStateToCount = new HashMap<State, BigInteger>();
+		try {
+			BigInteger serializableCount = countFrom(new int[iTransactionCount], new long[iTransactionCount]);
+			return new Result(serializableCount, getInterleavingCount(), mapStateToCount.size());
+		} catch (BudgetExceededException e) {
+			return null;
+		} finally {
+			mapStateToCount = null; // the memo can be large, do not keep it after the count
+		}
+	}
+
+	/**
+     * Method name: findFirstConflicts
+     * Purpose: Finds the first conflicting operation of every transaction for every operation, from the first read and
+     * the first write of every item in every transaction
+     * @param none
+     * @return none
+     */
+	private void findFirstConflicts() {
+		List<Map<String, int[]>> listFirstAccess = new ArrayList<Map<String, int[]>>(); // transaction index -> item ->
+		for (int t = 0; t < iTransactionCount; t++) {                                   // position of its first read and write
+			Map<String, int[]> mapFirstAccess = new HashMap<String, int[]>();
+			for (int j = transactionStart[t + 1] - 1; j >= transactionStart[t]; j--) { // backwards, the first one is kept
+				char cOperation = groupedOperations[j].getcOperation();
+				if (cOperation != 'r' && cOperation != 'w')
+					continue;
+				int[] firstAccess = mapFirstAccess.computeIfAbsent(groupedOperations[j].getStrItem(),
+						strItem -> new int[] { Integer.MAX_VALUE, Integer.MAX_VALUE });
+				firstAccess[cOperation == 'r' ? 0 : 1] = j - transactionStart[t];
+			}
+			listFirstAccess.add(mapFirstAccess);
+		}
+		firstConflict = new int[groupedOperations.length][iTransactionCount];
+		for (int i = 0; i < groupedOperations.length; i++) {
+			Arrays.fill(firstConflict[i], Integer.MAX_VALUE);
+			char cOperation = groupedOperations[i].getcOperation();
+			if (cOperation != 'r' && cOperation != 'w')
+				continue; // a commit conflicts with nothing
+			for (int u = 0; u < iTransactionCount; u++) {
+				int[] firstAccess = u != transactionOf[i] ? listFirstAccess.get(u).get(groupedOperations[i].getStrItem()) : null;
+				if (firstAccess != null) // every access conflicts with a write, a write also with a read
+					firstConflict[i][u] = cOperation == 'w' ? Math.min(firstAccess[0], firstAccess[1]) : firstAccess[1];
+			}
+		}
+	}
+
+	/**
+     * Method name: countFrom
+     * Purpose: Counts the serializable completions of the initial state, i.e. the legal interleavings that do not close
+     * a cycle. Depth first, a frame per executed operation on an explicit stack: the closure of its state, the next
+     * transaction to execute and the completions counted so far.
+     * @param progress transaction index -> number of its operations executed, 0 for all, changed during the search
+     * @param reachable transaction index -> bit set of the transactions reachable from it, empty, not changed
+     * @return BigInteger; the number of serializable completions
+     */
+	private BigInteger countFrom(int[] progress, long[] reachable) {
+		int iOperationCount = groupedOperations.length; // the depth of a finished interleaving
+		long[][] stackReachable = new long[iOperationCount + 1][];
+		State[] stackState = new State[iOperationCount + 1];
+		int[] stackNext = new int[iOperationCount + 1]; // the next transaction to execute from the frame
+		BigInteger[] stackCount = new BigInteger[iOperationCount + 1];
+		int iDepth = 0;
+		stackReachable[0] = reachable;
+		stackState[0] = new State(progress, reachable);
+		stackCount[0] = BigInteger.ZERO;
+		while (true) {
+			long[] nextReachable = null;
+			int t = stackNext[iDepth];
+			for (; t < iTransactionCount; t++) {
+				if (progress[t] == transactionLength[t])
+					continue;
+				nextReachable = addEdges(t, progress, stackReachable[iDepth]);
+				if (nextReachable == null)
+					continue; // the operation closes a cycle, no completion of this prefix is serializable
+				progress[t]++;
+				State state = new State(progress, nextReachable);
+				BigInteger memoizedCount = mapStateToCount.get(state);
+				if (memoizedCount == null) {
+					stackState[iDepth + 1] = state;
+					break;
+				}
+				stackCount[iDepth] = stackCount[iDepth].add(memoizedCount);
+				progress[t]--;
+				nextReachable = null;
+			}
+			stackNext[iDepth] = t + 1;
+			if (nextReachable != null) { // execute the operation of t, a new frame
+				iDepth++;
+				stackReachable[iDepth] = nextReachable;
+				stackNext[iDepth] = 0;
+				stackCount[iDepth] = BigInteger.ZERO;
+				continue;
+			}
+			// Every transaction is tried, the count of the frame is known
+			BigInteger count = iDepth == iOperationCount ? BigInteger.ONE : stackCount[iDepth]; // every operation is executed
+			if (mapStateToCount.size() >= lStateBudget)
+				throw new BudgetExceededException();
+			mapStateToCount.put(stackState[iDepth], count);
+			if (iDepth == 0)
+				return count;
+			stackReachable[iDepth] = null;
+			stackState[iDepth--] = null;
+			progress[stackNext[iDepth] - 1]--; // back to the state before the operation of the frame
+			stackCount[iDepth] = stackCount[iDepth].add(count);
+		}
+	}
+
+	/**
+     * Method name: addEdges
+     * Purpose: Adds the edges of executing the next operation of transaction t to the closure
+     * @param t the transaction index
+     * @param progress transaction index -> number of its operations executed
+     * @param reachable the closure before the operation, not changed
+     * @return long array; the closure after the operation, null if it closes a cycle
+     */
+	private long[] addEdges(int t, int[] progress, long[] reachable) {
+		int[] operationConflicts = firstConflict[transactionStart[t] + progress[t]];
+		long[] nextReachable = null;
+		for (int u = 0; u < iTransactionCount; u++) {
+			if (progress[u] <= operationConflicts[u])
+				continue; // u has not executed an operation that conflicts with this one
+			long[] current = nextReachable != null ? nextReachable : reachable;
+			if ((current[u] >>> t & 1L) != 0)
+				continue; // the edge u->t adds nothing to the closure
+			if ((current[t] >>> u & 1L) != 0)
+				return null; // t already reaches u, the edge u->t closes a cycle
+			if (nextReachable == null)
+				nextReachable = reachable.clone();
+			TransitiveClosure.closeOver(nextReachable, 1, u, t, null);
+		}
+		return nextReachable != null ? nextReachable : reachable;
+	}
+
+	/**
+     * Method name: getInterleavingCount
+     * Purpose: Counts all the legal interleavings, the multinomial coefficient n! / (n1! n2! ... nk!)
+     * @param none
+     * @return BigInteger; the number of legal interleavings
+     */
+	private BigInteger getInterleavingCount() {
+		BigInteger interleavingCount = BigInteger.ONE;
+		int iExecuted = 0;
+		for (int t = 0; t < iTransactionCount; t++) // choose the positions of every transaction among the ones so far
+			for (int k = 1; k <= transactionLength[t]; k++)
+				interleavingCount = interleavingCount.multiply(BigInteger.valueOf(++iExecuted)).divide(BigInteger.valueOf(k));
+		return interleavingCount;
+	}
+
+	/**
+     * Class name: State
+     * Purpose: The memo key: the progress vector, 4 values of 16 bits per long, followed by the closure
+     */
+	private static class State {
+		private final long[] words;
+		private final int iHash;
+
+		/**
+	     * Method name: State()
+	     * Purpose: Constructor of State Class, copies the progress vector and the closure
+	     * @param progress, transaction index -> number of its operations executed
+	     * @param reachable, the closure
+	     * @return none
+	     */
+		private State(int[] progress, long[] reachable) {
+			int iProgressWords = (progress.length + 3) / 4;
+			words = new long[iProgressWords + reachable.length];
+			for (int t = 0; t < progress.length; t++)
+				words[t / 4] |= (long) progress[t] << (16 * (t % 4));
+			System.arraycopy(reachable, 0, words, iProgressWords, reachable.length);
+			iHash = Arrays.hashCode(words);
+		}
+
+		@Override
+		public int hashCode() {
+			return iHash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof State && ((State) o).iHash == iHash && Arrays.equals(((State) o).words, words);
+		}
+	}
+
+	/**
+     * Class name: BudgetExceededException
+     * Purpose: Abandons the count when the memo would exceed the state budget
+     */
+	private static class BudgetExceededException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		private BudgetExceededException() {
+			super(null, null, false, false); // no stack trace, it is only used to unwind the search
+		}
+	}
+
+	/**
+     * Class name: Result
+     * Purpose: The exact number of conflict serializable interleavings, of all the legal interleavings, and the number
+     * of memoized states it took
+     */
+	public static class Result {
+		private final BigInteger serializableCount;
+		private final BigInteger interleavingCount;
+		private final long lStateCount;
+
+		/**
+	     * Method name: Result()
+	     * Purpose: Constructor of Result Class
+	     * @param serializableCount, the number of conflict serializable interleavings
+	     * @param interleavingCount, the number of legal interleavings
+	     * @param lStateCount, the number of memoized states
+	     * @return none
+	     */
+		public Result(BigInteger serializableCount, BigInteger interleavingCount, long lStateCount) {
+			this.serializableCount = serializableCount;
+			this.interleavingCount = interleavingCount;
+			this.lStateCount = lStateCount;
+		}
+
+		/**
+	     * Method name: getSerializableCount
+	     * Purpose: Getter method of the number of conflict serializable interleavings
+	     * @param none
+	     * @return BigInteger
+	     */
+		public BigInteger getSerializableCount() {
+			return serializableCount;
+		}
+
+		/**
+	     * Method name: getInterleavingCount
+	     * Purpose: Getter method of the number of legal interleavings
+	     * @param none
+	     * @return BigInteger
+	     */
+		public BigInteger getInterleavingCount() {
+			return interleavingCount;
+		}
+
+		/**
+	     * Method name: getStateCount
+	     * Purpose: Getter method of the number of memoized states
+	     * @param none
+	     * @return long
+	     */
+		public long getStateCount() {
+			return lStateCount;
+		}
+
+		/**
+	     * Method name: getFraction
+	     * Purpose: Gets the fraction of the legal interleavings that are conflict serializable
+	     * @param none
+	     * @return double; between 0 and 1
+	     */
+		public double getFraction() {
+			return new BigDecimal(serializableCount).divide(new BigDecimal(interleavingCount), MathContext.DECIMAL64).doubleValue();
+		}
+	}
+}
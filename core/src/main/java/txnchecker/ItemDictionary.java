@@ -0,0 +1,237 @@
+package txnchecker;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+/**
+ * Class name: ItemDictionary.java
+ *
+ * Detailed Description -  A class that gives every distinct item key of a schedule a dense item index, 0 to (number of
+ * items - 1) in the order the keys are first seen, so that the checker can keep its state per item in primitive arrays
+ * indexed by item instead of in maps keyed by item. A key is any text without a new line, e.g. A, 42 or account:1234.
+ *
+ * Technique useds - The keys are stored as their UTF-8 bytes one after another in one growing byte array, with the
+ * offset of every key, so a dictionary of millions of keys needs no object per key. The index of a key is found with
+ * an open addressing hash table of item indexes (linear probing, at most half full). A key can be interned directly
+ * from the bytes of a mapped file (see MappedScheduleParser), without creating a String.
+ * Data structure used is primitive arrays in Java.
+ * Programming language used is Java.
+ *
+ * Input Requirement - Non empty keys. Finding keys is safe from many threads while no key is interned.
+ *
+ */
+public class ItemDictionary {
+	private byte[] keyBytes = new byte[256]; // the UTF-8 bytes of all the keys, one after another
+	private int[] keyOffsets = new int[17]; // item index -> first byte of its key, keyOffsets[size] is the end
+	private int[] keyHashes = new int[16]; // item index -> hash of its key
+	private int[] table = new int[32]; // hash table of item index + 1, 0 for an empty slot
+	private int iSize = 0;
+
+	/**
+     * Method name: intern
+     * Purpose: Gets the item index of a key in a buffer, the key is added if it is new
+     * Pre-condition - iStart < iEnd
+     * Post-condition - The key is in the dictionary
+     * @param buffer the bytes, not changed
+     * @param iStart position of the first byte of the key
+     * @param iEnd position after the last byte of the key
+     * @return int; the item index
+     */
+	public int intern(ByteBuffer buffer, int iStart, int iEnd) {
+		int iHash = 0;
+		for (int i = iStart; i < iEnd; i++)
+			iHash = 31 * iHash + (buffer.get(i) & 0xFF);
+		int iMask = table.length - 1;
+		for (int iSlot = mix(iHash) & iMask; table[iSlot] != 0; iSlot = (iSlot + 1) & iMask) {
+			int iItem = table[iSlot] - 1;
+			if (keyHashes[iItem] == iHash && isKey(iItem, buffer, iStart, iEnd))
+				return iItem;
+		}
+		int iLength = iEnd - iStart;
+		ensureKeyBytes(iLength);
+		for (int i = 0; i < iLength; i++)
+			keyBytes[keyOffsets[iSize] + i] = buffer.get(iStart + i);
+		return add(iHash, iLength);
+	}
+
+	/**
+     * Method name: intern
+     * Purpose: Gets the item index of a key, the key is added if it is new
+     * Pre-condition - The key is not empty
+     * Post-condition - The key is in the dictionary
+     * @param strKey the key
+     * @return int; the item index
+     */
+	public int intern(String strKey) {
+		int iItem = find(strKey);
+		if (iItem != -1)
+			return iItem;
+		byte[] bytes = strKey.getBytes(StandardCharsets.UTF_8);
+		return intern(ByteBuffer.wrap(bytes), 0, bytes.length);
+	}
+
+	/**
+     * Method name: find
+     * Purpose: Gets the item index of a key without adding it. A key of ASCII characters is compared with the stored
+     * bytes directly, nothing is allocated.
+     * @param strKey the key
+     * @return int; the item index, -1 if the key is not in the dictionary
+     */
+	public int find(String strKey) {
+		int iHash = 0;
+		for (int i = 0; i < strKey.length(); i++) {
+			char c = strKey.charAt(i);
+			if (c >= 0x80) { // not ASCII, compare the UTF-8 bytes
+				byte[] bytes = strKey.getBytes(StandardCharsets.UTF_8);
+				return find(ByteBuffer.wrap(bytes), 0, bytes.length);
+			}
+			iHash = 31 * iHash + c; // an ASCII character is its own UTF-8 byte
+		}
+		int iMask = table.length - 1;
+		for (int iSlot = mix(iHash) & iMask; table[iSlot] != 0; iSlot = (iSlot + 1) & iMask) {
+			int iItem = table[iSlot] - 1;
+			if (keyHashes[iItem] != iHash || keyOffsets[iItem + 1] - keyOffsets[iItem] != strKey.length())
+				continue;
+			int i = 0;
+			while (i < strKey.length() && keyBytes[keyOffsets[iItem] + i] == strKey.charAt(i))
+				i++;
+			if (i == strKey.length())
+				return iItem;
+		}
+		return -1;
+	}
+
+	/**
+     * Method name: find
+     * Purpose: Gets the item index of a key in a buffer without adding it
+     * @param buffer the bytes, not changed
+     * @param iStart position of the first byte of the key
+     * @param iEnd position after the last byte of the key
+     * @return int; the item index, -1 if the key is not in the dictionary
+     */
+	private int find(ByteBuffer buffer, int iStart, int iEnd) {
+		int iHash = 0;
+		for (int i = iStart; i < iEnd; i++)
+			iHash = 31 * iHash + (buffer.get(i) & 0xFF);
+		int iMask = table.length - 1;
+		for (int iSlot = mix(iHash) & iMask; table[iSlot] != 0; iSlot = (iSlot + 1) & iMask) {
+			int iItem = table[iSlot] - 1;
+			if (keyHashes[iItem] == iHash && isKey(iItem, buffer, iStart, iEnd))
+				return iItem;
+		}
+		return -1;
+	}
+
+	/**
+     * Method name: getKey
+     * Purpose: Gets the key of an item index, a new String every time
+     * @param iItem the item index
+     * @return String; the key
+     */
+	public String getKey(int iItem) {
+		return new String(keyBytes, keyOffsets[iItem], keyOffsets[iItem + 1] - keyOffsets[iItem], StandardCharsets.UTF_8);
+	}
+
+	/**
+     * Method name: size
+     * Purpose: Getter method of the number of distinct keys
+     * @param none
+     * @return int; number of items
+     */
+	public int size() {
+		return iSize;
+	}
+
+	/**
+     * Method name: isKey
+     * Purpose: Compares the stored key of an item with bytes of a buffer
+     * @param iItem the item index
+     * @param buffer the bytes
+     * @param iStart position of the first byte
+     * @param iEnd position after the last byte
+     * @return boolean; True if they are the same bytes
+     */
+	private boolean isKey(int iItem, ByteBuffer buffer, int iStart, int iEnd) {
+		if (keyOffsets[iItem + 1] - keyOffsets[iItem] != iEnd - iStart)
+			return false;
+		for (int i = iStart, j = keyOffsets[iItem]; i < iEnd; i++, j++)
+			if (buffer.get(i) != keyBytes[j])
+				return false;
+		return true;
+	}
+
+	/**
+     * Method name: ensureKeyBytes
+     * Purpose: Grows the byte array so that a key of iLength bytes fits after the last key
+     * @param iLength the length of the next key
+     * @return none
+     * @throws IllegalStateException if the keys need more than 2 GB
+     */
+	private void ensureKeyBytes(int iLength) {
+		long lNeeded = (long) keyOffsets[iSize] + iLength;
+		if (lNeeded <= keyBytes.length)
+			return;
+		if (lNeeded > Integer.MAX_VALUE - 8)
+			throw new IllegalStateException("The item keys need more than 2 GB");
+		keyBytes = Arrays.copyOf(keyBytes, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(lNeeded, 2L * keyBytes.length)));
+	}
+
+	/**
+     * Method name: add
+     * Purpose: Adds the key whose bytes were just stored after the last key
+     * @param iHash the hash of the key
+     * @param iLength the length of the key
+     * @return int; the new item index
+     */
+	private int add(int iHash, int iLength) {
+		if (iSize + 1 == keyHashes.length) {
+			keyHashes = Arrays.copyOf(keyHashes, keyHashes.length * 2);
+			keyOffsets = Arrays.copyOf(keyOffsets, keyOffsets.length * 2);
+		}
+		int iItem = iSize++;
+		keyHashes[iItem] = iHash;
+		keyOffsets[iItem + 1] = keyOffsets[iItem] + iLength;
+		if (2 * iSize > table.length)
+			rehash(table.length * 2);
+		else
+			insert(iItem);
+		return iItem;
+	}
+
+	/**
+     * Method name: insert
+     * Purpose: Puts an item index in the first free slot of its hash
+     * @param iItem the item index
+     * @return none
+     */
+	private void insert(int iItem) {
+		int iMask = table.length - 1;
+		int iSlot = mix(keyHashes[iItem]) & iMask;
+		while (table[iSlot] != 0)
+			iSlot = (iSlot + 1) & iMask;
+		table[iSlot] = iItem + 1;
+	}
+
+	/**
+     * Method name: rehash
+     * Purpose: Builds the hash table again with a new capacity
+     * @param iCapacity the number of slots, a power of 2
+     * @return none
+     */
+	private void rehash(int iCapacity) {
+		table = new int[iCapacity];
+		for (int iItem = 0; iItem < iSize; iItem++)
+			insert(iItem);
+	}
+
+	/**
+     * Method name: mix
+     * Purpose: Spreads the bits of a hash, so that the low bits used for the slot depend on every byte of the key
+     * @param iHash the hash
+     * @return int; the mixed hash
+     */
+	private static int mix(int iHash) {
+		int iMixed = iHash * 0x9E3779B9;
+		return iMixed ^ (iMixed >>> 16);
+	}
+}
@@ -0,0 +1,183 @@
+package txnchecker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+/**
+ * Class name: MappedScheduleParser.java
+ *
+ * Detailed Description -  A class that parses .set and .sch files of any size directly from a memory mapped file, or
+ * a schedule that is already in memory (e.g. received over the network) directly from its bytes
+ *
+ * Technique useds - The file is mapped with NIO in windows of at most 1 GB (a mapping cannot be larger than 2 GB).
+ * Every line is parsed byte by byte, the operation, the digits of the transaction ID and the item are read directly
+ * from the mapped bytes into the primitive arrays of a ParsedSchedule. The transaction ID and the item key are
+ * interned into dense indexes from the mapped bytes (see TransactionDictionary and ItemDictionary). No String, no
+ * Operation and no line copy is created, so the file is parsed at the speed it can be read. A line that crosses the end of a window is parsed again
+ * from the start of the next window. Lines that cannot be parsed are collected with their line number and byte offset.
+ * Data structure used is MappedByteBuffer in Java.
+ * Programming language used is Java.
+ *
+ * Input Requirement for .set or .sch - Same as GetContentromFile: operations have the format <op><id><space(s)><item>,
+ * where <op> is one of r, w, or c; <id> is a non negative 64 bit integer; <item> is the rest of the line (e.g. A, 42 or
+ * account:1234), a commit has no item. Spaces, tabs and carriage returns around the parts are ignored. An item that is
+ * not a digit may follow the ID without a space (r1A); without an item the last digit is the item (r12 reads item 2).
+ *
+ */
+public class MappedScheduleParser {
+	private static final long WINDOW_SIZE = 1L << 30; // bytes mapped at a time
+
+	/**
+     * Method name: parse
+     * Purpose: Parses a whole .set or .sch file
+     * Pre-condition - The file should exist and contain one operation per line
+     * Post-condition - None
+     * @param filePath the file to parse
+     * @return ParsedSchedule; the operations of the file in file order, and the lines that could not be parsed
+     * @throws IOException if the file cannot be read, or has a line longer than a window
+     */
+	public static ParsedSchedule parse(Path filePath) throws IOException {
+		long lStart = CheckerMetrics.getInstance().startTimer();
+		ParsedSchedule parsedSchedule = new ParsedSchedule();
+		try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+			long lFileSize = fileChannel.size();
+			long lWindowStart = 0;
+			long lLineNumber = 1;
+			while (lWindowStart < lFileSize) {
+				long lWindowSize = Math.min(WINDOW_SIZE, lFileSize - lWindowStart);
+				boolean bLastWindow = lWindowStart + lWindowSize == lFileSize;
+				MappedByteBuffer window = fileChannel.map(FileChannel.MapMode.READ_ONLY, lWindowStart, lWindowSize);
+				int iLineStart = 0;
+				for (int i = 0; i < lWindowSize; i++) {
+					if (window.get(i) != '\n')
+						continue;
+					parseLine(window, iLineStart, i, lWindowStart, lLineNumber++, parsedSchedule);
+					iLineStart = i + 1;
+				}
+				if (bLastWindow) { // the last line may have no new line
+					if (iLineStart < lWindowSize)
+						parseLine(window, iLineStart, (int) lWindowSize, lWindowStart, lLineNumber, parsedSchedule);
+					break;
+				}
+				if (iLineStart == 0)
+					throw new IOException("Line " + lLineNumber + " is longer than " + WINDOW_SIZE + " bytes");
+				lWindowStart += iLineStart; // the next window starts with the line that was cut
+			}
+		}
+		recordParse(parsedSchedule, lStart);
+		return parsedSchedule;
+	}
+
+	/**
+     * Method name: parse
+     * Purpose: Parses the text of a .set or .sch file that is already in memory, from the position to the limit of
+     * the buffer. The buffer is not changed.
+     * Pre-condition - The bytes should contain one operation per line
+     * Post-condition - None
+     * @param scheduleBytes the text of the file
+     * @return ParsedSchedule; the operations in text order, and the lines that could not be parsed, the byte offsets
+     * are counted from the position of the buffer
+     */
+	public static ParsedSchedule parse(ByteBuffer scheduleBytes) {
+		long lStart = CheckerMetrics.getInstance().startTimer();
+		ParsedSchedule parsedSchedule = new ParsedSchedule();
+		ByteBuffer window = scheduleBytes.slice();
+		int iLineStart = 0;
+		long lLineNumber = 1;
+		for (int i = 0; i < window.limit(); i++) {
+			if (window.get(i) != '\n')
+				continue;
+			parseLine(window, iLineStart, i, 0, lLineNumber++, parsedSchedule);
+			iLineStart = i + 1;
+		}
+		if (iLineStart < window.limit()) // the last line may have no new line
+			parseLine(window, iLineStart, window.limit(), 0, lLineNumber, parsedSchedule);
+		recordParse(parsedSchedule, lStart);
+		return parsedSchedule;
+	}
+
+	/**
+     * Method name: recordParse
+     * Purpose: Adds a parsed schedule to the CheckerMetrics: its time, its operations and its rejected lines
+     * @param parsedSchedule the result
+     * @param lStart startTimer at the start of the parse
+     * @return none
+     */
+	private static void recordParse(ParsedSchedule parsedSchedule, long lStart) {
+		CheckerMetrics checkerMetrics = CheckerMetrics.getInstance();
+		checkerMetrics.recordPhase(CheckerMetrics.Phase.PARSE, lStart);
+		checkerMetrics.recordParse(parsedSchedule.size(), parsedSchedule.getErrors().size());
+	}
+
+	/**
+     * Method name: parseLine
+     * Purpose: Parses one line and adds the operation, or the error, to the parsed schedule. Blank lines are skipped.
+     * @param window the mapped (or in memory) bytes
+     * @param iStart position of the first byte of the line in the window
+     * @param iEnd position after the last byte of the line in the window (the new line or the end of the file)
+     * @param lWindowStart byte offset of the window in the file
+     * @param lLineNumber line number of the line
+     * @param parsedSchedule the result
+     * @return none
+     */
+	private static void parseLine(ByteBuffer window, int iStart, int iEnd, long lWindowStart, long lLineNumber,
+			ParsedSchedule parsedSchedule) {
+		// Find the first and the last byte that is not a space
+		int iFirst = iStart, iLast = iEnd - 1;
+		while (iFirst < iEnd && isSpace(window.get(iFirst)))
+			iFirst++;
+		while (iLast >= iFirst && isSpace(window.get(iLast)))
+			iLast--;
+		if (iFirst > iLast)
+			return; // blank line
+		byte bOperation = window.get(iFirst);
+		if (bOperation != 'r' && bOperation != 'w' && bOperation != 'c') {
+			parsedSchedule.addError(new ParsedSchedule.ParseError(lLineNumber, lWindowStart + iStart,
+					"Operation is not r, w or c"));
+			return;
+		}
+		// The transaction ID is the digits after the operation
+		int i = iFirst + 1;
+		while (i <= iLast && isSpace(window.get(i)))
+			i++;
+		long lTransactionId = 0;
+		int iDigits = 0;
+		for (; i <= iLast && window.get(i) >= '0' && window.get(i) <= '9'; i++, iDigits++) {
+			int iDigit = window.get(i) - '0';
+			if (lTransactionId > (Long.MAX_VALUE - iDigit) / 10) {
+				iDigits = 0; // too large
+				break;
+			}
+			lTransactionId = lTransactionId * 10 + iDigit;
+		}
+		// The item is the rest of the line, a commit has none
+		while (i <= iLast && isSpace(window.get(i)))
+			i++;
+		int iItemStart = i;
+		if (bOperation != 'c' && iItemStart > iLast && iDigits > 1) { // r12 is item 2 of transaction 1
+			lTransactionId /= 10;
+			iItemStart = iLast;
+		}
+		if (iDigits == 0 || (bOperation == 'c') != (iItemStart > iLast)) {
+			parsedSchedule.addError(new ParsedSchedule.ParseError(lLineNumber, lWindowStart + iStart,
+					"Transaction Number not in right format, required format - <op><id><space(s)><item>"));
+			return;
+		}
+		int iTransaction = parsedSchedule.getTransactionDictionary().intern(lTransactionId);
+		int iItem = bOperation == 'c' ? -1 : parsedSchedule.getItemDictionary().intern(window, iItemStart, iLast + 1);
+		parsedSchedule.add(bOperation, iTransaction, iItem);
+	}
+
+	/**
+     * Method name: isSpace
+     * Purpose: Checks if a byte is ignored in a line
+     * @param b the byte
+     * @return boolean; True for a space, a tab or a carriage return
+     */
+	private static boolean isSpace(byte b) {
+		return b == ' ' || b == '\t' || b == '\r';
+	}
+}
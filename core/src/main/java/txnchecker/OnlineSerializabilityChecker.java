@@ -0,0 +1,583 @@
+package txnchecker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+/**
+ * Class name: OnlineSerializabilityChecker.java
+ *
+ * Detailed Description -  A class that checks the conflict serializability of a schedule while its operations arrive,
+ * one operation at a time, instead of reading the whole schedule first. The verdict is known after every operation,
+ * so a cycle is reported by the operation that forms it.
+ *
+ * Technique useds -
+ * 1. Conflict edges: every item remembers its last writer and the transactions that have read it since that write.
+ *    A read of T adds the edge lastWriter->T, a write of T adds the edges lastWriter->T and reader->T for every
+ *    reader since the last write. The other conflicting pairs are implied by a path through these edges,
+ *    so the graph has the same cycles as the full precedence graph with less edges and a small state per item.
+ * 2. Acyclicity: the Pearce-Kelly dynamic topological sort. Every transaction has a position in a topological order
+ *    of the graph. An edge From a transaction with a smaller position To one with a larger position keeps the order
+ *    valid and costs nothing. Otherwise only the transactions whose positions lie between the two ends of the edge
+ *    are searched, forward from the "To" end and backward from the "From" end, and these are moved in the order.
+ *    If the forward search reaches the "From" end, the edge closes a cycle.
+ * 3. Pruning (optional, see the constructor): after its commit a transaction has no more operations, so it can only
+ *    get outgoing edges. Once it also has no incoming edge left, it can never be part of a cycle, and it is retired:
+ *    its node, its edges and its entries in the item states are removed, which may in turn retire the committed
+ *    transactions it had edges to. Memory then stays proportional to the transactions that are still in flight
+ *    (or committed behind one that is) instead of to the length of the history. Retired nodes are reused.
+ * Data structure used is primitive int arrays in Java. The transactions and the items are found with a HashMap,
+ * because pruning removes them again; a schedule that is checked as a whole is faster with SerializabilityChecker.
+ * Programming language used is Java.
+ *
+ * Input Requirement - The operations of one schedule, in the order they are executed.
+ *
+ */
+public class OnlineSerializabilityChecker {
+	private final Map<Long, Integer> mapTransactionToNode = new HashMap<Long, Integer>(); // transaction ID -> node
+	private final Map<String, ItemState> mapItemToState = new HashMap<String, ItemState>();
+	private long[] transactionIds = new long[16]; // node -> transaction ID
+	private int[] topologicalPosition = new int[16]; // node -> position in the topological order
+	private int[][] outEdges = new int[16][]; // node -> nodes it has a directed edge to
+	private int[] outCount = new int[16];
+	private int[][] inEdges = new int[16][]; // node -> nodes that have a directed edge to it
+	private int[] inCount = new int[16];
+	private int iNodeCount = 0; // number of node ids used so far, including the free ones
+	private final boolean bPruneCommitted;
+	private boolean[] committed = new boolean[16]; // node -> True once the transaction has committed
+	private ItemState[][] nodeItems = new ItemState[16][]; // node -> items it is remembered in, only kept when pruning
+	private int[] nodeItemCount = new int[16];
+	private int[] freeNodes = new int[16]; // node ids of retired transactions, ready to be reused
+	private int iFreeCount = 0;
+	private long lRetiredCount = 0;
+	private long lEdgeCount = 0;
+	private long lOperationCount = 0;
+	private long[] cycle = null; // the transaction IDs of the first cycle, null while the schedule is serializable
+	private Consumer<long[]> cycleListener = null;
+	// Scratch arrays of the searches, a node is visited in the current search if visitMark[node] == iVisitEpoch
+	private int[] visitMark = new int[16];
+	private int iVisitEpoch = 0;
+	private int[] searchParent = new int[16];
+	private int[] searchStack = new int[16];
+	private int[] forwardNodes = new int[16];
+	private int[] backwardNodes = new int[16];
+
+	/**
+     * Method name: OnlineSerializabilityChecker()
+     * Purpose: Constructor of OnlineSerializabilityChecker Class, keeps every transaction in the graph
+     * @param none
+     * @return none
+     */
+	public OnlineSerializabilityChecker() {
+		this(false);
+	}
+
+	/**
+     * Method name: OnlineSerializabilityChecker()
+     * Purpose: Constructor of OnlineSerializabilityChecker Class
+     * @param bPruneCommitted, True to retire committed transactions that have no incoming edge left, so that a long
+     * running stream uses bounded memory. The serialization order then only contains the transactions not retired yet.
+     * @return none
+     */
+	public OnlineSerializabilityChecker(boolean bPruneCommitted) {
+		this.bPruneCommitted = bPruneCommitted;
+	}
+
+	/**
+     * Method name: setCycleListener
+     * Purpose: Sets a listener that is called once, with the transaction IDs of the cycle, by the operation that
+     * forms the first cycle. This can raise an alert the moment the schedule stops being conflict serializable.
+     * @param cycleListener, receives the cycle as in getCycle, null for no listener
+     * @return none
+     */
+	public void setCycleListener(Consumer<long[]> cycleListener) {
+		this.cycleListener = cycleListener;
+	}
+
+	/**
+     * Method name: accept
+     * Purpose: Adds the next operation of the schedule and the conflict edges it creates
+     * Pre-condition - The operations are passed in the order of the schedule
+     * Post-condition - isConflictSerializable tells if the schedule so far is conflict serializable
+     * @param operation the next operation of the schedule
+     * @return boolean; True if the schedule so far is conflict serializable, False once a cycle has formed
+     */
+	public boolean accept(Operation operation) {
+		return accept(operation.getcOperation(), operation.getlTransactionId(), operation.getStrItem());
+	}
+
+	/**
+     * Method name: accept
+     * Purpose: Adds the next operation of the schedule and the conflict edges it creates
+     * Pre-condition - The operations are passed in the order of the schedule
+     * Post-condition - isConflictSerializable tells if the schedule so far is conflict serializable
+     * @param cOperation the operation, r, w or c
+     * @param lTransactionId the transaction ID
+     * @param strItem the item key, ignored for a commit
+     * @return boolean; True if the schedule so far is conflict serializable, False once a cycle has formed
+     */
+	public boolean accept(char cOperation, long lTransactionId, String strItem) {
+		lOperationCount++;
+		if (cycle != null) // A schedule with a cycle stays non serializable, whatever comes next
+			return false;
+		int iNode = getNode(lTransactionId);
+		if (cOperation != 'r' && cOperation != 'w') { // A commit does not work on an item
+			if (cOperation == 'c' && bPruneCommitted) {
+				committed[iNode] = true;
+				retireIfPossible(iNode);
+			}
+			return true;
+		}
+		ItemState itemState = mapItemToState.get(strItem);
+		if (itemState == null) { // First operation on this item
+			itemState = new ItemState(strItem);
+			mapItemToState.put(strItem, itemState);
+		}
+		// Both a read and a write conflict with the last write of the item
+		if (itemState.iLastWriter != -1 && !addEdge(itemState.iLastWriter, iNode))
+			return false;
+		if (cOperation == 'r') {
+			// Remember the reader once until the next write
+			for (int i = 0; i < itemState.iReaderCount; i++)
+				if (itemState.readers[i] == iNode)
+					return true;
+			if (itemState.iReaderCount == itemState.readers.length)
+				itemState.readers = Arrays.copyOf(itemState.readers, itemState.iReaderCount * 2);
+			itemState.readers[itemState.iReaderCount++] = iNode;
+			if (bPruneCommitted) // Remember the item to clean it up on retirement
+				nodeItems[iNode] = append(nodeItems[iNode], nodeItemCount[iNode]++, itemState);
+		} else {
+			// A write also conflicts with the reads since the last write, then it becomes the last write
+			for (int i = 0; i < itemState.iReaderCount; i++)
+				if (!addEdge(itemState.readers[i], iNode))
+					return false;
+			itemState.iReaderCount = 0;
+			if (bPruneCommitted && itemState.iLastWriter != iNode) // Remember the item to clean it up on retirement
+				nodeItems[iNode] = append(nodeItems[iNode], nodeItemCount[iNode]++, itemState);
+			itemState.iLastWriter = iNode;
+		}
+		return true;
+	}
+
+	/**
+     * Method name: isConflictSerializable
+     * Purpose: Getter method of the verdict of the schedule so far
+     * @param none
+     * @return boolean; True if no cycle has formed
+     */
+	public boolean isConflictSerializable() {
+		return cycle == null;
+	}
+
+	/**
+     * Method name: getCycle
+     * Purpose: Getter method of the first cycle. For the cycle {a, b, c} the edges are a->b, b->c and c->a,
+     * and a->b is the edge added by the operation that formed the cycle.
+     * @param none
+     * @return long array; the transaction IDs of the cycle, null while the schedule is serializable
+     */
+	public long[] getCycle() {
+		return cycle;
+	}
+
+	/**
+     * Method name: getSerializationOrder
+     * Purpose: Gets the current topological order, a serialization order of the schedule so far
+     * Pre-condition - The schedule so far should be conflict serializable
+     * Post-condition - None
+     * @param none
+     * @return long array; the transaction IDs in topological order, null if a cycle has formed
+     */
+	public long[] getSerializationOrder() {
+		if (cycle != null)
+			return null;
+		int[] nodeAtPosition = new int[iNodeCount]; // the positions are 0 to iNodeCount - 1
+		Arrays.fill(nodeAtPosition, -1);
+		for (int iNode = 0; iNode < iNodeCount; iNode++)
+			if (outEdges[iNode] != null) // skip the free nodes
+				nodeAtPosition[topologicalPosition[iNode]] = iNode;
+		long[] serializationOrder = new long[getTransactionCount()];
+		int iCount = 0;
+		for (int iNode : nodeAtPosition)
+			if (iNode != -1)
+				serializationOrder[iCount++] = transactionIds[iNode];
+		return serializationOrder;
+	}
+
+	/**
+     * Method name: getOperationCount
+     * Purpose: Getter method of the number of operations accepted so far
+     * @param none
+     * @return long; number of operations
+     */
+	public long getOperationCount() {
+		return lOperationCount;
+	}
+
+	/**
+     * Method name: getTransactionCount
+     * Purpose: Getter method of the number of transactions in the graph, i.e. seen so far and not retired
+     * @param none
+     * @return int; number of transactions
+     */
+	public int getTransactionCount() {
+		return iNodeCount - iFreeCount;
+	}
+
+	/**
+     * Method name: getRetiredCount
+     * Purpose: Getter method of the number of committed transactions retired so far
+     * @param none
+     * @return long; number of retired transactions
+     */
+	public long getRetiredCount() {
+		return lRetiredCount;
+	}
+
+	/**
+     * Method name: getItemCount
+     * Purpose: Getter method of the number of items with a state, i.e. remembered by a transaction in the graph
+     * @param none
+     * @return int; number of items
+     */
+	public int getItemCount() {
+		return mapItemToState.size();
+	}
+
+	/**
+     * Method name: getEdgeCount
+     * Purpose: Getter method of the number of distinct edges in the graph
+     * @param none
+     * @return long; number of edges
+     */
+	public long getEdgeCount() {
+		return lEdgeCount;
+	}
+
+	/**
+     * Method name: getNode
+     * Purpose: Gets the node of a transaction, a new transaction gets the node of a retired one, which keeps its
+     * position in the topological order (it has no edges, so any position is valid), or a new node that is
+     * appended at the end of the topological order
+     * @param lTransactionId the transaction ID
+     * @return int; node id
+     */
+	private int getNode(long lTransactionId) {
+		Integer iExistingNode = mapTransactionToNode.get(lTransactionId);
+		if (iExistingNode != null)
+			return iExistingNode;
+		int iNode;
+		if (iFreeCount > 0)
+			iNode = freeNodes[--iFreeCount];
+		else {
+			if (iNodeCount == transactionIds.length)
+				growNodes();
+			iNode = iNodeCount++;
+			topologicalPosition[iNode] = iNode;
+		}
+		transactionIds[iNode] = lTransactionId;
+		committed[iNode] = false;
+		if (bPruneCommitted) {
+			nodeItems[iNode] = new ItemState[2];
+			nodeItemCount[iNode] = 0;
+		}
+		outEdges[iNode] = new int[2];
+		inEdges[iNode] = new int[2];
+		mapTransactionToNode.put(lTransactionId, iNode);
+		return iNode;
+	}
+
+	/**
+     * Method name: growNodes
+     * Purpose: Doubles the capacity of every array indexed by node id
+     * @param none
+     * @return none
+     */
+	private void growNodes() {
+		int iCapacity = transactionIds.length * 2;
+		transactionIds = Arrays.copyOf(transactionIds, iCapacity);
+		topologicalPosition = Arrays.copyOf(topologicalPosition, iCapacity);
+		outEdges = Arrays.copyOf(outEdges, iCapacity);
+		outCount = Arrays.copyOf(outCount, iCapacity);
+		inEdges = Arrays.copyOf(inEdges, iCapacity);
+		inCount = Arrays.copyOf(inCount, iCapacity);
+		visitMark = Arrays.copyOf(visitMark, iCapacity);
+		searchParent = Arrays.copyOf(searchParent, iCapacity);
+		searchStack = Arrays.copyOf(searchStack, iCapacity);
+		forwardNodes = Arrays.copyOf(forwardNodes, iCapacity);
+		backwardNodes = Arrays.copyOf(backwardNodes, iCapacity);
+		committed = Arrays.copyOf(committed, iCapacity);
+		nodeItems = Arrays.copyOf(nodeItems, iCapacity);
+		nodeItemCount = Arrays.copyOf(nodeItemCount, iCapacity);
+		freeNodes = Arrays.copyOf(freeNodes, iCapacity);
+	}
+
+	/**
+     * Method name: retireIfPossible
+     * Purpose: Retires a committed transaction without incoming edges, and then every committed transaction it had
+     * an edge to that is left without incoming edges
+     * Pre-condition - Pruning is enabled
+     * Post-condition - The retired nodes are free, their edges and item entries are removed
+     * @param iStartNode node id of the transaction to check
+     * @return none
+     */
+	private void retireIfPossible(int iStartNode) {
+		if (!committed[iStartNode] || inCount[iStartNode] > 0)
+			return;
+		int iStackTop = 0;
+		searchStack[iStackTop++] = iStartNode;
+		while (iStackTop > 0) {
+			int iNode = searchStack[--iStackTop];
+			// Remove the outgoing edges; a committed successor without incoming edges can be retired as well
+			for (int i = 0; i < outCount[iNode]; i++) {
+				int iToNode = outEdges[iNode][i];
+				removeValue(inEdges[iToNode], inCount[iToNode]--, iNode);
+				if (inCount[iToNode] == 0 && committed[iToNode])
+					searchStack[iStackTop++] = iToNode;
+			}
+			lEdgeCount -= outCount[iNode];
+			// Forget the transaction in the items it is remembered in, and the items nobody is remembered in
+			for (int i = 0; i < nodeItemCount[iNode]; i++) {
+				ItemState itemState = nodeItems[iNode][i];
+				if (mapItemToState.get(itemState.strItem) != itemState)
+					continue; // already removed, the item was in the list more than once
+				if (itemState.iLastWriter == iNode)
+					itemState.iLastWriter = -1;
+				if (removeValue(itemState.readers, itemState.iReaderCount, iNode))
+					itemState.iReaderCount--;
+				if (itemState.iLastWriter == -1 && itemState.iReaderCount == 0)
+					mapItemToState.remove(itemState.strItem);
+			}
+			mapTransactionToNode.remove(transactionIds[iNode]);
+			outEdges[iNode] = inEdges[iNode] = null;
+			nodeItems[iNode] = null;
+			outCount[iNode] = inCount[iNode] = nodeItemCount[iNode] = 0;
+			freeNodes[iFreeCount++] = iNode;
+			lRetiredCount++;
+		}
+	}
+
+	/**
+     * Method name: removeValue
+     * Purpose: Removes a value from the used part of an array by moving the last used value into its place
+     * @param array the array
+     * @param iCount number of used positions
+     * @param iValue the value to remove
+     * @return boolean; True if the value was found and removed, the caller has to lower its count
+     */
+	private static boolean removeValue(int[] array, int iCount, int iValue) {
+		for (int i = 0; i < iCount; i++)
+			if (array[i] == iValue) {
+				array[i] = array[iCount - 1];
+				return true;
+			}
+		return false;
+	}
+
+	/**
+     * Method name: addEdge
+     * Purpose: Adds a directed edge and keeps the topological order valid (Pearce-Kelly)
+     * Pre-condition - The graph is acyclic
+     * Post-condition - The edge is added if it does not close a cycle, otherwise the cycle is recorded
+     * @param iFromNode node id the edge is going from
+     * @param iToNode node id the edge is going to
+     * @return boolean; False if the edge closes a cycle
+     */
+	private boolean addEdge(int iFromNode, int iToNode) {
+		if (iFromNode == iToNode)
+			return true; // operations of the same transaction never conflict
+		for (int i = 0; i < outCount[iFromNode]; i++)
+			if (outEdges[iFromNode][i] == iToNode)
+				return true; // the edge is already there
+		int iLowerBound = topologicalPosition[iToNode];
+		int iUpperBound = topologicalPosition[iFromNode];
+		if (iLowerBound < iUpperBound) {
+			// The edge goes backwards in the order; search the affected region and move it
+			int iForwardCount = searchForward(iToNode, iFromNode, iUpperBound);
+			if (iForwardCount < 0) {
+				recordCycle(iFromNode, iToNode);
+				return false;
+			}
+			int iBackwardCount = searchBackward(iFromNode, iLowerBound);
+			reorder(iForwardCount, iBackwardCount);
+		}
+		outEdges[iFromNode] = append(outEdges[iFromNode], outCount[iFromNode]++, iToNode);
+		inEdges[iToNode] = append(inEdges[iToNode], inCount[iToNode]++, iFromNode);
+		lEdgeCount++;
+		return true;
+	}
+
+	/**
+     * Method name: searchForward
+     * Purpose: Finds the nodes reachable from the "To" end of the new edge whose position is smaller than the
+     * position of the "From" end; these have to move behind the "From" end
+     * @param iStartNode the "To" end of the new edge
+     * @param iTargetNode the "From" end of the new edge, reaching it means a cycle
+     * @param iUpperBound the position of iTargetNode
+     * @return int; number of nodes found (stored in forwardNodes), -1 if iTargetNode was reached
+     */
+	private int searchForward(int iStartNode, int iTargetNode, int iUpperBound) {
+		iVisitEpoch++;
+		int iFound = 0, iStackTop = 0;
+		visitMark[iStartNode] = iVisitEpoch;
+		searchParent[iStartNode] = -1;
+		searchStack[iStackTop++] = iStartNode;
+		while (iStackTop > 0) {
+			int iNode = searchStack[--iStackTop];
+			forwardNodes[iFound++] = iNode;
+			for (int i = 0; i < outCount[iNode]; i++) {
+				int iNextNode = outEdges[iNode][i];
+				if (iNextNode == iTargetNode) {
+					searchParent[iTargetNode] = iNode;
+					return -1;
+				}
+				if (visitMark[iNextNode] != iVisitEpoch && topologicalPosition[iNextNode] < iUpperBound) {
+					visitMark[iNextNode] = iVisitEpoch;
+					searchParent[iNextNode] = iNode;
+					searchStack[iStackTop++] = iNextNode;
+				}
+			}
+		}
+		return iFound;
+	}
+
+	/**
+     * Method name: searchBackward
+     * Purpose: Finds the nodes that reach the "From" end of the new edge whose position is larger than the
+     * position of the "To" end; these have to move in front of the "To" end
+     * @param iStartNode the "From" end of the new edge
+     * @param iLowerBound the position of the "To" end
+     * @return int; number of nodes found (stored in backwardNodes)
+     */
+	private int searchBackward(int iStartNode, int iLowerBound) {
+		iVisitEpoch++;
+		int iFound = 0, iStackTop = 0;
+		visitMark[iStartNode] = iVisitEpoch;
+		searchStack[iStackTop++] = iStartNode;
+		while (iStackTop > 0) {
+			int iNode = searchStack[--iStackTop];
+			backwardNodes[iFound++] = iNode;
+			for (int i = 0; i < inCount[iNode]; i++) {
+				int iPreviousNode = inEdges[iNode][i];
+				if (visitMark[iPreviousNode] != iVisitEpoch && topologicalPosition[iPreviousNode] > iLowerBound) {
+					visitMark[iPreviousNode] = iVisitEpoch;
+					searchStack[iStackTop++] = iPreviousNode;
+				}
+			}
+		}
+		return iFound;
+	}
+
+	/**
+     * Method name: reorder
+     * Purpose: Gives the positions of all the found nodes again, the backward nodes first and the forward nodes
+     * after them, each group keeping its relative order; the set of positions used stays the same
+     * @param iForwardCount number of nodes in forwardNodes
+     * @param iBackwardCount number of nodes in backwardNodes
+     * @return none
+     */
+	private void reorder(int iForwardCount, int iBackwardCount) {
+		sortByPosition(backwardNodes, iBackwardCount);
+		sortByPosition(forwardNodes, iForwardCount);
+		int[] positions = new int[iBackwardCount + iForwardCount];
+		for (int i = 0; i < iBackwardCount; i++)
+			positions[i] = topologicalPosition[backwardNodes[i]];
+		for (int i = 0; i < iForwardCount; i++)
+			positions[iBackwardCount + i] = topologicalPosition[forwardNodes[i]];
+		Arrays.sort(positions);
+		for (int i = 0; i < iBackwardCount; i++)
+			topologicalPosition[backwardNodes[i]] = positions[i];
+		for (int i = 0; i < iForwardCount; i++)
+			topologicalPosition[forwardNodes[i]] = positions[iBackwardCount + i];
+	}
+
+	/**
+     * Method name: sortByPosition
+     * Purpose: Sorts nodes by their position in the topological order
+     * @param nodes the nodes to sort
+     * @param iCount number of nodes to sort
+     * @return none
+     */
+	private void sortByPosition(int[] nodes, int iCount) {
+		long[] packed = new long[iCount]; // position in the upper 32 bits, so sorting the longs sorts by position
+		for (int i = 0; i < iCount; i++)
+			packed[i] = ((long) topologicalPosition[nodes[i]] << 32) | nodes[i];
+		Arrays.sort(packed);
+		for (int i = 0; i < iCount; i++)
+			nodes[i] = (int) packed[i];
+	}
+
+	/**
+     * Method name: recordCycle
+     * Purpose: Stores the cycle closed by the new edge, using the path found by searchForward, and calls the listener
+     * @param iFromNode the "From" end of the new edge
+     * @param iToNode the "To" end of the new edge
+     * @return none
+     */
+	private void recordCycle(int iFromNode, int iToNode) {
+		// The search walked iToNode -> ... -> iFromNode, walk it back from iFromNode
+		List<Integer> listPath = new ArrayList<Integer>();
+		for (int iNode = iFromNode; iNode != -1; iNode = searchParent[iNode])
+			listPath.add(iNode);
+		// listPath is iFromNode, ..., iToNode; the cycle starts with the new edge iFromNode -> iToNode
+		cycle = new long[listPath.size()];
+		cycle[0] = transactionIds[iFromNode];
+		for (int i = 1; i < cycle.length; i++)
+			cycle[i] = transactionIds[listPath.get(cycle.length - i)];
+		if (cycleListener != null)
+			cycleListener.accept(cycle);
+	}
+
+	/**
+     * Method name: append
+     * Purpose: Stores a value at the end of a growing array
+     * @param array the array
+     * @param iPosition the position to store at
+     * @param iValue the value
+     * @return int array; the same array, or a larger copy if it was full
+     */
+	private static int[] append(int[] array, int iPosition, int iValue) {
+		if (iPosition == array.length)
+			array = Arrays.copyOf(array, iPosition * 2);
+		array[iPosition] = iValue;
+		return array;
+	}
+
+	/**
+     * Method name: append
+     * Purpose: Stores an item state at the end of a growing array
+     * @param array the array
+     * @param iPosition the position to store at
+     * @param itemState the item state
+     * @return ItemState array; the same array, or a larger copy if it was full
+     */
+	private static ItemState[] append(ItemState[] array, int iPosition, ItemState itemState) {
+		if (iPosition == array.length)
+			array = Arrays.copyOf(array, iPosition * 2);
+		array[iPosition] = itemState;
+		return array;
+	}
+
+	/**
+     * Class name: ItemState
+     * Purpose: Holds the last writer of one item and the readers since that write, as node ids
+     */
+	private static class ItemState {
+		private final String strItem; // the key, to remove the state when nobody is remembered in it
+		private int iLastWriter = -1; // -1 if the item was not written yet
+		private int[] readers = new int[2];
+		private int iReaderCount = 0;
+
+		/**
+	     * Method name: ItemState()
+	     * Purpose: Constructor of ItemState Class
+	     * @param strItem, the item key
+	     * @return none
+	     */
+		private ItemState(String strItem) {
+			this.strItem = strItem;
+		}
+	}
+}
@@ -1,3 +1,4 @@
+package txnchecker;
 
 /**
  * Class name: Operation.java
@@ -14,12 +15,13 @@
  * one or more potentially interleaved transactions. Operations have the format <op><id><space(s)><item>,
  * where <op> is one of r (for read), w (write), or c (commit); <id> is an integer that identifies the transaction
  * executing <op>; <item> is a single upper–case letter representing the DB item being read or written
+ * The transaction ID may be any non negative 64 bit integer and the item any key, e.g. A, 42 or account:1234.
  * 
  */
 public class Operation implements Comparable<Operation> {
 	private char cOperation;
-	private int iTransactionId;
-	private char cItem;
+	private long lTransactionId;
+	private String strItem;
 
 	/**
      * Method name: getcOperation
@@ -42,58 +44,58 @@ public class Operation implements Comparable<Operation> {
 	}
 	
 	/**
-     * Method name: getiTransactionId
+     * Method name: getlTransactionId
      * Purpose: Getter method of transaction ID
      * @param none
-     * @return int; transaction ID
+     * @return long; transaction ID
      */
-	public int getiTransactionId() {
-		return iTransactionId;
+	public long getlTransactionId() {
+		return lTransactionId;
 	}
 	
 	/**
-     * Method name: setiTransactionId
+     * Method name: setlTransactionId
      * Purpose: Setter method of transaction ID
-     * @param iTransactionId, sets the iTransactionId int passed to POJO's iTransactionId field.
+     * @param lTransactionId, sets the lTransactionId long passed to POJO's lTransactionId field.
      * @return none
      */
-	public void setiTransactionId(int iTransactionId) {
-		this.iTransactionId = iTransactionId;
+	public void setlTransactionId(long lTransactionId) {
+		this.lTransactionId = lTransactionId;
 	}
 	
 	/**
-     * Method name: getcItem
+     * Method name: getStrItem
      * Purpose: Getter method of item
      * @param none
-     * @return char; item character
+     * @return String; item key, null for a commit
      */
-	public char getcItem() {
-		return cItem;
+	public String getStrItem() {
+		return strItem;
 	}
 	
 	/**
-     * Method name: setcItem
+     * Method name: setStrItem
      * Purpose: Setter method of item
-     * @param cItem, sets the cItem int passed to POJO's cItem field.
+     * @param strItem, sets the strItem String passed to POJO's strItem field.
      * @return none
      */
-	public void setcItem(char cItem) {
-		this.cItem = cItem;
+	public void setStrItem(String strItem) {
+		this.strItem = strItem;
 	}
 
 	/**
      * Method name: Operation()
      * Purpose: Constructor of Operation POJO Class
      * @param cOperation, operation value
-     * @param iTransactionId, transaction ID
-     * @param cItem, item identifier
+     * @param lTransactionId, transaction ID
+     * @param strItem, item key, null for a commit
      * @return none
      */
-	public Operation(char cOperation, int iTransactionId, char cItem) {
+	public Operation(char cOperation, long lTransactionId, String strItem) {
 		super();
 		this.cOperation = cOperation;
-		this.iTransactionId = iTransactionId;
-		this.cItem = cItem;
+		this.lTransactionId = lTransactionId;
+		this.strItem = strItem;
 	}
 	
 	/**
@@ -105,7 +107,8 @@ public class Operation implements Comparable<Operation> {
      */
 	@Override
 	public String toString() {
-		return  cOperation + iTransactionId + " " + cItem;
+		String strOperation = cOperation + String.valueOf(lTransactionId);
+		return strItem != null ? strOperation + " " + strItem : strOperation; // a commit has no item
 	}
 	
 	/**
@@ -118,11 +121,11 @@ public class Operation implements Comparable<Operation> {
 	@Override 
 	public int compareTo(Operation o)
     {
-        if (this.iTransactionId > o.iTransactionId) {
+        if (this.lTransactionId > o.lTransactionId) {
             // if current object is greater,then return 1
             return 1;
         }
-        else if (this.iTransactionId < o.iTransactionId) {
+        else if (this.lTransactionId < o.lTransactionId) {
             // if current object is greater,then return -1
             return -1;
         }
@@ -0,0 +1,263 @@
+package txnchecker;
+
+import java.util.Arrays;
+import java.util.List;
+/**
+ * Class name: PackedSchedule.java
+ *
+ * Detailed Description -  A class that holds the operations of a schedule or a transaction set as one long per
+ * operation, together with the dictionaries of the transaction IDs and the item keys. It is read through
+ * ScheduleColumns, which makes it a flyweight view: the checker reads the operation, the transaction and the item of a
+ * position from the long, no Operation object is created. The parser writes into it (see ParsedSchedule) and
+ * RandomScheduleGenerator writes its random schedules into one of them, which is overwritten by every schedule.
+ *
+ * Technique useds - An operation is packed as:
+ *    bits 63-62: the operation, 0 for r, 1 for w, 2 for c
+ *    bits 61-31: the item index + 1, 0 for a commit
+ *    bits 30-0:  the transaction index
+ * So 8 bytes per operation, no object per operation, and copying operations is System.arraycopy of longs.
+ * Data structure used is a primitive long array in Java.
+ * Programming language used is Java.
+ *
+ * Input Requirement - Transaction and item indexes of the dictionaries of the schedule.
+ *
+ */
+public class PackedSchedule implements ScheduleColumns {
+	private static final String OPERATIONS = "rwc"; // operation code -> operation
+	private long[] packedOperations;
+	private int iSize = 0;
+	private final TransactionDictionary transactionDictionary;
+	private final ItemDictionary itemDictionary;
+
+	/**
+     * Method name: PackedSchedule()
+     * Purpose: Constructor of PackedSchedule Class, an empty schedule with new dictionaries
+     * @param none
+     * @return none
+     */
+	public PackedSchedule() {
+		this(new TransactionDictionary(), new ItemDictionary(), 1024);
+	}
+
+	/**
+     * Method name: PackedSchedule()
+     * Purpose: Constructor of PackedSchedule Class, an empty schedule that shares the dictionaries of another one
+     * @param transactionDictionary, the transaction IDs
+     * @param itemDictionary, the item keys
+     * @param iCapacity, the operations that fit before the array grows
+     * @return none
+     */
+	PackedSchedule(TransactionDictionary transactionDictionary, ItemDictionary itemDictionary, int iCapacity) {
+		this.transactionDictionary = transactionDictionary;
+		this.itemDictionary = itemDictionary;
+		this.packedOperations = new long[Math.max(iCapacity, 1)];
+	}
+
+	/**
+     * Method name: of
+     * Purpose: Packs a List of Operation, the transaction IDs and the item keys are interned in new dictionaries
+     * @param listOperations the operations, in order
+     * @return PackedSchedule
+     */
+	public static PackedSchedule of(List<Operation> listOperations) {
+		PackedSchedule packedSchedule = new PackedSchedule(new TransactionDictionary(), new ItemDictionary(), listOperations.size());
+		for (Operation eachOperation : listOperations) {
+			char cOperation = eachOperation.getcOperation();
+			int iItem = cOperation == 'r' || cOperation == 'w' ? packedSchedule.itemDictionary.intern(eachOperation.getStrItem()) : -1;
+			packedSchedule.add(pack(cOperation, packedSchedule.transactionDictionary.intern(eachOperation.getlTransactionId()), iItem));
+		}
+		return packedSchedule;
+	}
+
+	/**
+     * Method name: pack
+     * Purpose: Packs an operation into a long, see the class description
+     * @param cOperation r, w or c
+     * @param iTransaction the transaction index
+     * @param iItem the item index, -1 for a commit
+     * @return long; the packed operation
+     */
+	public static long pack(char cOperation, int iTransaction, int iItem) {
+		return (long) OPERATIONS.indexOf(cOperation) << 62 | (long) (iItem + 1) << 31 | iTransaction;
+	}
+
+	/**
+     * Method name: getOperation
+     * Purpose: Unpacks the operation of a packed operation
+     * @param lPacked the packed operation
+     * @return char; r, w or c
+     */
+	public static char getOperation(long lPacked) {
+		return OPERATIONS.charAt((int) (lPacked >>> 62));
+	}
+
+	/**
+     * Method name: getTransaction
+     * Purpose: Unpacks the transaction index of a packed operation
+     * @param lPacked the packed operation
+     * @return int; transaction index
+     */
+	public static int getTransaction(long lPacked) {
+		return (int) (lPacked & 0x7FFFFFFFL);
+	}
+
+	/**
+     * Method name: getItem
+     * Purpose: Unpacks the item index of a packed operation
+     * @param lPacked the packed operation
+     * @return int; item index, -1 for a commit
+     */
+	public static int getItem(long lPacked) {
+		return (int) (lPacked >>> 31 & 0x7FFFFFFFL) - 1;
+	}
+
+	/**
+     * Method name: add
+     * Purpose: Adds a packed operation at the end, the array grows by doubling
+     * @param lPacked the packed operation
+     * @return none
+     */
+	void add(long lPacked) {
+		if (iSize == packedOperations.length)
+			packedOperations = Arrays.copyOf(packedOperations, iSize * 2);
+		packedOperations[iSize++] = lPacked;
+	}
+
+	/**
+     * Method name: getPackedOperations
+     * Purpose: Gets the array of the packed operations, so that RandomScheduleGenerator can write a schedule into it
+     * @param none
+     * @return long array; the operations at positions 0 to size() - 1, not a copy
+     */
+	long[] getPackedOperations() {
+		return packedOperations;
+	}
+
+	/**
+     * Method name: setSize
+     * Purpose: Sets the number of operations, after they are written into getPackedOperations
+     * @param iSize, number of operations, at most the length of the array
+     * @return none
+     */
+	void setSize(int iSize) {
+		this.iSize = iSize;
+	}
+
+	/**
+     * Method name: getTransactionDictionary
+     * Purpose: Getter method of the dictionary of the transaction IDs, to intern the IDs while parsing
+     * @param none
+     * @return TransactionDictionary
+     */
+	TransactionDictionary getTransactionDictionary() {
+		return transactionDictionary;
+	}
+
+	/**
+     * Method name: getItemDictionary
+     * Purpose: Getter method of the dictionary of the item keys, to intern the keys while parsing
+     * @param none
+     * @return ItemDictionary
+     */
+	ItemDictionary getItemDictionary() {
+		return itemDictionary;
+	}
+
+	/**
+     * Method name: getPackedOperation
+     * Purpose: Getter method of the packed operation at a position
+     * @param i position in the schedule
+     * @return long; the packed operation
+     */
+	public long getPackedOperation(int i) {
+		return packedOperations[i];
+	}
+
+	/**
+     * Method name: size
+     * Purpose: Getter method of the number of operations
+     * @param none
+     * @return int; number of operations
+     */
+	@Override
+	public int size() {
+		return iSize;
+	}
+
+	/**
+     * Method name: getOperation
+     * Purpose: Getter method of the operation at a position
+     * @param i position in the schedule
+     * @return char; r, w or c
+     */
+	@Override
+	public char getOperation(int i) {
+		return getOperation(packedOperations[i]);
+	}
+
+	/**
+     * Method name: getTransaction
+     * Purpose: Getter method of the transaction index at a position
+     * @param i position in the schedule
+     * @return int; transaction index
+     */
+	@Override
+	public int getTransaction(int i) {
+		return getTransaction(packedOperations[i]);
+	}
+
+	/**
+     * Method name: getItem
+     * Purpose: Getter method of the item index at a position
+     * @param i position in the schedule
+     * @return int; item index, -1 for a commit
+     */
+	@Override
+	public int getItem(int i) {
+		return getItem(packedOperations[i]);
+	}
+
+	/**
+     * Method name: getTransactionCount
+     * Purpose: Getter method of the number of distinct transactions
+     * @param none
+     * @return int; number of transactions
+     */
+	@Override
+	public int getTransactionCount() {
+		return transactionDictionary.size();
+	}
+
+	/**
+     * Method name: getTransactionId
+     * Purpose: Gets the transaction ID of a transaction index
+     * @param iTransaction the transaction index
+     * @return long; transaction ID
+     */
+	@Override
+	public long getTransactionId(int iTransaction) {
+		return transactionDictionary.getTransactionId(iTransaction);
+	}
+
+	/**
+     * Method name: getItemCount
+     * Purpose: Getter method of the number of distinct items
+     * @param none
+     * @return int; number of items
+     */
+	@Override
+	public int getItemCount() {
+		return itemDictionary.size();
+	}
+
+	/**
+     * Method name: getItemKey
+     * Purpose: Gets the key of an item index
+     * @param iItem the item index
+     * @return String; item key
+     */
+	@Override
+	public String getItemKey(int iItem) {
+		return itemDictionary.getKey(iItem);
+	}
+}
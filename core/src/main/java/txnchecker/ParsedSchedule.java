@@ -0,0 +1,122 @@
+package txnchecker;
+
+import java.util.ArrayList;
+import java.util.List;
+/**
+ * Class name: ParsedSchedule.java
+ *
+ * Detailed Description -  A class that holds the operations of a .set or .sch file, packed one long per operation
+ * (see PackedSchedule) together with the dictionaries of the transaction IDs and the item keys, and the lines that could
+ * not be parsed
+ *
+ * Technique useds - A PackedSchedule instead of one Operation object per line, so that a file with many millions of
+ * operations needs 8 bytes per operation and no object per operation. The transaction IDs and the item keys are
+ * interned while the file is parsed (see MappedScheduleParser), so the operations hold dense indexes and every
+ * distinct ID or key is stored once.
+ * Data structure used is a primitive long array in Java.
+ * Programming language used is Java.
+ *
+ * Input Requirement - The operations are added in the order of the file.
+ *
+ */
+public class ParsedSchedule extends PackedSchedule {
+	private final List<ParseError> listErrors = new ArrayList<ParseError>();
+
+	/**
+     * Method name: add
+     * Purpose: Adds an operation at the end
+     * @param bOperation, the operation r, w or c
+     * @param iTransaction, the transaction index, from getTransactionDictionary
+     * @param iItem, the item index, from getItemDictionary, -1 for a commit
+     * @return none
+     */
+	void add(byte bOperation, int iTransaction, int iItem) {
+		add(pack((char) bOperation, iTransaction, iItem));
+	}
+
+	/**
+     * Method name: addError
+     * Purpose: Remembers a line that could not be parsed
+     * @param parseError, the line number, byte offset and reason
+     * @return none
+     */
+	void addError(ParseError parseError) {
+		listErrors.add(parseError);
+	}
+
+	/**
+     * Method name: getErrors
+     * Purpose: Getter method of the lines that could not be parsed, in the order of the file
+     * @param none
+     * @return List of ParseError
+     */
+	public List<ParseError> getErrors() {
+		return listErrors;
+	}
+
+	/**
+     * Class name: ParseError
+     * Purpose: A line that could not be parsed, with its line number (from 1), the byte offset of its first byte
+     * in the file and the reason
+     */
+	public static class ParseError {
+		private final long lLineNumber;
+		private final long lByteOffset;
+		private final String strReason;
+
+		/**
+	     * Method name: ParseError()
+	     * Purpose: Constructor of ParseError Class
+	     * @param lLineNumber, line number, from 1
+	     * @param lByteOffset, byte offset of the first byte of the line
+	     * @param strReason, why the line could not be parsed
+	     * @return none
+	     */
+		public ParseError(long lLineNumber, long lByteOffset, String strReason) {
+			this.lLineNumber = lLineNumber;
+			this.lByteOffset = lByteOffset;
+			this.strReason = strReason;
+		}
+
+		/**
+	     * Method name: getLineNumber
+	     * Purpose: Getter method of the line number
+	     * @param none
+	     * @return long; line number, from 1
+	     */
+		public long getLineNumber() {
+			return lLineNumber;
+		}
+
+		/**
+	     * Method name: getByteOffset
+	     * Purpose: Getter method of the byte offset of the line
+	     * @param none
+	     * @return long; byte offset of the first byte of the line
+	     */
+		public long getByteOffset() {
+			return lByteOffset;
+		}
+
+		/**
+	     * Method name: getReason
+	     * Purpose: Getter method of the reason
+	     * @param none
+	     * @return String; why the line could not be parsed
+	     */
+		public String getReason() {
+			return strReason;
+		}
+
+		/**
+	     * Method name: toString()
+	     * Purpose: Overriding the default implementation of ToString to print the error in readable format
+	     * @param none
+	     * @return string
+	     */
+		@Override
+		public String toString() {
+			return "Line " + lLineNumber + " (byte offset " + lByteOffset + "): " + strReason;
+		}
+	}
+}
@@ -0,0 +1,266 @@
+package txnchecker;
+
+import java.util.Arrays;
+/**
+ * Class name: PrecedenceGraph.java
+ *
+ * Detailed Description -  A class that holds the precedence graph of a schedule with dense int node ids
+ *
+ * Technique useds - Every transaction of the schedule is a node, node ids are 0 to (number of nodes - 1) and they are
+ * given in ascending order of the transaction ID, so iterating over the nodes lists the transactions in ascending order.
+ * The edges are stored in the Compressed Sparse Row (CSR) layout: the targets of all the outgoing edges of node i are
+ * stored in edgeTargets from edgeOffsets[i] (inclusive) to edgeOffsets[i+1] (exclusive), sorted and without duplicates.
+ * There is no object per edge, a graph with E edges and V nodes needs 4 * (E + 3V) bytes.
+ * Data structure used is primitive int arrays in Java.
+ * Programming language used is Java.
+ *
+ * The graph also carries the Recoverability of its schedule when it is built by SerializabilityChecker, it is not
+ * part of the graph itself (two schedules with the same graph can be in different classes).
+ *
+ * Input Requirement - The transactions and the conflicting pairs of a schedule, collected by the Builder class.
+ *
+ */
+public class PrecedenceGraph {
+	private final long[] transactionIds; // node id -> transaction ID, sorted ascending
+	private final int[] edgeOffsets; // node id -> first position of its outgoing edges in edgeTargets
+	private final int[] edgeTargets; // the "To" node ids of all the edges, row by row
+	private final Recoverability recoverability; // class of the schedule, null if it is not known
+
+	/**
+     * Method name: PrecedenceGraph()
+     * Purpose: Constructor of PrecedenceGraph Class, use the Builder class to create the graph
+     * @param transactionIds, node id to transaction ID, sorted ascending
+     * @param edgeOffsets, node id to the first position of its outgoing edges
+     * @param edgeTargets, the "To" node ids of all the edges
+     * @param recoverability, the class of the schedule, null if it is not known
+     * @return none
+     */
+	private PrecedenceGraph(long[] transactionIds, int[] edgeOffsets, int[] edgeTargets, Recoverability recoverability) {
+		this.transactionIds = transactionIds;
+		this.edgeOffsets = edgeOffsets;
+		this.edgeTargets = edgeTargets;
+		this.recoverability = recoverability;
+	}
+
+	/**
+     * Method name: getNodeCount
+     * Purpose: Getter method of the number of nodes i.e. transactions
+     * @param none
+     * @return int; number of nodes
+     */
+	public int getNodeCount() {
+		return transactionIds.length;
+	}
+
+	/**
+     * Method name: getEdgeCount
+     * Purpose: Getter method of the number of distinct directed edges
+     * @param none
+     * @return int; number of edges
+     */
+	public int getEdgeCount() {
+		return edgeTargets.length;
+	}
+
+	/**
+     * Method name: getRecoverability
+     * Purpose: Getter method of the recoverability class of the schedule of the graph
+     * @param none
+     * @return Recoverability; null if the graph was not built from a schedule by SerializabilityChecker
+     */
+	public Recoverability getRecoverability() {
+		return recoverability;
+	}
+
+	/**
+     * Method name: getTransactionId
+     * Purpose: Gets the transaction ID of a node
+     * @param iNode, node id
+     * @return long; transaction ID
+     */
+	public long getTransactionId(int iNode) {
+		return transactionIds[iNode];
+	}
+
+	/**
+     * Method name: getNode
+     * Purpose: Gets the node id of a transaction ID
+     * @param lTransactionId, transaction ID
+     * @return int; node id, or -1 if the transaction is not part of the graph
+     */
+	public int getNode(long lTransactionId) {
+		int iNode = Arrays.binarySearch(transactionIds, lTransactionId);
+		return iNode >= 0 ? iNode : -1;
+	}
+
+	/**
+     * Method name: getEdgeStart
+     * Purpose: Gets the first position of the outgoing edges of a node, use getEdgeTarget to read them
+     * @param iNode, node id
+     * @return int; first position (inclusive)
+     */
+	public int getEdgeStart(int iNode) {
+		return edgeOffsets[iNode];
+	}
+
+	/**
+     * Method name: getEdgeEnd
+     * Purpose: Gets the last position of the outgoing edges of a node, use getEdgeTarget to read them
+     * @param iNode, node id
+     * @return int; last position (exclusive)
+     */
+	public int getEdgeEnd(int iNode) {
+		return edgeOffsets[iNode + 1];
+	}
+
+	/**
+     * Method name: getEdgeTarget
+     * Purpose: Gets the "To" node of an edge
+     * @param iEdge, position of the edge between getEdgeStart and getEdgeEnd of its "From" node
+     * @return int; node id the edge is going to
+     */
+	public int getEdgeTarget(int iEdge) {
+		return edgeTargets[iEdge];
+	}
+
+	/**
+     * Method name: hasEdge
+     * Purpose: Checks if there is a directed edge From a node To another node, binary search in the sorted row
+     * @param iFromNode, node id the edge is going from
+     * @param iToNode, node id the edge is going to
+     * @return boolean; True if the edge exists
+     */
+	public boolean hasEdge(int iFromNode, int iToNode) {
+		return Arrays.binarySearch(edgeTargets, edgeOffsets[iFromNode], edgeOffsets[iFromNode + 1], iToNode) >= 0;
+	}
+
+	/**
+     * Class name: Builder
+     * Purpose: Collects the transactions and the edges of a schedule in growing primitive arrays and creates the
+     * PrecedenceGraph. Every transaction gets a dense index in the builder (see TransactionDictionary), an edge is packed
+     * in one long, the "From" transaction index in the upper 32 bits and the "To" transaction index in the lower 32 bits,
+     * duplicate edges are removed when the graph is built.
+     */
+	public static class Builder {
+		private final TransactionDictionary transactionDictionary = new TransactionDictionary();
+		private long[] edges = new long[16]; // packed From/To transaction indexes, may contain duplicates
+		private int iEdgeCount = 0;
+		private Recoverability recoverability = null;
+
+		/**
+	     * Method name: addTransaction
+	     * Purpose: Adds a transaction as a node of the graph, adding it more than once has no effect
+	     * @param lTransactionId, transaction ID
+	     * @return int; the transaction index in this builder, the transactions are numbered in the order they are added
+	     */
+		public int addTransaction(long lTransactionId) {
+			return transactionDictionary.intern(lTransactionId);
+		}
+
+		/**
+	     * Method name: addEdge
+	     * Purpose: Adds a directed edge From a transaction To another transaction, both must be added as transactions
+	     * @param lFromTransactionId, transaction ID the edge is going from
+	     * @param lToTransactionId, transaction ID the edge is going to
+	     * @return none
+	     * @throws IllegalStateException if a transaction was not added
+	     */
+		public void addEdge(long lFromTransactionId, long lToTransactionId) {
+			int iFromIndex = transactionDictionary.find(lFromTransactionId);
+			int iToIndex = transactionDictionary.find(lToTransactionId);
+			if (iFromIndex < 0 || iToIndex < 0)
+				throw new IllegalStateException("Edge uses a transaction that was not added: "
+						+ lFromTransactionId + "->" + lToTransactionId);
+			addIndexedEdge(iFromIndex, iToIndex);
+		}
+
+		/**
+	     * Method name: addIndexedEdge
+	     * Purpose: Adds a directed edge between two transactions given by their index in this builder
+	     * @param iFromIndex, transaction index the edge is going from, as returned by addTransaction
+	     * @param iToIndex, transaction index the edge is going to, as returned by addTransaction
+	     * @return none
+	     */
+		public void addIndexedEdge(int iFromIndex, int iToIndex) {
+			if (iEdgeCount == edges.length)
+				edges = Arrays.copyOf(edges, iEdgeCount * 2);
+			edges[iEdgeCount++] = ((long) iFromIndex << 32) | iToIndex;
+		}
+
+		/**
+	     * Method name: addIndexedEdges
+	     * Purpose: Adds many directed edges at once, e.g. the edges found by another thread
+	     * @param packedEdges, the edges packed as (from transaction index << 32 | to transaction index), indexes of this builder
+	     * @param iCount, number of edges to add from the start of packedEdges
+	     * @return none
+	     */
+		public void addIndexedEdges(long[] packedEdges, int iCount) {
+			if (iEdgeCount + iCount > edges.length)
+				edges = Arrays.copyOf(edges, Math.max(iEdgeCount + iCount, iEdgeCount * 2));
+			System.arraycopy(packedEdges, 0, edges, iEdgeCount, iCount);
+			iEdgeCount += iCount;
+		}
+
+		/**
+	     * Method name: setRecoverability
+	     * Purpose: Sets the recoverability class of the schedule, found in the same pass as the edges
+	     * @param recoverability, the class
+	     * @return none
+	     */
+		public void setRecoverability(Recoverability recoverability) {
+			this.recoverability = recoverability;
+		}
+
+		/**
+	     * Method name: build
+	     * Purpose: Creates the graph, i.e. gives dense node ids in ascending order of transaction ID and
+	     * lays out the distinct edges row by row
+	     * Pre-condition - None
+	     * Post-condition - The builder can still be used, it is not modified
+	     * @param none
+	     * @return PrecedenceGraph
+	     */
+		public PrecedenceGraph build() {
+			return build(true);
+		}
+
+		/**
+	     * Method name: build
+	     * Purpose: Same as build(), the edges are only added to the CheckerMetrics if bRecordEdges is True, a graph that
+	     * is not a precedence graph (e.g. a polygraph of ViewSerializabilityChecker) is not counted
+	     * @param bRecordEdges True to record the edges
+	     * @return PrecedenceGraph
+	     */
+		PrecedenceGraph build(boolean bRecordEdges) {
+			// Sort the distinct transaction IDs, the position is the node id
+			int iNodeCount = transactionDictionary.size();
+			long[] transactionIds = new long[iNodeCount];
+			for (int i = 0; i < iNodeCount; i++)
+				transactionIds[i] = transactionDictionary.getTransactionId(i);
+			Arrays.sort(transactionIds);
+			int[] nodeOf = new int[iNodeCount]; // transaction index of the builder -> node id
+			for (int i = 0; i < iNodeCount; i++)
+				nodeOf[i] = Arrays.binarySearch(transactionIds, transactionDictionary.getTransactionId(i));
+			// Translate the edges to node ids, keep them packed so that sorting orders them row by row
+			long[] nodeEdges = new long[iEdgeCount];
+			for (int i = 0; i < iEdgeCount; i++)
+				nodeEdges[i] = ((long) nodeOf[(int) (edges[i] >>> 32)] << 32) | nodeOf[(int) edges[i]];
+			Arrays.parallelSort(nodeEdges); // on the common pool for many edges, sequential below 8192
+			// Count the distinct edges of every row and copy the targets
+			int[] edgeOffsets = new int[iNodeCount + 1];
+			int[] edgeTargets = new int[iEdgeCount];
+			int iDistinctEdges = 0;
+			for (int i = 0; i < nodeEdges.length; i++) {
+				if (i > 0 && nodeEdges[i] == nodeEdges[i - 1])
+					continue; // duplicate edge
+				edgeOffsets[(int) (nodeEdges[i] >>> 32) + 1]++;
+				edgeTargets[iDistinctEdges++] = (int) nodeEdges[i];
+			}
+			for (int i = 0; i < iNodeCount; i++) // prefix sum of the row sizes gives the offsets
+				edgeOffsets[i + 1] += edgeOffsets[i];
+			if (bRecordEdges)
+				CheckerMetrics.getInstance().recordEdges(iEdgeCount, iEdgeCount - iDistinctEdges);
+			return new PrecedenceGraph(transactionIds, edgeOffsets, Arrays.copyOf(edgeTargets, iDistinctEdges), recoverability);
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package txnchecker;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+/**
+ * Class name: RandomScheduleGenerator.java
+ *
+ * Detailed Description -  A class that creates random legal schedules, i.e. random interleavings of the operations of a
+ * transaction set in which the operations of every transaction keep their original order
+ *
+ * Technique useds - The transaction set is stored once, grouped by transaction, as packed operations (one long each,
+ * see PackedSchedule) in a flat array that is never changed: the operations of transaction slot t are
+ * groupedOperations[transactionStart[t]] to groupedOperations[transactionStart[t+1]-1], the slots in ascending order of
+ * transaction ID. Creating a schedule does not copy the set, every transaction only has a cursor to its next operation.
+ * The transactions that still have operations are kept in an array; the exhausted one is replaced by the last one
+ * (swap remove), so picking a random transaction and removing it are both O(1).
+ * Creating a schedule allocates nothing and creates no Operation, the schedule is copied with System.arraycopy into
+ * the long array of the same PackedSchedule every time, which the checker reads as ScheduleColumns.
+ * Data structure used is primitive arrays in Java.
+ * Programming language used is Java.
+ *
+ * Input Requirement - The operations of a transaction set (.set file). One generator must only be used by one thread,
+ * use the copy constructor to get a generator for every worker, the copies share the transaction set.
+ *
+ */
+public class RandomScheduleGenerator {
+	private final long[] groupedOperations; // the packed operations of the set, grouped by transaction, never changed
+	private final int[] transactionStart; // transaction slot -> first position in groupedOperations, plus the end
+	private final int[] cursor; // transaction slot -> position of its next operation
+	private final int[] availableTransactions; // transaction slots that still have operations
+	private final PackedSchedule schedule; // the random schedule, overwritten by every call of createRandomLegalSchedule
+
+	/**
+     * Method name: RandomScheduleGenerator()
+     * Purpose: Constructor of RandomScheduleGenerator Class, groups the operations by transaction, transactions in
+     * ascending order of ID, the operations of a transaction in the order of the set
+     * @param listOperations, the operations of the transaction set
+     * @return none
+     */
+	public RandomScheduleGenerator(List<Operation> listOperations) {
+		this(PackedSchedule.of(listOperations));
+	}
+
+	/**
+     * Method name: RandomScheduleGenerator()
+     * Purpose: Constructor of RandomScheduleGenerator Class from the columns of a transaction set (a parsed text file
+     * or a mapped binary file), see the constructor of a List. The schedules keep the transaction and item indexes of
+     * the columns.
+     * @param transactionSet, the operations of the transaction set
+     * @return none
+     */
+	public RandomScheduleGenerator(ScheduleColumns transactionSet) {
+		// Copy the dictionaries in the order of the indexes, so that the indexes stay the same
+		TransactionDictionary transactionDictionary = new TransactionDictionary();
+		long[] sortedTransactionIds = new long[transactionSet.getTransactionCount()];
+		for (int t = 0; t < sortedTransactionIds.length; t++) {
+			sortedTransactionIds[t] = transactionSet.getTransactionId(t);
+			transactionDictionary.intern(sortedTransactionIds[t]);
+		}
+		ItemDictionary itemDictionary = new ItemDictionary();
+		for (int iItem = 0; iItem < transactionSet.getItemCount(); iItem++)
+			itemDictionary.intern(transactionSet.getItemKey(iItem));
+		// The slot of a transaction is the rank of its ID, the operations are grouped with a counting sort (stable)
+		Arrays.sort(sortedTransactionIds);
+		int[] slotOf = new int[sortedTransactionIds.length]; // transaction index -> slot
+		for (int t = 0; t < slotOf.length; t++)
+			slotOf[t] = Arrays.binarySearch(sortedTransactionIds, transactionSet.getTransactionId(t));
+		transactionStart = new int[slotOf.length + 1];
+		for (int i = 0; i < transactionSet.size(); i++)
+			transactionStart[slotOf[transactionSet.getTransaction(i)] + 1]++;
+		for (int t = 0; t < slotOf.length; t++)
+			transactionStart[t + 1] += transactionStart[t];
+		int[] fill = Arrays.copyOf(transactionStart, slotOf.length);
+		groupedOperations = new long[transactionSet.size()];
+		for (int i = 0; i < transactionSet.size(); i++)
+			groupedOperations[fill[slotOf[transactionSet.getTransaction(i)]]++] = PackedSchedule.pack(transactionSet.getOperation(i),
+					transactionSet.getTransaction(i), transactionSet.getItem(i));
+		cursor = new int[slotOf.length];
+		availableTransactions = new int[slotOf.length];
+		schedule = new PackedSchedule(transactionDictionary, itemDictionary, groupedOperations.length);
+	}
+
+	/**
+     * Method name: RandomScheduleGenerator()
+     * Purpose: Copy constructor of RandomScheduleGenerator Class, shares the transaction set and its dictionaries with
+     * the template and has its own cursors and schedule, so that it can be used by another thread
+     * @param template, the generator to copy
+     * @return none
+     */
+	public RandomScheduleGenerator(RandomScheduleGenerator template) {
+		groupedOperations = template.groupedOperations;
+		transactionStart = template.transactionStart;
+		cursor = new int[template.cursor.length];
+		availableTransactions = new int[template.availableTransactions.length];
+		schedule = new PackedSchedule(template.schedule.getTransactionDictionary(), template.schedule.getItemDictionary(),
+				groupedOperations.length);
+	}
+
+	/**
+     * Method name: createRandomLegalSchedule
+     * Purpose: We create one legal random interleaving of the transaction set. Until every operation is used,
+     * a random transaction that still has operations is picked, and its next a to b operations are appended.
+     * Pre-condition - a and b should be non negative valid integers, a <= b and b > 0
+     * Post-condition - The schedule contains every operation of the set exactly once, the operations
+     * of every transaction in their original order
+     * @param random picks the next transaction and how many operations of that transaction come next
+     * @param a lower range (inclusive) that is passed as the command line argument
+     * @param b upper range (inclusive) that is passed as the command line argument
+     * @return PackedSchedule; the random schedule, a view that is overwritten by the next call
+     */
+	public PackedSchedule createRandomLegalSchedule(SplittableRandom random, int a, int b) {
+		long lStart = CheckerMetrics.getInstance().startTimer();
+		int iAvailableCount = cursor.length;
+		for (int t = 0; t < cursor.length; t++) { // every transaction starts at its first operation
+			cursor[t] = transactionStart[t];
+			availableTransactions[t] = t;
+		}
+		long[] scheduleOperations = schedule.getPackedOperations();
+		int iScheduleSize = 0;
+		while (iAvailableCount > 0) { // Loop until all the available transactions are exhausted
+			int iPick = random.nextInt(iAvailableCount); // a random transaction amongst the available ones
+			int iTransaction = availableTransactions[iPick];
+			// Take the next operations of the transaction, but not more than it has left
+			int iTake = Math.min(getRandomInterleaveBetweenIntervals(random, a, b),
+					transactionStart[iTransaction + 1] - cursor[iTransaction]);
+			System.arraycopy(groupedOperations, cursor[iTransaction], scheduleOperations, iScheduleSize, iTake);
+			cursor[iTransaction] += iTake;
+			iScheduleSize += iTake;
+			// The transaction is exhausted, move the last available transaction into its place
+			if (cursor[iTransaction] == transactionStart[iTransaction + 1])
+				availableTransactions[iPick] = availableTransactions[--iAvailableCount];
+		}
+		schedule.setSize(iScheduleSize);
+		CheckerMetrics.getInstance().recordPhase(CheckerMetrics.Phase.GENERATE_SCHEDULE, lStart);
+		return schedule;
+	}
+
+	/**
+     * Method name: getRandomInterleaveBetweenIntervals
+     * Purpose: Generate a random number in the range of a and b (both inclusive)
+     * Pre-condition - a and b should be non negative valid integers, can be same as well
+     * Post-condition - The random int generated must lie within the expected range i.e a <= random_int <=b
+	 * @param random the random stream of the generator
+     * @param a lower range (inclusive) that is passed as the command line argument
+     * @param b upper range (inclusive) that is passed as the command line argument
+     * @return an int in the range of a and b (both inclusive)
+     */
+	private static int getRandomInterleaveBetweenIntervals(SplittableRandom random, int a, int b) {
+		if (a == b) // If both are equal, then return any of the value a or b.
+			return a;
+		return random.nextInt(a, b + 1); // Otherwise generate a random number in the range a <= random_int <=b
+	}
+}
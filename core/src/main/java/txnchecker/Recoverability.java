@@ -0,0 +1,66 @@
+package txnchecker;
+/**
+ * Enum name: Recoverability.java
+ *
+ * Detailed Description -  The recoverability class of a schedule, from the weakest to the strongest. Every class
+ * contains the ones after it: a strict schedule avoids cascading aborts, and a schedule that avoids cascading aborts
+ * is recoverable. A transaction T reads an item from U if the last write of the item before the read is by U (U != T).
+ *    NOT_RECOVERABLE          a transaction commits before a transaction it has read from
+ *    RECOVERABLE              (RC) every transaction that commits does so after the transactions it has read from
+ *    AVOIDS_CASCADING_ABORTS  (ACA) every read is from a transaction that has already committed
+ *    STRICT                   no item is read or written while the transaction that last wrote it has not committed
+ * A transaction without a commit is still active at the end of the schedule, it has not committed.
+ * The class is found in the same single pass as the conflicting pairs, see SerializabilityChecker.
+ *
+ * Programming language used is Java.
+ *
+ */
+public enum Recoverability {
+	NOT_RECOVERABLE("Not Recoverable"),
+	RECOVERABLE("Recoverable"),
+	AVOIDS_CASCADING_ABORTS("Avoids Cascading Aborts"),
+	STRICT("Strict");
+
+	private final String strName;
+
+	/**
+     * Method name: Recoverability()
+     * Purpose: Constructor of Recoverability Enum
+     * @param strName, the name that is printed
+     * @return none
+     */
+	Recoverability(String strName) {
+		this.strName = strName;
+	}
+
+	/**
+     * Method name: isAtLeast
+     * Purpose: Checks if the schedule is in a class, the classes contain the stronger ones
+     * @param recoverability the class
+     * @return boolean; True if this class is that class or a stronger one
+     */
+	public boolean isAtLeast(Recoverability recoverability) {
+		return compareTo(recoverability) >= 0;
+	}
+
+	/**
+     * Method name: getJsonName
+     * Purpose: Gets the name of the class in the JSON records, e.g. avoids_cascading_aborts
+     * @param none
+     * @return String
+     */
+	public String getJsonName() {
+		return name().toLowerCase();
+	}
+
+	/**
+     * Method name: toString
+     * Purpose: Gets the name that is printed, e.g. Avoids Cascading Aborts
+     * @param none
+     * @return String
+     */
+	@Override
+	public String toString() {
+		return strName;
+	}
+}
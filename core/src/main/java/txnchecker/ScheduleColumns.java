@@ -0,0 +1,102 @@
+package txnchecker;
+
+import java.util.ArrayList;
+import java.util.List;
+/**
+ * Interface name: ScheduleColumns.java
+ *
+ * Detailed Description -  The operations of a schedule or a transaction set, read by position from primitive columns,
+ * so that the checker can read a parsed text file (ParsedSchedule) and a mapped binary file (BinarySchedule) the same
+ * way without creating an Operation per line.
+ * The transactions and the items are given as dense indexes (see TransactionDictionary and ItemDictionary), so that
+ * the checker can keep its state in arrays indexed by transaction and by item. The transaction ID and the item key of
+ * an index are read from the dictionaries of the columns.
+ *
+ * Programming language used is Java.
+ *
+ */
+public interface ScheduleColumns {
+	/**
+     * Method name: size
+     * Purpose: Gets the number of operations
+     * @param none
+     * @return int; number of operations
+     */
+	int size();
+
+	/**
+     * Method name: getOperation
+     * Purpose: Gets the operation at a position
+     * @param i position in the schedule
+     * @return char; r, w or c
+     */
+	char getOperation(int i);
+
+	/**
+     * Method name: getTransaction
+     * Purpose: Gets the transaction index at a position
+     * @param i position in the schedule
+     * @return int; transaction index, 0 to getTransactionCount() - 1
+     */
+	int getTransaction(int i);
+
+	/**
+     * Method name: getItem
+     * Purpose: Gets the item index at a position
+     * @param i position in the schedule
+     * @return int; item index, 0 to getItemCount() - 1, -1 for a commit
+     */
+	int getItem(int i);
+
+	/**
+     * Method name: getTransactionCount
+     * Purpose: Gets the number of distinct transactions
+     * @param none
+     * @return int; number of transactions
+     */
+	int getTransactionCount();
+
+	/**
+     * Method name: getTransactionId
+     * Purpose: Gets the transaction ID of a transaction index
+     * @param iTransaction the transaction index
+     * @return long; transaction ID
+     */
+	long getTransactionId(int iTransaction);
+
+	/**
+     * Method name: getItemCount
+     * Purpose: Gets the number of distinct items
+     * @param none
+     * @return int; number of items
+     */
+	int getItemCount();
+
+	/**
+     * Method name: getItemKey
+     * Purpose: Gets the key of an item index
+     * @param iItem the item index
+     * @return String; item key
+     */
+	String getItemKey(int iItem);
+
+	/**
+     * Method name: toOperationList
+     * Purpose: Creates an Operation object for every operation, for the code that works on a List of Operation.
+     * The operations on one item share one String for its key.
+     * @param none
+     * @return List of Operation
+     */
+	default List<Operation> toOperationList() {
+		List<Operation> listOperations = new ArrayList<Operation>(size());
+		String[] itemKeys = new String[getItemCount()];
+		for (int i = 0; i < size(); i++) {
+			int iItem = getItem(i);
+			if (iItem != -1 && itemKeys[iItem] == null)
+				itemKeys[iItem] = getItemKey(iItem);
+			listOperations.add(new Operation(getOperation(i), getTransactionId(getTransaction(i)),
+					iItem != -1 ? itemKeys[iItem] : null));
+		}
+		return listOperations;
+	}
+}
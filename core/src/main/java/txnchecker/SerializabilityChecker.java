@@ -0,0 +1,589 @@
+package txnchecker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+/**
+ * Class name: SerializabilityChecker.java
+ *
+ * Detailed Description -  The entry point of the checker library: builds the precedence graph of a schedule and checks
+ * it for conflict serializability, without printing anything. A schedule can be given as a List of Operation, or as
+ * ScheduleColumns (a file parsed by MappedScheduleParser, or a binary file opened by BinarySchedule).
+ *
+ * Technique useds - The conflicting pairs are found in a single pass over the schedule with a small state per item,
+ * see getConflictedOperations. The transactions and the items are dense indexes (interned by the parser, or here for a
+ * List of Operation), so the state is kept in primitive int arrays, see ConflictTracker; a schedule that touches
+ * millions of distinct items needs no object per item. The graph is checked by CycleDetector in O(V + E).
+ * Conflicts only happen on the same item, so a large schedule in columns can be split by item into shards whose edges
+ * are built on many threads and merged, see buildPrecedenceGraph(ScheduleColumns, int).
+ * The same pass also follows the reads-from relation and the commits, which gives the Recoverability of the schedule
+ * (see RecoverabilityTracker), it is kept with the graph.
+ * Data structure used is primitive int arrays in Java.
+ * Programming language used is Java.
+ *
+ * Input Requirement - The operations of one schedule, in the order they are executed. To check a schedule while it
+ * is executed, one operation at a time, use OnlineSerializabilityChecker.
+ *
+ */
+public class SerializabilityChecker {
+	private static final int MIN_PARALLEL_OPERATIONS = 1 << 16; // smaller schedules are not worth the threads
+	private static final int SHARDS_PER_THREAD = 4; // more shards than threads, so that a shard of hot items can be balanced
+
+	private SerializabilityChecker() {
+	}
+
+	/**
+     * Method name: check
+     * Purpose: Checks a schedule for conflict serializability
+     * Pre-condition - The list of operations should be parsed
+     * Post-condition - None
+     * @param listOperations contains all the operations of a schedule
+     * @return SerializabilityResult; the verdict, with the serialization order or the cycles
+     */
+	public static SerializabilityResult check(List<Operation> listOperations) {
+		return CycleDetector.check(buildPrecedenceGraph(listOperations));
+	}
+
+	/**
+     * Method name: check
+     * Purpose: Checks a schedule in primitive columns (a parsed text file or a mapped binary file) for conflict
+     * serializability
+     * Pre-condition - The schedule should be parsed
+     * Post-condition - None
+     * @param scheduleColumns contains all the operations of a schedule
+     * @return SerializabilityResult; the verdict, with the serialization order or the cycles
+     */
+	public static SerializabilityResult check(ScheduleColumns scheduleColumns) {
+		return CycleDetector.check(buildPrecedenceGraph(scheduleColumns));
+	}
+
+	/**
+     * Method name: buildPrecedenceGraph
+     * Purpose: Gets the precedence graph of a schedule
+     * Pre-condition - The list of operations should be parsed and be ready for creating precendence graph
+     * Post-condition - Every transaction of the schedule is a node of the graph, even if it has no edge
+     * @param listOperations contains all the operations of a schedule, direction going inside the method
+     * @return a PrecedenceGraph that contains the transactions participating in the schedule with a
+     * directed edge T(i)->T(j) if an operation of T(i) conflicts with a later operation of T(j)
+     */
+	public static PrecedenceGraph buildPrecedenceGraph(List<Operation> listOperations) {
+		long lStart = CheckerMetrics.getInstance().startTimer();
+		PrecedenceGraph.Builder graphBuilder = new PrecedenceGraph.Builder();
+		getConflictedOperations(listOperations, graphBuilder); // collect the nodes and the conflicted pairs
+		PrecedenceGraph precedenceGraph = graphBuilder.build();
+		CheckerMetrics.getInstance().recordPhase(CheckerMetrics.Phase.BUILD_GRAPH, lStart);
+		return precedenceGraph;
+	}
+
+	/**
+     * Method name: buildPrecedenceGraph
+     * Purpose: Gets the precedence graph of a schedule in primitive columns (a parsed text file or a mapped binary file)
+     * Pre-condition - The schedule should be parsed and be ready for creating precendence graph
+     * Post-condition - Every transaction of the columns is a node of the graph, even if it has no edge
+     * @param scheduleColumns contains all the operations of a schedule, direction going inside the method
+     * @return a PrecedenceGraph, see buildPrecedenceGraph of a List
+     */
+	public static PrecedenceGraph buildPrecedenceGraph(ScheduleColumns scheduleColumns) {
+		long lStart = CheckerMetrics.getInstance().startTimer();
+		PrecedenceGraph.Builder graphBuilder = new PrecedenceGraph.Builder();
+		// Adding the transactions in the order of their indexes makes the index in the builder the same
+		for (int iTransaction = 0; iTransaction < scheduleColumns.getTransactionCount(); iTransaction++)
+			graphBuilder.addTransaction(scheduleColumns.getTransactionId(iTransaction));
+		ConflictTracker conflictTracker = new ConflictTracker(graphBuilder);
+		RecoverabilityTracker recoverabilityTracker = new RecoverabilityTracker();
+		for (int i = 0; i < scheduleColumns.size(); i++) { // read the operations directly from the columns
+			conflictTracker.addConflictedOperation(scheduleColumns.getOperation(i), scheduleColumns.getTransaction(i),
+					scheduleColumns.getItem(i));
+			recoverabilityTracker.addOperation(scheduleColumns.getOperation(i), scheduleColumns.getTransaction(i),
+					scheduleColumns.getItem(i));
+		}
+		graphBuilder.setRecoverability(recoverabilityTracker.getRecoverability());
+		PrecedenceGraph precedenceGraph = graphBuilder.build();
+		CheckerMetrics.getInstance().recordPhase(CheckerMetrics.Phase.BUILD_GRAPH, lStart);
+		return precedenceGraph;
+	}
+
+	/**
+     * Method name: buildPrecedenceGraph
+     * Purpose: Gets the precedence graph of a schedule in primitive columns on iThreads threads. The read and write
+     * operations are split by item into shards (item index modulo the number of shards), listed per shard in the order
+     * of the schedule with one counting sort of their positions. Every shard runs the single pass of
+     * getConflictedOperations on its own items and keeps its distinct edges, and the edges of the shards are merged into
+     * the builder, which sorts them and drops the edges found by more than one shard.
+     * Pre-condition - The schedule should be parsed and be ready for creating precendence graph
+     * Post-condition - The graph is the same as the one of buildPrecedenceGraph(ScheduleColumns)
+     * @param scheduleColumns contains all the operations of a schedule, direction going inside the method
+     * @param iThreads number of threads, a schedule is built on the calling thread if it is 1 or if it is small
+     * @return a PrecedenceGraph, see buildPrecedenceGraph of a List
+     * @throws IllegalStateException if the thread is interrupted while the shards are built
+     */
+	public static PrecedenceGraph buildPrecedenceGraph(ScheduleColumns scheduleColumns, int iThreads) {
+		int iShards = Math.min(scheduleColumns.getItemCount(), iThreads * SHARDS_PER_THREAD);
+		if (iThreads <= 1 || iShards <= 1 || scheduleColumns.size() < MIN_PARALLEL_OPERATIONS)
+			return buildPrecedenceGraph(scheduleColumns);
+		long lStart = CheckerMetrics.getInstance().startTimer();
+		PrecedenceGraph.Builder graphBuilder = new PrecedenceGraph.Builder();
+		for (int iTransaction = 0; iTransaction < scheduleColumns.getTransactionCount(); iTransaction++)
+			graphBuilder.addTransaction(scheduleColumns.getTransactionId(iTransaction));
+		// Counting sort of the positions of the reads and writes by shard, the commits never conflict. The recoverability
+		// needs the commits of every item, so it is followed in this pass over the whole schedule
+		int[] shardStart = new int[iShards + 1];
+		RecoverabilityTracker recoverabilityTracker = new RecoverabilityTracker();
+		for (int i = 0; i < scheduleColumns.size(); i++) {
+			recoverabilityTracker.addOperation(scheduleColumns.getOperation(i), scheduleColumns.getTransaction(i),
+					scheduleColumns.getItem(i));
+			if (scheduleColumns.getItem(i) != -1)
+				shardStart[scheduleColumns.getItem(i) % iShards + 1]++;
+		}
+		graphBuilder.setRecoverability(recoverabilityTracker.getRecoverability());
+		for (int iShard = 0; iShard < iShards; iShard++)
+			shardStart[iShard + 1] += shardStart[iShard];
+		int[] positions = new int[shardStart[iShards]];
+		int[] shardFill = Arrays.copyOf(shardStart, iShards);
+		for (int i = 0; i < scheduleColumns.size(); i++)
+			if (scheduleColumns.getItem(i) != -1)
+				positions[shardFill[scheduleColumns.getItem(i) % iShards]++] = i;
+		ExecutorService shardPool = Executors.newFixedThreadPool(iThreads);
+		try {
+			List<Future<long[]>> listShardEdges = new ArrayList<Future<long[]>>();
+			for (int iShard = 0; iShard < iShards; iShard++) {
+				int iStart = shardStart[iShard], iEnd = shardStart[iShard + 1];
+				listShardEdges.add(shardPool.submit(() -> getShardEdges(scheduleColumns, positions, iStart, iEnd, iShards)));
+			}
+			for (Future<long[]> eachShardEdges : listShardEdges) { // merged in the order of the shards
+				long[] shardEdges = eachShardEdges.get();
+				graphBuilder.addIndexedEdges(shardEdges, shardEdges.length);
+			}
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while building the precedence graph", e);
+		} finally {
+			shardPool.shutdownNow();
+		}
+		PrecedenceGraph precedenceGraph = graphBuilder.build();
+		CheckerMetrics.getInstance().recordPhase(CheckerMetrics.Phase.BUILD_GRAPH, lStart);
+		return precedenceGraph;
+	}
+
+	/**
+     * Method name: getShardEdges
+     * Purpose: The work of one shard of buildPrecedenceGraph(ScheduleColumns, int); the single pass of
+     * getConflictedOperations over the operations of the items of the shard
+     * Pre-condition - The positions of the shard are in the order of the schedule
+     * Post-condition - None
+     * @param scheduleColumns the schedule, only read
+     * @param positions the positions of the operations of all the shards, only read
+     * @param iStart first position of the shard in positions
+     * @param iEnd position after the last one of the shard in positions
+     * @param iShards number of shards, the items of the shard are numbered item / iShards inside it
+     * @return long array; the distinct edges of the shard, packed as (from transaction index << 32 | to transaction index)
+     */
+	private static long[] getShardEdges(ScheduleColumns scheduleColumns, int[] positions, int iStart, int iEnd, int iShards) {
+		ConflictTracker conflictTracker = new ConflictTracker(null);
+		for (int p = iStart; p < iEnd; p++) {
+			int i = positions[p];
+			conflictTracker.addConflictedOperation(scheduleColumns.getOperation(i), scheduleColumns.getTransaction(i),
+					scheduleColumns.getItem(i) / iShards);
+		}
+		// The edges found twice inside the shard never reach the builder, count them here
+		CheckerMetrics.getInstance().recordEdges(conflictTracker.iDuplicateEdges, conflictTracker.iDuplicateEdges);
+		return conflictTracker.getEdges();
+	}
+
+	/**
+     * Method name: getConflictedOperations
+     * Purpose: Gets the list of conflicted pair of the precedence graph in a single pass over the schedule.
+     * Two operations conflict if they belong to different transactions, work on the same item and at least one
+     * of them is a write. Instead of comparing every operation with every later one, we keep a small state per item
+     * (see ConflictTracker) that remembers the distinct transactions that have written and accessed the item,
+     * and how far each transaction has already looked into those lists. So every conflicting pair of an item is
+     * visited once, and the cost grows with the number of operations and edges instead of n^2.
+     * Commit operations do not read or write an item, therefore they never conflict, they only matter for the
+     * recoverability (see RecoverabilityTracker).
+     * Pre-condition - The list of operations should be parsed and be ready for finding the conflicting pair
+     * Post-condition - Every transaction is added to the builder, and every conflicting pair as a directed edge
+     * T(i)->T(j) which means that an operation of T(i) is before a conflicting operation of T(j). The recoverability
+     * class of the schedule is set on the builder.
+     * @param listOperations contains all the operations of a schedule, direction going inside the method
+     * @param graphBuilder collects the transactions and the conflicted pairs, direction going outside the method
+     * @return none
+     */
+	private static void getConflictedOperations(List<Operation> listOperations, PrecedenceGraph.Builder graphBuilder) {
+		// The items get dense indexes here, the transactions get theirs from the builder
+		ItemDictionary itemDictionary = new ItemDictionary();
+		ConflictTracker conflictTracker = new ConflictTracker(graphBuilder);
+		RecoverabilityTracker recoverabilityTracker = new RecoverabilityTracker();
+		for (Operation eachOperation : listOperations) {
+			int iTransaction = graphBuilder.addTransaction(eachOperation.getlTransactionId()); // Every transaction is a node
+			char cOperation = eachOperation.getcOperation();
+			int iItem = cOperation == 'r' || cOperation == 'w' ? itemDictionary.intern(eachOperation.getStrItem()) : -1;
+			conflictTracker.addConflictedOperation(cOperation, iTransaction, iItem);
+			recoverabilityTracker.addOperation(cOperation, iTransaction, iItem);
+		}
+		graphBuilder.setRecoverability(recoverabilityTracker.getRecoverability());
+	}
+
+	/**
+     * Class name: RecoverabilityTracker
+     * Purpose: Finds the Recoverability of a schedule in one pass, with the item and transaction indexes of the pass
+     * that builds the edges. Every item remembers its last writer, every transaction whether it has committed. A read
+     * or a write of an item whose last writer (another transaction) has not committed breaks strictness; if it is a
+     * read it also reads from an uncommitted transaction, which breaks ACA, and the writer is added to the pending
+     * writers of the reader. When a transaction commits, a pending writer that has still not committed breaks RC.
+     * Every read adds at most one pending writer, so the pass stays linear.
+     */
+	private static class RecoverabilityTracker {
+		private int[] lastWriter = new int[16]; // item index -> transaction index of its last write, -1 if none
+		private boolean[] isCommitted = new boolean[16]; // transaction index -> True once it has committed
+		// transaction index -> first pending writer it has read from, the pending writers are linked lists of entries
+		private int[] pendingHead = new int[16];
+		private int[] pendingWriter = new int[16], pendingNext = new int[16]; // entry -> writer and next entry, -1 at the end
+		private int iPendingCount = 0;
+		private int iItemCapacity = 0, iTransactionCapacity = 0; // items and transactions whose state is initialised
+		private boolean bRecoverable = true, bCascadeless = true, bStrict = true;
+
+		/**
+	     * Method name: addOperation
+	     * Purpose: The step of the pass for one operation
+	     * @param cOperation the operation, r, w or c
+	     * @param iTransaction the transaction index
+	     * @param iItem the item index, ignored for a commit
+	     * @return none
+	     */
+		private void addOperation(char cOperation, int iTransaction, int iItem) {
+			ensureTransaction(iTransaction);
+			if (cOperation == 'c') {
+				if (isCommitted[iTransaction])
+					return;
+				isCommitted[iTransaction] = true;
+				// Every transaction it has read from must have committed first
+				for (int k = pendingHead[iTransaction]; k != -1; k = pendingNext[k])
+					if (!isCommitted[pendingWriter[k]])
+						bRecoverable = false;
+				pendingHead[iTransaction] = -1;
+				return;
+			}
+			if (cOperation != 'r' && cOperation != 'w')
+				return;
+			ensureItem(iItem);
+			int iWriter = lastWriter[iItem];
+			if (iWriter != -1 && iWriter != iTransaction && !isCommitted[iWriter]) {
+				bStrict = false; // the item is used before its last writer has committed
+				if (cOperation == 'r') { // reads from an uncommitted transaction
+					bCascadeless = false;
+					addPending(iTransaction, iWriter);
+				}
+			}
+			if (cOperation == 'w')
+				lastWriter[iItem] = iTransaction;
+		}
+
+		/**
+	     * Method name: getRecoverability
+	     * Purpose: Gets the class of the operations added so far
+	     * @param none
+	     * @return Recoverability; the strongest class of the schedule
+	     */
+		private Recoverability getRecoverability() {
+			if (!bRecoverable)
+				return Recoverability.NOT_RECOVERABLE;
+			if (!bCascadeless)
+				return Recoverability.RECOVERABLE;
+			return bStrict ? Recoverability.STRICT : Recoverability.AVOIDS_CASCADING_ABORTS;
+		}
+
+		/**
+	     * Method name: addPending
+	     * Purpose: Remembers that a transaction has read from a writer that has not committed yet
+	     * @param iReader the transaction index of the reader
+	     * @param iWriter the transaction index of the writer
+	     * @return none
+	     */
+		private void addPending(int iReader, int iWriter) {
+			if (iPendingCount == pendingWriter.length) {
+				pendingWriter = Arrays.copyOf(pendingWriter, iPendingCount * 2);
+				pendingNext = Arrays.copyOf(pendingNext, iPendingCount * 2);
+			}
+			pendingWriter[iPendingCount] = iWriter;
+			pendingNext[iPendingCount] = pendingHead[iReader];
+			pendingHead[iReader] = iPendingCount++;
+		}
+
+		/**
+	     * Method name: ensureItem
+	     * Purpose: Grows the array indexed by item so that it contains an item without a writer
+	     * @param iItem the item index
+	     * @return none
+	     */
+		private void ensureItem(int iItem) {
+			if (iItem < iItemCapacity)
+				return;
+			if (iItem >= lastWriter.length)
+				lastWriter = Arrays.copyOf(lastWriter, Math.max(iItem + 1, 2 * lastWriter.length));
+			Arrays.fill(lastWriter, iItemCapacity, lastWriter.length, -1);
+			iItemCapacity = lastWriter.length;
+		}
+
+		/**
+	     * Method name: ensureTransaction
+	     * Purpose: Grows the arrays indexed by transaction so that they contain a transaction that has not committed
+	     * @param iTransaction the transaction index
+	     * @return none
+	     */
+		private void ensureTransaction(int iTransaction) {
+			if (iTransaction < iTransactionCapacity)
+				return;
+			if (iTransaction >= pendingHead.length) {
+				int iCapacity = Math.max(iTransaction + 1, 2 * pendingHead.length);
+				pendingHead = Arrays.copyOf(pendingHead, iCapacity);
+				isCommitted = Arrays.copyOf(isCommitted, iCapacity);
+			}
+			Arrays.fill(pendingHead, iTransactionCapacity, pendingHead.length, -1);
+			iTransactionCapacity = pendingHead.length;
+		}
+	}
+
+	/**
+     * Class name: ConflictTracker
+     * Purpose: Holds what the single pass of getConflictedOperations has seen so far on every item, in primitive
+     * arrays. Every (item, transaction) pair that has accessed the item gets a pair index, found with an open addressing
+     * hash table keyed by item and transaction. For every item, the writers and the accessors are the distinct
+     * transactions that have written (resp. read or written) the item, in the order of their first access; they are
+     * kept as linked lists of pair indexes. The cursors store for each pair the last pair of these lists up to which
+     * its edges have already been emitted, so a transaction never looks at the same earlier transaction twice.
+     * Without a builder (a shard of buildPrecedenceGraph(ScheduleColumns, int)), the edges are kept in an open
+     * addressing set of packed edges instead, so that an edge found on many items of the shard is kept once.
+     */
+	private static class ConflictTracker {
+		private final PrecedenceGraph.Builder graphBuilder; // null to keep the edges in edgeSet
+		private long[] edgeSet = new long[32]; // packed edges, 0 for an empty slot (an edge never goes to itself)
+		private int iEdgeSetSize = 0;
+		private int iDuplicateEdges = 0; // edges already in edgeSet
+		// item index -> first and last pair of its lists, -1 while the list is empty
+		private int[] accessorHead = new int[16], accessorTail = new int[16];
+		private int[] writerHead = new int[16], writerTail = new int[16];
+		private int iItemCapacity = 0; // items whose lists are initialised
+		// pair index -> its item, its transaction and its place in the lists of the item
+		private int[] pairItem = new int[16], pairTransaction = new int[16];
+		private int[] nextAccessor = new int[16], nextWriter = new int[16]; // -1 at the end of the list
+		private int[] readCursor = new int[16], writeCursor = new int[16]; // last pair looked at, -1 for none yet
+		private boolean[] isWriter = new boolean[16];
+		private int iPairCount = 0;
+		private int[] pairTable = new int[32]; // hash table of pair index + 1, 0 for an empty slot
+
+		/**
+	     * Method name: ConflictTracker()
+	     * Purpose: Constructor of ConflictTracker Class
+	     * @param graphBuilder, collects the conflicted pairs, the transaction indexes are the ones of the builder, null to
+	     * keep the distinct edges, see getEdges
+	     * @return none
+	     */
+		private ConflictTracker(PrecedenceGraph.Builder graphBuilder) {
+			this.graphBuilder = graphBuilder;
+		}
+
+		/**
+	     * Method name: addConflictedOperation
+	     * Purpose: The step of getConflictedOperations for one operation: adds the directed edges from the earlier
+	     * conflicting operations of the same item, then remembers the operation in the item state
+	     * Pre-condition - The earlier operations of the schedule are already added, in order, and the transaction is
+	     * added to the builder
+	     * Post-condition - None
+	     * @param cOperation the operation, r, w or c
+	     * @param iTransaction the transaction index of the builder
+	     * @param iItem the item index, ignored for a commit
+	     * @return none
+	     */
+		private void addConflictedOperation(char cOperation, int iTransaction, int iItem) {
+			// Commit operations do not work on an item, so they cannot conflict with anything
+			if (cOperation != 'r' && cOperation != 'w')
+				return;
+			ensureItem(iItem);
+			int iPair = findPair(iItem, iTransaction);
+			boolean bNewAccessor = iPair == -1;
+			if (bNewAccessor) // First operation of this transaction on this item
+				iPair = addPair(iItem, iTransaction);
+			if (cOperation == 'r') {
+				// A read conflicts with every earlier write of the item by another transaction
+				for (int k = readCursor[iPair] == -1 ? writerHead[iItem] : nextWriter[readCursor[iPair]]; k != -1; k = nextWriter[k]) {
+					if (pairTransaction[k] != iTransaction)
+						addEdge(pairTransaction[k], iTransaction);
+					readCursor[iPair] = k;
+				}
+			} else {
+				// A write conflicts with every earlier read or write of the item by another transaction
+				for (int k = writeCursor[iPair] == -1 ? accessorHead[iItem] : nextAccessor[writeCursor[iPair]]; k != -1; k = nextAccessor[k]) {
+					if (pairTransaction[k] != iTransaction)
+						addEdge(pairTransaction[k], iTransaction);
+					writeCursor[iPair] = k;
+				}
+				if (!isWriter[iPair]) { // Remember the writer only the first time
+					isWriter[iPair] = true;
+					if (writerHead[iItem] == -1)
+						writerHead[iItem] = iPair;
+					else
+						nextWriter[writerTail[iItem]] = iPair;
+					writerTail[iItem] = iPair;
+				}
+			}
+			if (bNewAccessor) { // Remember the accessor only the first time
+				if (accessorHead[iItem] == -1)
+					accessorHead[iItem] = iPair;
+				else
+					nextAccessor[accessorTail[iItem]] = iPair;
+				accessorTail[iItem] = iPair;
+			}
+		}
+
+		/**
+	     * Method name: addEdge
+	     * Purpose: Adds a directed edge to the builder, or to the set of edges if there is no builder
+	     * @param iFrom transaction index of the earlier operation
+	     * @param iTo transaction index of the later operation
+	     * @return none
+	     */
+		private void addEdge(int iFrom, int iTo) {
+			if (graphBuilder != null) {
+				graphBuilder.addIndexedEdge(iFrom, iTo);
+				return;
+			}
+			long lEdge = (long) iFrom << 32 | iTo;
+			int iMask = edgeSet.length - 1;
+			int iSlot = (int) ((lEdge * 0x9E3779B97F4A7C15L) >>> 32) & iMask;
+			for (; edgeSet[iSlot] != 0; iSlot = (iSlot + 1) & iMask)
+				if (edgeSet[iSlot] == lEdge) {
+					iDuplicateEdges++;
+					return; // already found on another item
+				}
+			edgeSet[iSlot] = lEdge;
+			if (2 * ++iEdgeSetSize > edgeSet.length) { // keep the set at most half full
+				long[] oldEdgeSet = edgeSet;
+				edgeSet = new long[oldEdgeSet.length * 2];
+				iMask = edgeSet.length - 1;
+				for (long lEachEdge : oldEdgeSet) {
+					if (lEachEdge == 0)
+						continue;
+					iSlot = (int) ((lEachEdge * 0x9E3779B97F4A7C15L) >>> 32) & iMask;
+					while (edgeSet[iSlot] != 0)
+						iSlot = (iSlot + 1) & iMask;
+					edgeSet[iSlot] = lEachEdge;
+				}
+			}
+		}
+
+		/**
+	     * Method name: getEdges
+	     * Purpose: Gets the distinct edges kept without a builder
+	     * @param none
+	     * @return long array; the packed edges, in no particular order
+	     */
+		private long[] getEdges() {
+			long[] edges = new long[iEdgeSetSize];
+			int iEdge = 0;
+			for (long lEdge : edgeSet)
+				if (lEdge != 0)
+					edges[iEdge++] = lEdge;
+			return edges;
+		}
+
+		/**
+	     * Method name: ensureItem
+	     * Purpose: Grows the arrays indexed by item so that they contain an item, with empty lists
+	     * @param iItem the item index
+	     * @return none
+	     */
+		private void ensureItem(int iItem) {
+			if (iItem < iItemCapacity)
+				return;
+			if (iItem >= accessorHead.length) {
+				int iCapacity = Math.max(iItem + 1, 2 * accessorHead.length);
+				accessorHead = Arrays.copyOf(accessorHead, iCapacity);
+				accessorTail = Arrays.copyOf(accessorTail, iCapacity);
+				writerHead = Arrays.copyOf(writerHead, iCapacity);
+				writerTail = Arrays.copyOf(writerTail, iCapacity);
+			}
+			Arrays.fill(accessorHead, iItemCapacity, accessorHead.length, -1);
+			Arrays.fill(writerHead, iItemCapacity, writerHead.length, -1);
+			iItemCapacity = accessorHead.length;
+		}
+
+		/**
+	     * Method name: findPair
+	     * Purpose: Gets the pair index of an item and a transaction
+	     * @param iItem the item index
+	     * @param iTransaction the transaction index
+	     * @return int; the pair index, -1 if the transaction has not accessed the item yet
+	     */
+		private int findPair(int iItem, int iTransaction) {
+			int iMask = pairTable.length - 1;
+			for (int iSlot = hash(iItem, iTransaction) & iMask; pairTable[iSlot] != 0; iSlot = (iSlot + 1) & iMask) {
+				int iPair = pairTable[iSlot] - 1;
+				if (pairItem[iPair] == iItem && pairTransaction[iPair] == iTransaction)
+					return iPair;
+			}
+			return -1;
+		}
+
+		/**
+	     * Method name: addPair
+	     * Purpose: Adds the pair of an item and a transaction, not yet in the lists of the item
+	     * @param iItem the item index
+	     * @param iTransaction the transaction index
+	     * @return int; the new pair index
+	     */
+		private int addPair(int iItem, int iTransaction) {
+			if (iPairCount == pairItem.length) {
+				int iCapacity = iPairCount * 2;
+				pairItem = Arrays.copyOf(pairItem, iCapacity);
+				pairTransaction = Arrays.copyOf(pairTransaction, iCapacity);
+				nextAccessor = Arrays.copyOf(nextAccessor, iCapacity);
+				nextWriter = Arrays.copyOf(nextWriter, iCapacity);
+				readCursor = Arrays.copyOf(readCursor, iCapacity);
+				writeCursor = Arrays.copyOf(writeCursor, iCapacity);
+				isWriter = Arrays.copyOf(isWriter, iCapacity);
+			}
+			int iPair = iPairCount++;
+			pairItem[iPair] = iItem;
+			pairTransaction[iPair] = iTransaction;
+			nextAccessor[iPair] = nextWriter[iPair] = readCursor[iPair] = writeCursor[iPair] = -1;
+			if (2 * iPairCount > pairTable.length) { // keep the table at most half full
+				pairTable = new int[pairTable.length * 2];
+				for (int iEachPair = 0; iEachPair < iPairCount; iEachPair++)
+					insertPair(iEachPair);
+			} else
+				insertPair(iPair);
+			return iPair;
+		}
+
+		/**
+	     * Method name: insertPair
+	     * Purpose: Puts a pair index in the first free slot of its hash
+	     * @param iPair the pair index
+	     * @return none
+	     */
+		private void insertPair(int iPair) {
+			int iMask = pairTable.length - 1;
+			int iSlot = hash(pairItem[iPair], pairTransaction[iPair]) & iMask;
+			while (pairTable[iSlot] != 0)
+				iSlot = (iSlot + 1) & iMask;
+			pairTable[iSlot] = iPair + 1;
+		}
+
+		/**
+	     * Method name: hash
+	     * Purpose: Hashes an item and a transaction
+	     * @param iItem the item index
+	     * @param iTransaction the transaction index
+	     * @return int; the hash
+	     */
+		private static int hash(int iItem, int iTransaction) {
+			return (int) ((((long) iItem << 32 | iTransaction) * 0x9E3779B97F4A7C15L) >>> 32);
+		}
+	}
+}
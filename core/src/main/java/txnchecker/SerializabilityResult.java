@@ -0,0 +1,103 @@
+package txnchecker;
+
+import java.util.List;
+/**
+ * Class name: SerializabilityResult.java
+ *
+ * Detailed Description -  A class that holds the answer of the conflict serializability check of one precedence graph
+ *
+ * Technique useds - POJOs in Java. The result is created by CycleDetector and is not changed afterwards.
+ * Programming language used is Java.
+ *
+ * Output - The verdict, the serialization order (topological order of the transactions) if the precedence graph is
+ * acyclic, and the transactions of the cycles if it is cyclic. Every strongly connected component of the precedence
+ * graph with more than one transaction is reported as a component, together with one cycle that goes through it.
+ *
+ */
+public class SerializabilityResult {
+	private final long[] serializationOrder;
+	private final List<long[]> cyclicComponents;
+	private final List<long[]> cycles;
+
+	/**
+     * Method name: SerializabilityResult()
+     * Purpose: Constructor of SerializabilityResult POJO Class
+     * @param serializationOrder, the transaction IDs in topological order, null if the graph is cyclic
+     * @param cyclicComponents, the transaction IDs of every cyclic strongly connected component, ascending
+     * @param cycles, one cycle per cyclic component, the transaction IDs in the order of the directed edges
+     * @return none
+     */
+	public SerializabilityResult(long[] serializationOrder, List<long[]> cyclicComponents, List<long[]> cycles) {
+		this.serializationOrder = serializationOrder;
+		this.cyclicComponents = cyclicComponents;
+		this.cycles = cycles;
+	}
+
+	/**
+     * Method name: isConflictSerializable
+     * Purpose: Getter method of the verdict
+     * @param none
+     * @return boolean; True if the precedence graph is acyclic
+     */
+	public boolean isConflictSerializable() {
+		return cycles.isEmpty();
+	}
+
+	/**
+     * Method name: getSerializationOrder
+     * Purpose: Getter method of the serialization order
+     * @param none
+     * @return long array; every transaction ID of the graph in topological order, null if the graph is cyclic
+     */
+	public long[] getSerializationOrder() {
+		return serializationOrder;
+	}
+
+	/**
+     * Method name: getCyclicComponents
+     * Purpose: Getter method of the cyclic strongly connected components, every transaction that is part of
+     * at least one cycle is in exactly one of them
+     * @param none
+     * @return List of long array; the transaction IDs of each component in ascending order, empty if acyclic
+     */
+	public List<long[]> getCyclicComponents() {
+		return cyclicComponents;
+	}
+
+	/**
+     * Method name: getCycles
+     * Purpose: Getter method of the cycle witnesses, one shortest cycle through the smallest transaction ID of
+     * every cyclic component. For the cycle {a, b, c} the edges are a->b, b->c and c->a.
+     * @param none
+     * @return List of long array; the transaction IDs of each cycle, empty if acyclic
+     */
+	public List<long[]> getCycles() {
+		return cycles;
+	}
+
+	/**
+     * Method name: toString()
+     * Purpose: Overriding the default implementation of ToString to print the verdict with the order or the cycles
+     * @param none
+     * @return string
+     */
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		if (isConflictSerializable()) {
+			result.append("Serialization order:");
+			for (long lTransactionId : serializationOrder)
+				result.append(" T").append(lTransactionId);
+		} else {
+			for (long[] eachCycle : cycles) {
+				if (result.length() > 0)
+					result.append('\n');
+				result.append("Cycle:");
+				for (long lTransactionId : eachCycle)
+					result.append(" T").append(lTransactionId).append(" ->");
+				result.append(" T").append(eachCycle[0]);
+			}
+		}
+		return result.toString();
+	}
+}
@@ -0,0 +1,109 @@
+package txnchecker;
+
+import java.util.Arrays;
+/**
+ * Class name: TransactionDictionary.java
+ *
+ * Detailed Description -  A class that gives every distinct transaction ID of a schedule a dense transaction index, 0 to
+ * (number of transactions - 1) in the order the IDs are first seen, so that the checker can keep its state per
+ * transaction in primitive arrays. A transaction ID is any non negative 64 bit integer.
+ *
+ * Technique useds - The IDs are stored in a long array by index, and the index of an ID is found with an open
+ * addressing hash table of transaction indexes (linear probing, at most half full). No Long or Integer is created.
+ * Data structure used is primitive arrays in Java.
+ * Programming language used is Java.
+ *
+ * Input Requirement - Transaction IDs. Finding IDs is safe from many threads while no ID is interned.
+ *
+ */
+public class TransactionDictionary {
+	private long[] transactionIds = new long[16]; // transaction index -> transaction ID
+	private int[] table = new int[32]; // hash table of transaction index + 1, 0 for an empty slot
+	private int iSize = 0;
+
+	/**
+     * Method name: intern
+     * Purpose: Gets the transaction index of an ID, the ID is added if it is new
+     * Pre-condition - None
+     * Post-condition - The ID is in the dictionary
+     * @param lTransactionId the transaction ID
+     * @return int; the transaction index
+     */
+	public int intern(long lTransactionId) {
+		int iMask = table.length - 1;
+		int iSlot = mix(lTransactionId) & iMask;
+		for (; table[iSlot] != 0; iSlot = (iSlot + 1) & iMask)
+			if (transactionIds[table[iSlot] - 1] == lTransactionId)
+				return table[iSlot] - 1;
+		if (iSize == transactionIds.length)
+			transactionIds = Arrays.copyOf(transactionIds, iSize * 2);
+		int iTransaction = iSize++;
+		transactionIds[iTransaction] = lTransactionId;
+		if (2 * iSize > table.length)
+			rehash(table.length * 2);
+		else
+			table[iSlot] = iTransaction + 1;
+		return iTransaction;
+	}
+
+	/**
+     * Method name: find
+     * Purpose: Gets the transaction index of an ID without adding it
+     * @param lTransactionId the transaction ID
+     * @return int; the transaction index, -1 if the ID is not in the dictionary
+     */
+	public int find(long lTransactionId) {
+		int iMask = table.length - 1;
+		for (int iSlot = mix(lTransactionId) & iMask; table[iSlot] != 0; iSlot = (iSlot + 1) & iMask)
+			if (transactionIds[table[iSlot] - 1] == lTransactionId)
+				return table[iSlot] - 1;
+		return -1;
+	}
+
+	/**
+     * Method name: getTransactionId
+     * Purpose: Gets the transaction ID of a transaction index
+     * @param iTransaction the transaction index
+     * @return long; the transaction ID
+     */
+	public long getTransactionId(int iTransaction) {
+		return transactionIds[iTransaction];
+	}
+
+	/**
+     * Method name: size
+     * Purpose: Getter method of the number of distinct transaction IDs
+     * @param none
+     * @return int; number of transactions
+     */
+	public int size() {
+		return iSize;
+	}
+
+	/**
+     * Method name: rehash
+     * Purpose: Builds the hash table again with a new capacity
+     * @param iCapacity the number of slots, a power of 2
+     * @return none
+     */
+	private void rehash(int iCapacity) {
+		table = new int[iCapacity];
+		int iMask = iCapacity - 1;
+		for (int iTransaction = 0; iTransaction < iSize; iTransaction++) {
+			int iSlot = mix(transactionIds[iTransaction]) & iMask;
+			while (table[iSlot] != 0)
+				iSlot = (iSlot + 1) & iMask;
+			table[iSlot] = iTransaction + 1;
+		}
+	}
+
+	/**
+     * Method name: mix
+     * Purpose: Spreads the bits of an ID, so that the low bits used for the slot depend on every bit of the ID
+     * @param lTransactionId the transaction ID
+     * @return int; the hash
+     */
+	private static int mix(long lTransactionId) {
+		return (int) ((lTransactionId * 0x9E3779B97F4A7C15L) >>> 32);
+	}
+}
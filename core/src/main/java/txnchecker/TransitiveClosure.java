@@ -0,0 +1,78 @@
+package txnchecker;
+/**
+ * Class name: TransitiveClosure.java
+ *
+ * Detailed Description -  The transitive closure of a small directed graph kept as bit sets, one row of reachable
+ * nodes per node, so that an edge closes a cycle exactly when its target already reaches its source, seen in O(1).
+ * Shared by FailFastChecker and InterleavingCounter (at most 64 nodes, one word per row) and ViewSerializabilityChecker
+ * (any number of nodes, a row of several words, and the changed words go to its trail for backtracking).
+ *
+ * Technique useds - Adding the edge u->v ors the row of v and the bit of v into the row of every node that reaches u,
+ * and of u itself: O(n * words) per new edge, nothing for an edge the closure already implies.
+ * Data structure used is a long array of rows, row x at x * iWords, bit v of row x set if x reaches v.
+ * Programming language used is Java.
+ *
+ * Input Requirement - The closure of an acyclic graph: no node reaches itself.
+ *
+ */
+final class TransitiveClosure {
+	/**
+	 * Interface name: Trail
+	 * Purpose: Receives every word of the closure before closeOver changes it, to undo the change later
+	 */
+	interface Trail {
+		/**
+	     * Method name: record
+	     * Purpose: Remembers a word of the closure before it changes
+	     * @param iIndex the index of the word in the closure
+	     * @param lOldWord the value of the word before the change
+	     * @return none
+	     */
+		void record(int iIndex, long lOldWord);
+	}
+
+	private TransitiveClosure() {
+	}
+
+	/**
+     * Method name: isReachable
+     * Purpose: Checks if a node reaches another one in the closure
+     * @param closure the rows of the closure
+     * @param iWords the words of a row
+     * @param u the node the path is going from
+     * @param v the node the path is going to
+     * @return boolean; True if there is a path u->v
+     */
+	static boolean isReachable(long[] closure, int iWords, int u, int v) {
+		return (closure[u * iWords + (v >>> 6)] >>> v & 1L) != 0;
+	}
+
+	/**
+     * Method name: closeOver
+     * Purpose: Adds the edge u->v to the closure: everything that reaches u, and u, now reaches v and beyond
+     * Pre-condition - u != v and v does not reach u, the edge does not close a cycle
+     * Post-condition - The closure is transitive again
+     * @param closure the rows of the closure, changed in place
+     * @param iWords the words of a row
+     * @param u the node the edge is going from
+     * @param v the node the edge is going to
+     * @param trail receives every word before it changes, null if the change is not undone
+     * @return none
+     */
+	static void closeOver(long[] closure, int iWords, int u, int v, Trail trail) {
+		int iRowV = v * iWords;
+		int iBitWord = v >>> 6;
+		for (int x = 0, iRowX = 0; iRowX < closure.length; x++, iRowX += iWords) {
+			if (x != u && !isReachable(closure, iWords, x, u))
+				continue;
+			for (int k = 0; k < iWords; k++) {
+				long lWord = closure[iRowX + k] | closure[iRowV + k] | (k == iBitWord ? 1L << v : 0L);
+				if (lWord == closure[iRowX + k])
+					continue;
+				if (trail != null)
+					trail.record(iRowX + k, closure[iRowX + k]);
+				closure[iRowX + k] = lWord;
+			}
+		}
+	}
+}
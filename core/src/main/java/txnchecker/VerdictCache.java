@@ -0,0 +1,172 @@
+package txnchecker;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+/**
+ * Class name: VerdictCache.java
+ *
+ * Detailed Description -  A bounded cache of the results of CycleDetector, keyed by the precedence graph, so that a
+ * graph that has already been checked (many random schedules of one transaction set have the same precedence graph)
+ * is not checked again. It counts its hits and misses so that the saved work can be reported.
+ *
+ * Technique useds - The key is a canonical signature of the graph: the transaction IDs of the nodes in ascending order,
+ * followed by the edges. With at most 64 nodes every node has one 64 bit set of its targets (a bit set over the pairs
+ * of transactions), otherwise every edge is packed as (from node << 32 | to node), in the sorted order of the CSR
+ * layout. Two graphs have the same signature exactly when they have the same transactions and the same edges, so a
+ * hit is never wrong. The eviction is least recently used, with a LinkedHashMap in access order. The cache is
+ * synchronized, so the workers of Task 2 can share it.
+ * Data structure used is LinkedHashMap in Java.
+ * Programming language used is Java.
+ *
+ * Input Requirement - The capacity, at least 1.
+ *
+ */
+public class VerdictCache {
+	private final Map<Signature, SerializabilityResult> mapSignatureToResult;
+	private long lHits = 0;
+	private long lMisses = 0;
+	private long lEvictions = 0;
+
+	/**
+     * Method name: VerdictCache()
+     * Purpose: Constructor of VerdictCache Class
+     * @param iCapacity, the most results that are kept
+     * @return none
+     */
+	public VerdictCache(int iCapacity) {
+		mapSignatureToResult = new LinkedHashMap<Signature, SerializabilityResult>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Signature, SerializabilityResult> eldest) {
+				if (size() <= iCapacity)
+					return false;
+				lEvictions++;
+				return true;
+			}
+		};
+	}
+
+	/**
+     * Method name: check
+     * Purpose: Gets the result of CycleDetector.check of a graph, from the cache if the same graph has been checked
+     * Pre-condition - None
+     * Post-condition - The result is in the cache, as the most recently used
+     * @param precedenceGraph the precedence graph
+     * @return SerializabilityResult; the verdict, with the serialization order or the cycles
+     */
+	public SerializabilityResult check(PrecedenceGraph precedenceGraph) {
+		Signature signature = new Signature(precedenceGraph);
+		synchronized (this) {
+			SerializabilityResult cachedResult = mapSignatureToResult.get(signature);
+			if (cachedResult != null) {
+				lHits++;
+				CheckerMetrics.getInstance().recordCacheLookup(true);
+				return cachedResult;
+			}
+			lMisses++;
+		}
+		CheckerMetrics.getInstance().recordCacheLookup(false);
+		SerializabilityResult serializabilityResult = CycleDetector.check(precedenceGraph); // outside of the lock
+		synchronized (this) {
+			mapSignatureToResult.put(signature, serializabilityResult);
+		}
+		return serializabilityResult;
+	}
+
+	/**
+     * Method name: getHits
+     * Purpose: Getter method of the number of checks answered from the cache
+     * @param none
+     * @return long
+     */
+	public synchronized long getHits() {
+		return lHits;
+	}
+
+	/**
+     * Method name: getMisses
+     * Purpose: Getter method of the number of checks that ran CycleDetector
+     * @param none
+     * @return long
+     */
+	public synchronized long getMisses() {
+		return lMisses;
+	}
+
+	/**
+     * Method name: getEvictions
+     * Purpose: Getter method of the number of results removed to stay within the capacity
+     * @param none
+     * @return long
+     */
+	public synchronized long getEvictions() {
+		return lEvictions;
+	}
+
+	/**
+     * Method name: getSize
+     * Purpose: Getter method of the number of results in the cache
+     * @param none
+     * @return int
+     */
+	public synchronized int getSize() {
+		return mapSignatureToResult.size();
+	}
+
+	/**
+     * Method name: getHitRate
+     * Purpose: Gets the fraction of the checks answered from the cache
+     * @param none
+     * @return double; between 0 and 1, 0 before the first check
+     */
+	public synchronized double getHitRate() {
+		return lHits + lMisses == 0 ? 0 : (double) lHits / (lHits + lMisses);
+	}
+
+	/**
+     * Class name: Signature
+     * Purpose: The canonical signature of a precedence graph, see the class description
+     */
+	private static class Signature {
+		private final long[] words;
+		private final int iHash;
+
+		/**
+	     * Method name: Signature()
+	     * Purpose: Constructor of Signature Class
+	     * @param precedenceGraph, the graph
+	     * @return none
+	     */
+		private Signature(PrecedenceGraph precedenceGraph) {
+			int iNodes = precedenceGraph.getNodeCount();
+			boolean bBitSets = iNodes <= 64;
+			words = new long[1 + iNodes + (bBitSets ? iNodes : precedenceGraph.getEdgeCount())];
+			words[0] = iNodes;
+			for (int iNode = 0; iNode < iNodes; iNode++)
+				words[1 + iNode] = precedenceGraph.getTransactionId(iNode);
+			int iWord = 1 + iNodes;
+			for (int iNode = 0; iNode < iNodes; iNode++) {
+				for (int iEdge = precedenceGraph.getEdgeStart(iNode); iEdge < precedenceGraph.getEdgeEnd(iNode); iEdge++)
+					if (bBitSets)
+						words[iWord] |= 1L << precedenceGraph.getEdgeTarget(iEdge);
+					else
+						words[iWord++] = (long) iNode << 32 | precedenceGraph.getEdgeTarget(iEdge);
+				if (bBitSets)
+					iWord++;
+			}
+			iHash = Arrays.hashCode(words);
+		}
+
+		@Override
+		public int hashCode() {
+			return iHash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Signature && ((Signature) o).iHash == iHash && Arrays.equals(((Signature) o).words, words);
+		}
+	}
+}
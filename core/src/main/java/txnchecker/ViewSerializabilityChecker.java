@@ -0,0 +1,770 @@
+package txnchecker;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+/**
+ * Class name: ViewSerializabilityChecker.java
+ *
+ * Detailed Description -  A class that checks if a schedule is view serializable, i.e. if some serial order of its
+ * transactions gives every read the same write to read from and every item the same final write. Every conflict
+ * serializable schedule is view serializable, the converse fails only with blind writes (a write of an item the
+ * transaction has not read before), e.g. r1A w2A w1A w3A is view equivalent to T1 T2 T3 but has the cycle T1 <-> T2.
+ * Deciding it is NP-complete, so the search runs under a time and a node budget and answers unknown when they run out.
+ *
+ * Technique useds - The cheap cases are answered first: a schedule whose reads cannot be reproduced by any serial order
+ * (a read of a write that its transaction overwrites later, or a transaction reading another write after its own) is
+ * not view serializable, a conflict serializable schedule is view serializable in its conflict order, and a schedule
+ * without blind writes is view serializable only if it is conflict serializable. The rest is the polygraph of the
+ * schedule: T reads X from U gives the arc U->T, and every other writer W of X must not come between them, the choice
+ * W->U or T->W. A read from the initial value forces T->W, the final write of X by U forces W->U. The polygraph is
+ * view serializable exactly when one arc of every choice can be taken without a cycle.
+ * 1. The forced arcs alone are checked with CycleDetector, a cycle there is a cycle of every serial order.
+ * 2. The strongly connected components of the forced arcs plus both arcs of every choice are found with CycleDetector.
+ *    An arc between two components follows the order of the components and never closes a cycle, so a choice with
+ *    such an arc takes it, and every component is searched on its own with only its own arcs and choices.
+ * 3. A component is searched depth first over its choices. The arcs are kept as their TransitiveClosure, one bit set
+ *    of reachable transactions per transaction, and undone from a trail of the changed words on backtracking. After
+ *    every decision the choices are propagated: a choice whose arc is already implied is dropped, a choice with one arc
+ *    that closes a cycle takes the other one, and a choice with two such arcs fails the branch.
+ * 4. Which choices are left and which can still be taken only depends on the closure, so the closures of the failed
+ *    branches are memoized and not searched again, up to a bounded number of words.
+ * The serial order of a view serializable schedule is the topological sort of the forced and the taken arcs.
+ * Data structure used is long bit sets, primitive arrays, HashMap and HashSet in Java.
+ * Programming language used is Java.
+ *
+ * Input Requirement - The operations of a schedule, in order. Commits are ignored, a transaction that only commits is
+ * placed anywhere in the order.
+ *
+ */
+public class ViewSerializabilityChecker {
+	private static final long MEMO_WORDS = 1L << 22; // most words of closure kept by the memo of the failed branches
+	private static final int MAX_CHOICES = 1 << 22; // most choices of the polygraph, 16 bytes each
+	private final ScheduleColumns schedule;
+	private final int iTransactionCount;
+	private final boolean bBlindWrites; // True if some write is of an item its transaction has not read before
+	private final String strNoSerialReads; // why no serial order reads the same writes, null if it is possible
+	private long[] forcedArcs; // packed From/To transaction indexes, as in PrecedenceGraph.Builder
+	private int iForcedCount;
+	private int[] choices; // 4 indexes per choice a, b, c, d: the arc a->b or the arc c->d
+	private int iChoiceCount;
+	// The state of the search of one component
+	private int iWords; // words of a closure row
+	private long[] closure; // local index -> bit set of the local indexes it reaches, iWords per row
+	private int[] trailIndex; // changed word of the closure, and its value before
+	private long[] trailValue;
+	private int iTrailSize;
+	private final TransitiveClosure.Trail trail = this::pushTrail; // addArc records the changed words with it
+	private int[] pending; // choices not implied by the closure yet at positions 0 to iPendingCount - 1
+	private int iPendingCount;
+	private Set<State> failedStates;
+	private long lMemoWords;
+	private long lNodeCount;
+	private long lNodeBudget;
+	private long lDeadline;
+
+	/**
+     * Method name: ViewSerializabilityChecker()
+     * Purpose: Constructor of ViewSerializabilityChecker Class, finds in one pass if the reads of the schedule can be
+     * reproduced by a serial order and if it has blind writes, the polygraph is only built by check when it is needed
+     * @param schedule, the operations of the schedule, in order
+     * @return none
+     */
+	public ViewSerializabilityChecker(ScheduleColumns schedule) {
+		this.schedule = schedule;
+		iTransactionCount = schedule.getTransactionCount();
+		int iItemCount = schedule.getItemCount();
+		int[] lastWriter = new int[iItemCount]; // item index -> transaction index of its last write, -1 if none
+		Arrays.fill(lastWriter, -1);
+		// Transaction and item of the writes read by another transaction -> a reader, they must stay the last write
+		Map<Long, Integer> mapReadBy = new HashMap<Long, Integer>();
+		Set<Long> setWritten = new HashSet<Long>(); // transaction and item of the writes so far
+		Set<Long> setRead = new HashSet<Long>(); // transaction and item of the reads so far
+		boolean bBlindWrites = false;
+		String strNoSerialReads = null;
+		for (int i = 0; i < schedule.size() && strNoSerialReads == null; i++) {
+			char cOperation = schedule.getOperation(i);
+			if (cOperation != 'r' && cOperation != 'w')
+				continue; // a commit does not work on an item
+			int t = schedule.getTransaction(i);
+			int iItem = schedule.getItem(i);
+			long lKey = getKey(t, iItem);
+			if (cOperation == 'w') {
+				Integer reader = mapReadBy.get(lKey);
+				if (reader != null)
+					strNoSerialReads = "T" + schedule.getTransactionId(reader) + " reads "
+							+ schedule.getItemKey(iItem) + " from T" + schedule.getTransactionId(t) + " before T"
+							+ schedule.getTransactionId(t) + " writes it again, a serial order gives it the last write";
+				bBlindWrites |= !setRead.contains(lKey);
+				setWritten.add(lKey);
+				lastWriter[iItem] = t;
+				continue;
+			}
+			setRead.add(lKey);
+			if (lastWriter[iItem] == t)
+				continue; // a read of its own write, every serial order gives it the same write
+			if (setWritten.contains(lKey))
+				strNoSerialReads = "T" + schedule.getTransactionId(t) + " reads " + schedule.getItemKey(iItem) + " from T"
+						+ schedule.getTransactionId(lastWriter[iItem]) + " after writing it, a serial order gives it its own write";
+			if (lastWriter[iItem] != -1)
+				mapReadBy.put(getKey(lastWriter[iItem], iItem), t);
+		}
+		this.bBlindWrites = bBlindWrites;
+		this.strNoSerialReads = strNoSerialReads;
+	}
+
+	/**
+     * Method name: ViewSerializabilityChecker()
+     * Purpose: Constructor of ViewSerializabilityChecker Class, for a List of Operation
+     * @param listOperations, the operations of the schedule, in order
+     * @return none
+     */
+	public ViewSerializabilityChecker(List<Operation> listOperations) {
+		this(PackedSchedule.of(listOperations));
+	}
+
+	/**
+     * Method name: check
+     * Purpose: Checks if the schedule is view serializable, the search stops when either budget runs out. The schedule
+     * is checked for conflict serializability too, use check(SerializabilityResult, long, long) if it already is.
+     * Pre-condition - None
+     * Post-condition - None
+     * @param lTimeBudgetMillis the most milliseconds of the search
+     * @param lNodeBudget the most decisions of the search
+     * @return Result; the verdict with the serial order if it is view serializable, unknown if a budget ran out
+     */
+	public Result check(long lTimeBudgetMillis, long lNodeBudget) {
+		return check(null, lTimeBudgetMillis, lNodeBudget);
+	}
+
+	/**
+     * Method name: check
+     * Purpose: Same as check(long, long) with the conflict serializability of the schedule the caller already has.
+     * The check is recorded as one call of CheckerMetrics.Phase.VIEW_SEARCH, its polygraphs are not recorded as graphs
+     * or cycle checks.
+     * Pre-condition - conflictResult is the result of CycleDetector for the precedence graph of the schedule
+     * Post-condition - None
+     * @param conflictResult the conflict serializability of the schedule, null to check it here when it is needed
+     * @param lTimeBudgetMillis the most milliseconds of the search
+     * @param lNodeBudget the most decisions of the search
+     * @return Result; the verdict with the serial order if it is view serializable, unknown if a budget ran out
+     */
+	public Result check(SerializabilityResult conflictResult, long lTimeBudgetMillis, long lNodeBudget) {
+		long lStart = CheckerMetrics.getInstance().startTimer();
+		try {
+			return checkPolygraph(conflictResult, lTimeBudgetMillis, lNodeBudget);
+		} finally {
+			CheckerMetrics.getInstance().recordPhase(CheckerMetrics.Phase.VIEW_SEARCH, lStart);
+		}
+	}
+
+	/**
+     * Method name: checkPolygraph
+     * Purpose: Answers the cheap cases, then builds the polygraph and searches it, see the class comment
+     * @param conflictResult the conflict serializability of the schedule, null if it is not checked yet
+     * @param lTimeBudgetMillis the most milliseconds of the search
+     * @param lNodeBudget the most decisions of the search
+     * @return Result; the verdict
+     */
+	private Result checkPolygraph(SerializabilityResult conflictResult, long lTimeBudgetMillis, long lNodeBudget) {
+		if (strNoSerialReads != null)
+			return new Result(Verdict.NOT_VIEW_SERIALIZABLE, null, 0, strNoSerialReads);
+		if (conflictResult == null)
+			conflictResult = CycleDetector.check(SerializabilityChecker.buildPrecedenceGraph(schedule));
+		if (conflictResult.isConflictSerializable())
+			return new Result(Verdict.VIEW_SERIALIZABLE, conflictResult.getSerializationOrder(), 0,
+					"it is conflict serializable");
+		if (!bBlindWrites)
+			return new Result(Verdict.NOT_VIEW_SERIALIZABLE, null, 0,
+					"it has no blind writes and is not conflict serializable");
+		if (!buildPolygraph())
+			return new Result(Verdict.UNKNOWN, null, 0, "the polygraph has more than " + MAX_CHOICES + " choices");
+		// 1. A cycle of the forced arcs is a cycle of every serial order
+		SerializabilityResult forcedResult = CycleDetector.check(getGraph(forcedArcs, iForcedCount), false);
+		if (!forcedResult.isConflictSerializable())
+			return new Result(Verdict.NOT_VIEW_SERIALIZABLE, null, 0,
+					"the reads-from and the final writes force the cycle " + toCycleString(forcedResult.getCycles().get(0)));
+		// 2. The components of the forced arcs and both arcs of every choice are searched one by one
+		long[] polygraphArcs = Arrays.copyOf(forcedArcs, iForcedCount + 2 * iChoiceCount);
+		for (int iChoice = 0; iChoice < iChoiceCount; iChoice++) {
+			polygraphArcs[iForcedCount + 2 * iChoice] = getArc(choices, 4 * iChoice);
+			polygraphArcs[iForcedCount + 2 * iChoice + 1] = getArc(choices, 4 * iChoice + 2);
+		}
+		PrecedenceGraph polygraph = getGraph(polygraphArcs, polygraphArcs.length);
+		int[] indexOfNode = new int[iTransactionCount]; // node of the graph -> transaction index
+		for (int t = 0; t < iTransactionCount; t++)
+			indexOfNode[polygraph.getNode(schedule.getTransactionId(t))] = t;
+		List<long[]> listComponents = CycleDetector.check(polygraph, false).getCyclicComponents();
+		int[] componentOf = new int[iTransactionCount]; // transaction index -> cyclic component, -1 if none
+		Arrays.fill(componentOf, -1);
+		for (int iComponent = 0; iComponent < listComponents.size(); iComponent++)
+			for (long lTransactionId : listComponents.get(iComponent))
+				componentOf[indexOfNode[polygraph.getNode(lTransactionId)]] = iComponent;
+		// The forced arcs and the choices inside every component, sorted by component
+		long[] componentArcs = new long[iForcedCount];
+		int iComponentArcCount = 0;
+		for (int iArc = 0; iArc < iForcedCount; iArc++) {
+			int iComponent = getComponent(componentOf, forcedArcs[iArc]);
+			if (iComponent != -1)
+				componentArcs[iComponentArcCount++] = (long) iComponent << 32 | iArc;
+		}
+		Arrays.sort(componentArcs, 0, iComponentArcCount);
+		long[] takenArcs = Arrays.copyOf(forcedArcs, iForcedCount + iChoiceCount);
+		int iTakenCount = iForcedCount;
+		long[] componentChoices = new long[iChoiceCount];
+		int iComponentChoiceCount = 0;
+		for (int iChoice = 0; iChoice < iChoiceCount; iChoice++) {
+			long lArc1 = getArc(choices, 4 * iChoice), lArc2 = getArc(choices, 4 * iChoice + 2);
+			if (getComponent(componentOf, lArc1) == -1) // the arc goes from one component to another one
+				takenArcs[iTakenCount++] = lArc1;
+			else if (getComponent(componentOf, lArc2) == -1)
+				takenArcs[iTakenCount++] = lArc2;
+			else // both arcs share a transaction, so both are in its component
+				componentChoices[iComponentChoiceCount++] = (long) getComponent(componentOf, lArc1) << 32 | iChoice;
+		}
+		Arrays.sort(componentChoices, 0, iComponentChoiceCount);
+		// 3. Search every component under the budgets
+		this.lNodeBudget = lNodeBudget;
+		lDeadline = System.nanoTime() + lTimeBudgetMillis * 1000000L;
+		lNodeCount = 0;
+		int[] localOf = new int[iTransactionCount]; // transaction index -> index in its component
+		int iArcFrom = 0, iChoiceFrom = 0;
+		try {
+			for (int iComponent = 0; iComponent < listComponents.size(); iComponent++) {
+				long[] component = listComponents.get(iComponent);
+				int[] members = new int[component.length]; // index in the component -> transaction index
+				for (int iLocal = 0; iLocal < members.length; iLocal++) {
+					members[iLocal] = indexOfNode[polygraph.getNode(component[iLocal])];
+					localOf[members[iLocal]] = iLocal;
+				}
+				int iArcTo = iArcFrom, iChoiceTo = iChoiceFrom;
+				while (iArcTo < iComponentArcCount && (int) (componentArcs[iArcTo] >>> 32) == iComponent)
+					iArcTo++;
+				while (iChoiceTo < iComponentChoiceCount && (int) (componentChoices[iChoiceTo] >>> 32) == iComponent)
+					iChoiceTo++;
+				int[] localChoices = new int[4 * (iChoiceTo - iChoiceFrom)];
+				for (int i = iChoiceFrom; i < iChoiceTo; i++)
+					for (int k = 0; k < 4; k++)
+						localChoices[4 * (i - iChoiceFrom) + k] = localOf[choices[4 * (int) componentChoices[i] + k]];
+				startComponent(members.length, localChoices);
+				for (int i = iArcFrom; i < iArcTo; i++) { // the forced arcs are acyclic, see 1.
+					long lArc = forcedArcs[(int) componentArcs[i]];
+					addArc(localOf[(int) (lArc >>> 32)], localOf[(int) lArc]);
+				}
+				if (!search(localChoices))
+					return new Result(Verdict.NOT_VIEW_SERIALIZABLE, null, lNodeCount, "no choice of the arcs of the "
+							+ members.length + " transactions of " + toCycleString(component) + " is acyclic");
+				for (int i = 0; i < localChoices.length; i += 4) // take the arc of every choice the closure implies
+					takenArcs[iTakenCount++] = isReachable(localChoices[i], localChoices[i + 1])
+							? getArc(choices, 4 * (int) componentChoices[iChoiceFrom + i / 4])
+							: getArc(choices, 4 * (int) componentChoices[iChoiceFrom + i / 4] + 2);
+				iArcFrom = iArcTo;
+				iChoiceFrom = iChoiceTo;
+			}
+		} catch (BudgetExceededException e) {
+			return new Result(Verdict.UNKNOWN, null, lNodeCount, "the search needs more than "
+					+ (lNodeCount >= lNodeBudget ? lNodeBudget + " nodes" : lTimeBudgetMillis + " ms"));
+		} finally {
+			closure = null; // the memo can be large, do not keep it after the check
+			failedStates = null;
+		}
+		// 4. The forced and the taken arcs are acyclic, their topological sort is a view equivalent serial order
+		long[] serialOrder = CycleDetector.check(getGraph(takenArcs, iTakenCount), false).getSerializationOrder();
+		return new Result(Verdict.VIEW_SERIALIZABLE, serialOrder, lNodeCount, "the polygraph is acyclic");
+	}
+
+	/**
+     * Method name: buildPolygraph
+     * Purpose: Turns every read into its arc and its choices, and every final write into its arcs
+     * Pre-condition - Every read can be reproduced by a serial order
+     * Post-condition - forcedArcs and choices hold the polygraph
+     * @param none
+     * @return boolean; False if the polygraph has more than MAX_CHOICES choices
+     */
+	private boolean buildPolygraph() {
+		int iItemCount = schedule.getItemCount();
+		// The transactions that write every item
+		Set<Long> setWritten = new HashSet<Long>();
+		int[] writerCount = new int[iItemCount];
+		for (int i = 0; i < schedule.size(); i++)
+			if (schedule.getOperation(i) == 'w' && setWritten.add(getKey(schedule.getTransaction(i), schedule.getItem(i))))
+				writerCount[schedule.getItem(i)]++;
+		int[][] writers = new int[iItemCount][]; // item index -> the transactions that write it
+		for (int iItem = 0; iItem < iItemCount; iItem++)
+			writers[iItem] = new int[writerCount[iItem]];
+		Arrays.fill(writerCount, 0);
+		for (Long lKey : setWritten)
+			writers[(int) (long) lKey][writerCount[(int) (long) lKey]++] = (int) (lKey >>> 32);
+		forcedArcs = new long[16];
+		iForcedCount = 0;
+		choices = new int[16];
+		iChoiceCount = 0;
+		int[] lastWriter = new int[iItemCount]; // item index -> transaction index of its last write, -1 if none
+		Arrays.fill(lastWriter, -1);
+		Map<Long, Integer> mapReadsFrom = new HashMap<Long, Integer>(); // transaction and item -> writer of its last read
+		for (int i = 0; i < schedule.size(); i++) {
+			char cOperation = schedule.getOperation(i);
+			if (cOperation == 'w')
+				lastWriter[schedule.getItem(i)] = schedule.getTransaction(i);
+			if (cOperation != 'r')
+				continue;
+			int t = schedule.getTransaction(i);
+			int iItem = schedule.getItem(i);
+			int u = lastWriter[iItem];
+			if (u == t)
+				continue; // a read of its own write
+			Integer previousWriter = mapReadsFrom.put(getKey(t, iItem), u);
+			if (previousWriter != null && previousWriter == u)
+				continue; // the same read again, same arc and same choices
+			if (u != -1)
+				addForcedArc(u, t);
+			if (iChoiceCount + writers[iItem].length > MAX_CHOICES)
+				return false;
+			for (int w : writers[iItem])
+				if (w != u && w != t) {
+					if (u == -1)
+						addForcedArc(t, w); // nothing can come before the initial value, so T reads it before W writes
+					else
+						addChoice(w, u, t, w);
+				}
+		}
+		// The final write of every item stays the final write: every other writer comes before it
+		for (int iItem = 0; iItem < iItemCount; iItem++)
+			for (int w : writers[iItem])
+				if (w != lastWriter[iItem])
+					addForcedArc(w, lastWriter[iItem]);
+		return true;
+	}
+
+	/**
+     * Method name: startComponent
+     * Purpose: Clears the state of the search for a component
+     * @param iSize the number of transactions of the component
+     * @param localChoices the choices of the component, 4 local indexes per choice
+     * @return none
+     */
+	private void startComponent(int iSize, int[] localChoices) {
+		iWords = (iSize + 63) >>> 6;
+		closure = new long[iSize * iWords];
+		trailIndex = new int[64];
+		trailValue = new long[64];
+		iTrailSize = 0;
+		iPendingCount = localChoices.length / 4;
+		pending = new int[iPendingCount];
+		for (int i = 0; i < iPendingCount; i++)
+			pending[i] = 4 * i;
+		failedStates = new HashSet<State>();
+		lMemoWords = 0;
+	}
+
+	/**
+     * Method name: search
+     * Purpose: Searches the choices of a component depth first, with an explicit stack so that many choices do not
+     * overflow the Java call stack
+     * Pre-condition - The closure holds the forced arcs of the component
+     * Post-condition - If an acyclic choice is found, the closure holds it
+     * @param localChoices the choices of the component, 4 local indexes per choice
+     * @return boolean; True if one arc of every choice can be taken without a cycle
+     * @throws BudgetExceededException if a budget runs out
+     */
+	private boolean search(int[] localChoices) {
+		int[] stackTrail = new int[16]; // per decision: the trail size and the pending count before it, and the choice
+		int[] stackPending = new int[16];
+		int[] stackChoice = new int[16];
+		boolean[] stackSecond = new boolean[16]; // True once the second arc of the choice is tried
+		int iDepth = 0;
+		boolean bBacktrack = !propagate(localChoices);
+		while (true) {
+			if (!bBacktrack) {
+				if (iPendingCount == 0)
+					return true;
+				State state = new State(closure);
+				if (!failedStates.contains(state)) {
+					if (++lNodeCount > lNodeBudget || System.nanoTime() > lDeadline) // cheap next to the copy of the closure
+						throw new BudgetExceededException();
+					if (iDepth == stackTrail.length) {
+						stackTrail = Arrays.copyOf(stackTrail, iDepth * 2);
+						stackPending = Arrays.copyOf(stackPending, iDepth * 2);
+						stackChoice = Arrays.copyOf(stackChoice, iDepth * 2);
+						stackSecond = Arrays.copyOf(stackSecond, iDepth * 2);
+					}
+					int iChoice = pending[0]; // both arcs are still open after the propagation
+					stackTrail[iDepth] = iTrailSize;
+					stackPending[iDepth] = iPendingCount;
+					stackChoice[iDepth] = iChoice;
+					stackSecond[iDepth++] = false;
+					addArc(localChoices[iChoice], localChoices[iChoice + 1]);
+					bBacktrack = !propagate(localChoices);
+					continue;
+				}
+			}
+			// Undo the last decision that still has its second arc to try
+			while (iDepth > 0 && stackSecond[iDepth - 1]) {
+				undo(stackTrail[--iDepth], stackPending[iDepth]);
+				remember(new State(closure)); // both arcs of the choice failed from this closure
+			}
+			if (iDepth == 0)
+				return false;
+			undo(stackTrail[iDepth - 1], stackPending[iDepth - 1]);
+			stackSecond[iDepth - 1] = true;
+			int iChoice = stackChoice[iDepth - 1];
+			addArc(localChoices[iChoice + 2], localChoices[iChoice + 3]);
+			bBacktrack = !propagate(localChoices);
+		}
+	}
+
+	/**
+     * Method name: propagate
+     * Purpose: Drops the pending choices the closure implies and takes the only arc of the choices where the other
+     * one closes a cycle, until nothing changes
+     * @param localChoices the choices of the component, 4 local indexes per choice
+     * @return boolean; False if a choice has two arcs that close a cycle
+     */
+	private boolean propagate(int[] localChoices) {
+		boolean bChanged = true;
+		while (bChanged) {
+			bChanged = false;
+			for (int p = 0; p < iPendingCount; ) {
+				int iChoice = pending[p];
+				int a = localChoices[iChoice], b = localChoices[iChoice + 1];
+				int c = localChoices[iChoice + 2], d = localChoices[iChoice + 3];
+				if (!isReachable(a, b) && !isReachable(c, d)) {
+					boolean bFirstOpen = !isReachable(b, a), bSecondOpen = !isReachable(d, c);
+					if (bFirstOpen && bSecondOpen) {
+						p++;
+						continue;
+					}
+					if (!bFirstOpen && !bSecondOpen)
+						return false;
+					if (bFirstOpen)
+						addArc(a, b);
+					else
+						addArc(c, d);
+					bChanged = true;
+				}
+				// The choice is implied, swap it out of the pending ones (undo only restores the count)
+				pending[p] = pending[--iPendingCount];
+				pending[iPendingCount] = iChoice;
+			}
+		}
+		return true;
+	}
+
+	/**
+     * Method name: addArc
+     * Purpose: Adds the arc u->v to the closure, the changed words go to the trail
+     * Pre-condition - v does not reach u
+     * @param u the local index the arc is going from
+     * @param v the local index the arc is going to
+     * @return none
+     */
+	private void addArc(int u, int v) {
+		if (!isReachable(u, v))
+			TransitiveClosure.closeOver(closure, iWords, u, v, trail);
+	}
+
+	/**
+     * Method name: pushTrail
+     * Purpose: Remembers a word of the closure before addArc changes it, for undo
+     * @param iIndex the index of the word in the closure
+     * @param lOldWord the value of the word before the change
+     * @return none
+     */
+	private void pushTrail(int iIndex, long lOldWord) {
+		if (iTrailSize == trailIndex.length) {
+			trailIndex = Arrays.copyOf(trailIndex, iTrailSize * 2);
+			trailValue = Arrays.copyOf(trailValue, iTrailSize * 2);
+		}
+		trailIndex[iTrailSize] = iIndex;
+		trailValue[iTrailSize++] = lOldWord;
+	}
+
+	/**
+     * Method name: undo
+     * Purpose: Restores the closure and the pending choices of an earlier point of the search
+     * @param iTrailMark the trail size at that point
+     * @param iPendingMark the pending count at that point
+     * @return none
+     */
+	private void undo(int iTrailMark, int iPendingMark) {
+		while (iTrailSize > iTrailMark) {
+			iTrailSize--;
+			closure[trailIndex[iTrailSize]] = trailValue[iTrailSize];
+		}
+		iPendingCount = iPendingMark;
+	}
+
+	/**
+     * Method name: remember
+     * Purpose: Memoizes the closure of a failed branch, while the memo has room
+     * @param state the closure
+     * @return none
+     */
+	private void remember(State state) {
+		if (lMemoWords + closure.length > MEMO_WORDS)
+			return;
+		if (failedStates.add(state))
+			lMemoWords += closure.length;
+	}
+
+	/**
+     * Method name: isReachable
+     * Purpose: Checks if a local index reaches another one in the closure
+     * @param u the local index the path is going from
+     * @param v the local index the path is going to
+     * @return boolean; True if there is a path u->v
+     */
+	private boolean isReachable(int u, int v) {
+		return TransitiveClosure.isReachable(closure, iWords, u, v);
+	}
+
+	/**
+     * Method name: addForcedArc
+     * Purpose: Adds an arc every view equivalent serial order must follow
+     * @param u the transaction index the arc is going from
+     * @param v the transaction index the arc is going to
+     * @return none
+     */
+	private void addForcedArc(int u, int v) {
+		if (iForcedCount == forcedArcs.length)
+			forcedArcs = Arrays.copyOf(forcedArcs, iForcedCount * 2);
+		forcedArcs[iForcedCount++] = (long) u << 32 | v;
+	}
+
+	/**
+     * Method name: addChoice
+     * Purpose: Adds a choice of the polygraph, every view equivalent serial order follows at least one of its arcs
+     * @param a the transaction index the first arc is going from
+     * @param b the transaction index the first arc is going to
+     * @param c the transaction index the second arc is going from
+     * @param d the transaction index the second arc is going to
+     * @return none
+     */
+	private void addChoice(int a, int b, int c, int d) {
+		if (4 * iChoiceCount == choices.length)
+			choices = Arrays.copyOf(choices, choices.length * 2);
+		choices[4 * iChoiceCount] = a;
+		choices[4 * iChoiceCount + 1] = b;
+		choices[4 * iChoiceCount + 2] = c;
+		choices[4 * iChoiceCount++ + 3] = d;
+	}
+
+	/**
+     * Method name: getGraph
+     * Purpose: Creates the graph of every transaction of the schedule and some of the arcs, not recorded in the
+     * CheckerMetrics
+     * @param arcs the arcs, packed From/To transaction indexes
+     * @param iCount the number of arcs to add from the start of arcs
+     * @return PrecedenceGraph
+     */
+	private PrecedenceGraph getGraph(long[] arcs, int iCount) {
+		PrecedenceGraph.Builder graphBuilder = new PrecedenceGraph.Builder();
+		for (int t = 0; t < iTransactionCount; t++) // the index in the builder is the transaction index
+			graphBuilder.addTransaction(schedule.getTransactionId(t));
+		graphBuilder.addIndexedEdges(arcs, iCount);
+		return graphBuilder.build(false);
+	}
+
+	/**
+     * Method name: getArc
+     * Purpose: Packs an arc of a choice
+     * @param arcs the choices, 2 indexes per arc
+     * @param i the position of the arc in the choices
+     * @return long; the packed From/To transaction indexes
+     */
+	private static long getArc(int[] arcs, int i) {
+		return (long) arcs[i] << 32 | arcs[i + 1];
+	}
+
+	/**
+     * Method name: getComponent
+     * Purpose: Gets the cyclic component that contains both ends of an arc
+     * @param componentOf transaction index -> cyclic component, -1 if none
+     * @param lArc the packed arc
+     * @return int; the component, -1 if the arc goes from one component to another one
+     */
+	private static int getComponent(int[] componentOf, long lArc) {
+		int iComponent = componentOf[(int) (lArc >>> 32)];
+		return iComponent == componentOf[(int) lArc] ? iComponent : -1;
+	}
+
+	/**
+     * Method name: getKey
+     * Purpose: Packs a transaction index and an item index into one key
+     * @param t the transaction index
+     * @param iItem the item index
+     * @return long; the key
+     */
+	private static long getKey(int t, int iItem) {
+		return (long) t << 32 | iItem;
+	}
+
+	/**
+     * Method name: toCycleString
+     * Purpose: Gets the text of some transactions, e.g. T1 -> T2 -> T1
+     * @param transactionIds the transaction IDs
+     * @return String
+     */
+	private static String toCycleString(long[] transactionIds) {
+		StringBuilder text = new StringBuilder();
+		for (long lTransactionId : transactionIds)
+			text.append('T').append(lTransactionId).append(" -> ");
+		return text.append('T').append(transactionIds[0]).toString();
+	}
+
+	/**
+     * Class name: State
+     * Purpose: The memo key: a copy of the closure
+     */
+	private static class State {
+		private final long[] words;
+		private final int iHash;
+
+		/**
+	     * Method name: State()
+	     * Purpose: Constructor of State Class, copies the closure
+	     * @param closure, the closure
+	     * @return none
+	     */
+		private State(long[] closure) {
+			words = closure.clone();
+			iHash = Arrays.hashCode(words);
+		}
+
+		@Override
+		public int hashCode() {
+			return iHash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof State && ((State) o).iHash == iHash && Arrays.equals(((State) o).words, words);
+		}
+	}
+
+	/**
+     * Class name: BudgetExceededException
+     * Purpose: Abandons the search when the time or the node budget runs out
+     */
+	private static class BudgetExceededException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		private BudgetExceededException() {
+			super(null, null, false, false); // no stack trace, it is only used to unwind the search
+		}
+	}
+
+	/**
+     * Enum name: Verdict
+     * Purpose: The answer of the check, unknown if a budget ran out first
+     */
+	public enum Verdict {
+		VIEW_SERIALIZABLE("True"),
+		NOT_VIEW_SERIALIZABLE("False"),
+		UNKNOWN("Unknown");
+
+		private final String strName;
+
+		/**
+	     * Method name: Verdict()
+	     * Purpose: Constructor of Verdict Enum
+	     * @param strName, the name that is printed
+	     * @return none
+	     */
+		Verdict(String strName) {
+			this.strName = strName;
+		}
+
+		/**
+	     * Method name: getJsonName
+	     * Purpose: Gets the name of the verdict in the JSON records, true, false or unknown
+	     * @param none
+	     * @return String
+	     */
+		public String getJsonName() {
+			return strName.toLowerCase();
+		}
+
+		/**
+	     * Method name: toString
+	     * Purpose: Gets the name that is printed, True, False or Unknown
+	     * @param none
+	     * @return String
+	     */
+		@Override
+		public String toString() {
+			return strName;
+		}
+	}
+
+	/**
+     * Class name: Result
+     * Purpose: The verdict, the view equivalent serial order if there is one, the number of search nodes it took and
+     * why the verdict was reached
+     */
+	public static class Result {
+		private final Verdict verdict;
+		private final long[] serialOrder;
+		private final long lNodeCount;
+		private final String strReason;
+
+		/**
+	     * Method name: Result()
+	     * Purpose: Constructor of Result Class
+	     * @param verdict, the verdict
+	     * @param serialOrder, the transaction IDs in a view equivalent serial order, null if there is none or it is unknown
+	     * @param lNodeCount, the number of decisions of the search
+	     * @param strReason, why the verdict was reached
+	     * @return none
+	     */
+		public Result(Verdict verdict, long[] serialOrder, long lNodeCount, String strReason) {
+			this.verdict = verdict;
+			this.serialOrder = serialOrder;
+			this.lNodeCount = lNodeCount;
+			this.strReason = strReason;
+		}
+
+		/**
+	     * Method name: getVerdict
+	     * Purpose: Getter method of the verdict
+	     * @param none
+	     * @return Verdict
+	     */
+		public Verdict getVerdict() {
+			return verdict;
+		}
+
+		/**
+	     * Method name: getSerialOrder
+	     * Purpose: Getter method of the view equivalent serial order
+	     * @param none
+	     * @return long array; transaction IDs, null unless the schedule is view serializable
+	     */
+		public long[] getSerialOrder() {
+			return serialOrder;
+		}
+
+		/**
+	     * Method name: getNodeCount
+	     * Purpose: Getter method of the number of decisions of the search
+	     * @param none
+	     * @return long
+	     */
+		public long getNodeCount() {
+			return lNodeCount;
+		}
+
+		/**
+	     * Method name: getReason
+	     * Purpose: Getter method of why the verdict was reached
+	     * @param none
+	     * @return String
+	     */
+		public String getReason() {
+			return strReason;
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package txnchecker;
+
+/**
+ * Class name: WilsonInterval.java
+ *
+ * Detailed Description -  A class that holds the Wilson score confidence interval of a proportion, e.g. of the fraction
+ * of random schedules that are conflict serializable, from the number of successes in a number of trials
+ *
+ * Technique useds - The Wilson score interval: center (p + z^2/2n) / (1 + z^2/n), half width
+ * z / (1 + z^2/n) * sqrt(p(1-p)/n + z^2/4n^2), with p the observed fraction and z the normal quantile of the
+ * confidence. Unlike p +- z sqrt(p(1-p)/n) it stays inside [0, 1] and does not collapse to a width of 0 when no or
+ * every trial succeeds, so it can be used to stop sampling early when the fraction is close to 0 or 1.
+ * The normal quantile is computed with the rational approximation of Acklam (relative error below 1.2e-9).
+ * Programming language used is Java.
+ *
+ * Input Requirement - 0 <= successes <= trials, 0 < confidence < 1.
+ *
+ */
+public class WilsonInterval {
+	private final long lSuccesses;
+	private final long lTrials;
+	private final double dConfidence;
+	private final double dLower;
+	private final double dUpper;
+
+	/**
+     * Method name: WilsonInterval()
+     * Purpose: Constructor of WilsonInterval Class, computes the interval
+     * @param lSuccesses, number of successes
+     * @param lTrials, number of trials, the interval is [0, 1] without trials
+     * @param dConfidence, the confidence, e.g. 0.99
+     * @return none
+     */
+	public WilsonInterval(long lSuccesses, long lTrials, double dConfidence) {
+		this.lSuccesses = lSuccesses;
+		this.lTrials = lTrials;
+		this.dConfidence = dConfidence;
+		if (lTrials == 0) {
+			dLower = 0;
+			dUpper = 1;
+			return;
+		}
+		double z = getNormalQuantile(1 - (1 - dConfidence) / 2); // two sided
+		double n = lTrials, p = (double) lSuccesses / lTrials, z2 = z * z;
+		double dCenter = (p + z2 / (2 * n)) / (1 + z2 / n);
+		double dHalfWidth = z / (1 + z2 / n) * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n));
+		dLower = Math.max(0, dCenter - dHalfWidth);
+		dUpper = Math.min(1, dCenter + dHalfWidth);
+	}
+
+	/**
+     * Method name: getSuccesses
+     * Purpose: Getter method of the number of successes
+     * @param none
+     * @return long
+     */
+	public long getSuccesses() {
+		return lSuccesses;
+	}
+
+	/**
+     * Method name: getTrials
+     * Purpose: Getter method of the number of trials
+     * @param none
+     * @return long
+     */
+	public long getTrials() {
+		return lTrials;
+	}
+
+	/**
+     * Method name: getConfidence
+     * Purpose: Getter method of the confidence
+     * @param none
+     * @return double
+     */
+	public double getConfidence() {
+		return dConfidence;
+	}
+
+	/**
+     * Method name: getEstimate
+     * Purpose: Gets the observed fraction
+     * @param none
+     * @return double; successes / trials, 0 without trials
+     */
+	public double getEstimate() {
+		return lTrials == 0 ? 0 : (double) lSuccesses / lTrials;
+	}
+
+	/**
+     * Method name: getLower
+     * Purpose: Getter method of the lower bound of the interval
+     * @param none
+     * @return double; between 0 and 1
+     */
+	public double getLower() {
+		return dLower;
+	}
+
+	/**
+     * Method name: getUpper
+     * Purpose: Getter method of the upper bound of the interval
+     * @param none
+     * @return double; between 0 and 1
+     */
+	public double getUpper() {
+		return dUpper;
+	}
+
+	/**
+     * Method name: getHalfWidth
+     * Purpose: Gets half the width of the interval, the precision of the estimate
+     * @param none
+     * @return double
+     */
+	public double getHalfWidth() {
+		return (dUpper - dLower) / 2;
+	}
+
+	/**
+     * Method name: getNormalQuantile
+     * Purpose: Gets the quantile of the standard normal distribution (the inverse of its cumulative distribution)
+     * @param dProbability the probability, between 0 and 1 (exclusive)
+     * @return double; the z with P(Z <= z) = dProbability
+     */
+	public static double getNormalQuantile(double dProbability) {
+		if (dProbability <= 0 || dProbability >= 1)
+			throw new IllegalArgumentException("The probability must be between 0 and 1 (exclusive)");
+		// Coefficients of the rational approximations of Acklam, one for the center and one for both tails
+		double[] a = { -3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02, 1.383577518672690e+02,
+				-3.066479806614716e+01, 2.506628277459239e+00 };
+		double[] b = { -5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02, 6.680131188771972e+01,
+				-1.328068155288572e+01 };
+		double[] c = { -7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00, -2.549732539343734e+00,
+				4.374664141464968e+00, 2.938163982698783e+00 };
+		double[] d = { 7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00, 3.754408661907416e+00 };
+		double dLowTail = 0.02425;
+		if (dProbability < dLowTail) {
+			double q = Math.sqrt(-2 * Math.log(dProbability));
+			return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+					/ ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+		}
+		if (dProbability > 1 - dLowTail)
+			return -getNormalQuantile(1 - dProbability);
+		double q = dProbability - 0.5, r = q * q;
+		return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+				/ (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+	}
+}
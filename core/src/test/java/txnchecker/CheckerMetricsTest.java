@@ -0,0 +1,40 @@
+package txnchecker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+/**
+ * Class name: CheckerMetricsTest.java
+ *
+ * Detailed Description -  Checks that a call whose timer was started while the metrics were off is not recorded when
+ * they are turned on before it ends, instead of adding the whole System.nanoTime as its duration.
+ *
+ * Programming language used is Java.
+ *
+ */
+public class CheckerMetricsTest {
+
+	@Test
+	public void callStartedWhileOffIsNotRecorded() {
+		CheckerMetrics checkerMetrics = CheckerMetrics.getInstance();
+		checkerMetrics.setEnabled(false);
+		checkerMetrics.reset();
+		try {
+			long lStart = checkerMetrics.startTimer();
+			assertEquals(0, lStart);
+			checkerMetrics.setEnabled(true);
+			checkerMetrics.recordPhase(CheckerMetrics.Phase.BUILD_GRAPH, lStart);
+			checkerMetrics.recordSampling(100, lStart);
+			assertEquals(0, checkerMetrics.getGraphsBuilt());
+			assertEquals(0, checkerMetrics.getBuildGraphNanos());
+			assertEquals(0, checkerMetrics.getSchedulesSampled());
+			assertEquals(0, checkerMetrics.getSampleNanos());
+			// a call started while on is recorded
+			checkerMetrics.recordPhase(CheckerMetrics.Phase.BUILD_GRAPH, checkerMetrics.startTimer());
+			assertEquals(1, checkerMetrics.getGraphsBuilt());
+		} finally {
+			checkerMetrics.setEnabled(false);
+			checkerMetrics.reset();
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package txnchecker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+/**
+ * Class name: InterleavingCounterTest.java
+ *
+ * Detailed Description -  Compares the exact counts of InterleavingCounter with an exhaustive enumeration of every legal
+ * interleaving of tiny random transaction sets, each checked by SerializabilityChecker, and checks that sets beyond the
+ * state budget are abandoned (null) instead of overflowing the stack.
+ *
+ * Programming language used is Java.
+ *
+ */
+public class InterleavingCounterTest {
+
+	@Test
+	public void countsMatchEnumeration() {
+		Random random = new Random(15);
+		for (int k = 0; k < 300; k++) {
+			List<List<Operation>> listTransactions = randomSet(random);
+			List<Operation> listOperations = new ArrayList<Operation>();
+			for (List<Operation> listTransaction : listTransactions)
+				listOperations.addAll(listTransaction);
+			long[] counts = new long[2];
+			enumerate(listTransactions, new int[listTransactions.size()], new ArrayList<Operation>(), counts);
+			InterleavingCounter.Result result = new InterleavingCounter(listOperations).count(Long.MAX_VALUE);
+			assertNotNull(result);
+			assertEquals(BigInteger.valueOf(counts[0]), result.getInterleavingCount(), listOperations.toString());
+			assertEquals(BigInteger.valueOf(counts[1]), result.getSerializableCount(), listOperations.toString());
+		}
+	}
+
+	@Test
+	public void tinyBudgetIsExhausted() {
+		List<Operation> listOperations = new ArrayList<Operation>();
+		listOperations.add(new Operation('r', 1, "A"));
+		listOperations.add(new Operation('w', 2, "A"));
+		listOperations.add(new Operation('w', 1, "A"));
+		assertNull(new InterleavingCounter(listOperations).count(1));
+		// the search memoizes one state per operation, so a budget of the operation count is rejected up front
+		assertNull(new InterleavingCounter(listOperations).count(listOperations.size()));
+		assertNotNull(new InterleavingCounter(listOperations).count(1000));
+	}
+
+	@Test
+	public void longTransactionsDoNotOverflow() {
+		List<Operation> listOperations = new ArrayList<Operation>();
+		for (long t = 1; t <= 2; t++)
+			for (int i = 0; i < 30001; i++)
+				listOperations.add(new Operation(i % 2 == 0 ? 'r' : 'w', t, "item" + (i % 3)));
+		assertNull(new InterleavingCounter(listOperations).count(100000));
+	}
+
+	/**
+     * Method name: randomSet
+     * Purpose: Creates 2 or 3 transactions of 1 to 3 reads and writes on 2 items, every transaction commits with
+     * probability 1/2, at most 9 operations in all
+     * @param random the source of randomness
+     * @return List of List of Operation; the transactions
+     */
+	private static List<List<Operation>> randomSet(Random random) {
+		List<List<Operation>> listTransactions = new ArrayList<List<Operation>>();
+		for (int t = 1, iTransactions = 2 + random.nextInt(2); t <= iTransactions; t++) {
+			List<Operation> listTransaction = new ArrayList<Operation>();
+			for (int k = 1 + random.nextInt(3); k > 0; k--)
+				listTransaction.add(new Operation(random.nextBoolean() ? 'r' : 'w', t, random.nextBoolean() ? "A" : "B"));
+			if (listTransaction.size() < 3 && random.nextBoolean())
+				listTransaction.add(new Operation('c', t, null));
+			listTransactions.add(listTransaction);
+		}
+		return listTransactions;
+	}
+
+	/**
+     * Method name: enumerate
+     * Purpose: Builds every legal interleaving of the transactions and checks each one
+     * @param listTransactions the transactions
+     * @param progress transaction index -> number of its operations in the prefix
+     * @param listPrefix the interleaving built so far
+     * @param counts the number of interleavings and of serializable ones, incremented in place
+     * @return none
+     */
+	private static void enumerate(List<List<Operation>> listTransactions, int[] progress, List<Operation> listPrefix, long[] counts) {
+		boolean bComplete = true;
+		for (int t = 0; t < progress.length; t++) {
+			if (progress[t] == listTransactions.get(t).size())
+				continue;
+			bComplete = false;
+			listPrefix.add(listTransactions.get(t).get(progress[t]++));
+			enumerate(listTransactions, progress, listPrefix, counts);
+			progress[t]--;
+			listPrefix.remove(listPrefix.size() - 1);
+		}
+		if (bComplete) {
+			counts[0]++;
+			if (SerializabilityChecker.check(listPrefix).isConflictSerializable())
+				counts[1]++;
+		}
+	}
+}
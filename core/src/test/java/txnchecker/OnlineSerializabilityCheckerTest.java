@@ -0,0 +1,191 @@
+package txnchecker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+/**
+ * Class name: OnlineSerializabilityCheckerTest.java
+ *
+ * Detailed Description -  Cross-checks the online checker (Pearce-Kelly ordering, with and without commit pruning)
+ * against the offline one (SerializabilityChecker and the Tarjan components of CycleDetector) on random schedules:
+ * the verdicts agree, every order is a topological order of the precedence graph, every cycle is made of its edges
+ * and every witness of CycleDetector is a shortest cycle through the smallest transaction of its component.
+ *
+ * Programming language used is Java.
+ *
+ */
+public class OnlineSerializabilityCheckerTest {
+	private static final int SCHEDULES = 3000;
+
+	@Test
+	public void verdictMatchesOffline() {
+		Random random = new Random(4);
+		for (int k = 0; k < SCHEDULES; k++) {
+			List<Operation> listOperations = randomSchedule(random);
+			boolean bOffline = SerializabilityChecker.check(listOperations).isConflictSerializable();
+			for (boolean bPruneCommitted : new boolean[] { false, true }) {
+				OnlineSerializabilityChecker onlineChecker = new OnlineSerializabilityChecker(bPruneCommitted);
+				for (Operation eachOperation : listOperations)
+					onlineChecker.accept(eachOperation);
+				assertEquals(bOffline, onlineChecker.isConflictSerializable(), listOperations + " prune " + bPruneCommitted);
+			}
+		}
+	}
+
+	@Test
+	public void onlineOrderAndCycleAreWitnesses() {
+		Random random = new Random(5);
+		for (int k = 0; k < SCHEDULES; k++) {
+			List<Operation> listOperations = randomSchedule(random);
+			PrecedenceGraph precedenceGraph = SerializabilityChecker.buildPrecedenceGraph(listOperations);
+			OnlineSerializabilityChecker onlineChecker = new OnlineSerializabilityChecker();
+			for (Operation eachOperation : listOperations)
+				onlineChecker.accept(eachOperation);
+			if (onlineChecker.isConflictSerializable())
+				assertTopologicalOrder(precedenceGraph, onlineChecker.getSerializationOrder());
+			else
+				assertCycle(precedenceGraph, onlineChecker.getCycle());
+		}
+	}
+
+	@Test
+	public void offlineOrderAndShortestCycles() {
+		Random random = new Random(6);
+		for (int k = 0; k < SCHEDULES; k++) {
+			PrecedenceGraph precedenceGraph = SerializabilityChecker.buildPrecedenceGraph(randomSchedule(random));
+			SerializabilityResult serializabilityResult = CycleDetector.check(precedenceGraph);
+			if (serializabilityResult.isConflictSerializable()) {
+				assertTopologicalOrder(precedenceGraph, serializabilityResult.getSerializationOrder());
+				continue;
+			}
+			assertEquals(serializabilityResult.getCyclicComponents().size(), serializabilityResult.getCycles().size());
+			for (int i = 0; i < serializabilityResult.getCycles().size(); i++) {
+				long[] cycle = serializabilityResult.getCycles().get(i);
+				long lSmallestId = serializabilityResult.getCyclicComponents().get(i)[0];
+				assertCycle(precedenceGraph, cycle);
+				assertTrue(Arrays.stream(cycle).anyMatch(lId -> lId == lSmallestId));
+				assertEquals(getShortestCycleLength(precedenceGraph, precedenceGraph.getNode(lSmallestId)), cycle.length);
+			}
+		}
+	}
+
+	@Test
+	public void pruningRetiresAndReusesNodes() {
+		// A chain of 10000 transactions, each reads the item the previous one wrote and then commits
+		OnlineSerializabilityChecker onlineChecker = new OnlineSerializabilityChecker(true);
+		for (long t = 1; t <= 10000; t++) {
+			assertTrue(onlineChecker.accept('r', t, "item" + (t % 5)));
+			assertTrue(onlineChecker.accept('w', t, "item" + ((t + 1) % 5)));
+			assertTrue(onlineChecker.accept('c', t, null));
+		}
+		assertTrue(onlineChecker.isConflictSerializable());
+		assertTrue(onlineChecker.getTransactionCount() <= 2, "live transactions " + onlineChecker.getTransactionCount());
+		assertTrue(onlineChecker.getRetiredCount() >= 9998, "retired " + onlineChecker.getRetiredCount());
+		// A cycle between two new transactions is still found on the reused nodes
+		onlineChecker.accept('r', 20001, "x");
+		onlineChecker.accept('w', 20002, "x");
+		onlineChecker.accept('r', 20002, "y");
+		assertTrue(!onlineChecker.accept('w', 20001, "y"));
+		assertNotNull(onlineChecker.getCycle());
+	}
+
+	/**
+     * Method name: randomSchedule
+     * Purpose: Creates a random interleaving of 2 to 6 transactions of 1 to 4 reads and writes on 4 items, every
+     * transaction commits with probability 1/2
+     * @param random the source of randomness
+     * @return List of Operation; the schedule
+     */
+	static List<Operation> randomSchedule(Random random) {
+		int iTransactions = 2 + random.nextInt(5);
+		List<List<Operation>> listTransactions = new ArrayList<List<Operation>>();
+		for (int t = 1; t <= iTransactions; t++) {
+			List<Operation> listTransaction = new ArrayList<Operation>();
+			for (int k = 1 + random.nextInt(4); k > 0; k--)
+				listTransaction.add(new Operation(random.nextBoolean() ? 'r' : 'w', t, String.valueOf((char) ('A' + random.nextInt(4)))));
+			if (random.nextBoolean())
+				listTransaction.add(new Operation('c', t, null));
+			listTransactions.add(listTransaction);
+		}
+		List<Operation> listSchedule = new ArrayList<Operation>();
+		while (!listTransactions.isEmpty()) {
+			List<Operation> listTransaction = listTransactions.get(random.nextInt(listTransactions.size()));
+			listSchedule.add(listTransaction.remove(0));
+			if (listTransaction.isEmpty())
+				listTransactions.remove(listTransaction);
+		}
+		return listSchedule;
+	}
+
+	/**
+     * Method name: assertTopologicalOrder
+     * Purpose: Asserts that an order holds every transaction once and that every edge goes forward in it
+     * @param precedenceGraph the graph
+     * @param order the transaction IDs
+     * @return none
+     */
+	private static void assertTopologicalOrder(PrecedenceGraph precedenceGraph, long[] order) {
+		assertEquals(precedenceGraph.getNodeCount(), order.length);
+		int[] position = new int[precedenceGraph.getNodeCount()];
+		Arrays.fill(position, -1);
+		for (int i = 0; i < order.length; i++) {
+			int iNode = precedenceGraph.getNode(order[i]);
+			assertEquals(-1, position[iNode]);
+			position[iNode] = i;
+		}
+		for (int iNode = 0; iNode < precedenceGraph.getNodeCount(); iNode++)
+			for (int iEdge = precedenceGraph.getEdgeStart(iNode); iEdge < precedenceGraph.getEdgeEnd(iNode); iEdge++)
+				assertTrue(position[iNode] < position[precedenceGraph.getEdgeTarget(iEdge)]);
+	}
+
+	/**
+     * Method name: assertCycle
+     * Purpose: Asserts that a cycle {a, b, c} is made of the edges a->b, b->c and c->a of the graph
+     * @param precedenceGraph the graph
+     * @param cycle the transaction IDs
+     * @return none
+     */
+	private static void assertCycle(PrecedenceGraph precedenceGraph, long[] cycle) {
+		assertTrue(cycle.length >= 2);
+		for (int i = 0; i < cycle.length; i++)
+			assertTrue(precedenceGraph.hasEdge(precedenceGraph.getNode(cycle[i]),
+					precedenceGraph.getNode(cycle[(i + 1) % cycle.length])), Arrays.toString(cycle));
+	}
+
+	/**
+     * Method name: getShortestCycleLength
+     * Purpose: Finds the length of the shortest cycle through a node, by breadth first search
+     * @param precedenceGraph the graph
+     * @param iStart the node
+     * @return int; the number of edges of the cycle, -1 if there is none
+     */
+	private static int getShortestCycleLength(PrecedenceGraph precedenceGraph, int iStart) {
+		int[] distance = new int[precedenceGraph.getNodeCount()];
+		Arrays.fill(distance, -1);
+		Queue<Integer> queue = new ArrayDeque<Integer>();
+		distance[iStart] = 0;
+		queue.add(iStart);
+		while (!queue.isEmpty()) {
+			int iNode = queue.poll();
+			for (int iEdge = precedenceGraph.getEdgeStart(iNode); iEdge < precedenceGraph.getEdgeEnd(iNode); iEdge++) {
+				int iTarget = precedenceGraph.getEdgeTarget(iEdge);
+				if (iTarget == iStart)
+					return distance[iNode] + 1;
+				if (distance[iTarget] == -1) {
+					distance[iTarget] = distance[iNode] + 1;
+					queue.add(iTarget);
+				}
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,146 @@
+package txnchecker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+/**
+ * Class name: RecoverabilityTest.java
+ *
+ * Detailed Description -  Checks the recoverability class found by the single pass of SerializabilityChecker (for a
+ * List and for columns) on hand-written schedules of every class, and on random schedules against a brute force that
+ * follows the definitions of Recoverability operation by operation.
+ *
+ * Programming language used is Java.
+ *
+ */
+public class RecoverabilityTest {
+
+	@Test
+	public void dirtyReadWithEarlyCommitIsNotRecoverable() {
+		// T2 reads A from T1 and commits before T1 does
+		assertClass(Recoverability.NOT_RECOVERABLE, "w1A r2A c2 c1");
+		// T1 never commits, so T2 commits before it
+		assertClass(Recoverability.NOT_RECOVERABLE, "w1A r2A c2");
+	}
+
+	@Test
+	public void dirtyReadWithLaterCommitIsOnlyRecoverable() {
+		assertClass(Recoverability.RECOVERABLE, "w1A r2A c1 c2");
+		// T2 never commits, nothing depends on T1 committing first
+		assertClass(Recoverability.RECOVERABLE, "w1A r2A");
+	}
+
+	@Test
+	public void uncommittedOverwriteAvoidsCascadingAbortsButIsNotStrict() {
+		assertClass(Recoverability.AVOIDS_CASCADING_ABORTS, "w1A w2A c1 c2");
+		// a read of its own write and a read of committed data do not change that
+		assertClass(Recoverability.AVOIDS_CASCADING_ABORTS, "w1A r1A c1 r2A w3B w2B c2 c3");
+	}
+
+	@Test
+	public void committedAccessesAreStrict() {
+		assertClass(Recoverability.STRICT, "w1A c1 r2A w2A c2");
+		assertClass(Recoverability.STRICT, "r1A r2A w1B c1 w2B c2");
+	}
+
+	@Test
+	public void classMatchesBruteForce() {
+		Random random = new Random(24);
+		Set<Recoverability> setSeen = EnumSet.noneOf(Recoverability.class);
+		for (int k = 0; k < 3000; k++) {
+			List<Operation> listOperations = OnlineSerializabilityCheckerTest.randomSchedule(random);
+			Recoverability expected = classify(listOperations);
+			assertEquals(expected, SerializabilityChecker.buildPrecedenceGraph(listOperations).getRecoverability(),
+					listOperations.toString());
+			assertEquals(expected, SerializabilityChecker.buildPrecedenceGraph(PackedSchedule.of(listOperations))
+					.getRecoverability(), listOperations.toString());
+			setSeen.add(expected);
+		}
+		assertEquals(EnumSet.allOf(Recoverability.class), setSeen);
+	}
+
+	/**
+     * Method name: assertClass
+     * Purpose: Asserts the class of a schedule written as w1A r2A c1 (operation, transaction ID, item), and that the
+     * brute force agrees with it
+     * @param expected the class
+     * @param strSchedule the schedule
+     * @return none
+     */
+	private static void assertClass(Recoverability expected, String strSchedule) {
+		List<Operation> listOperations = new ArrayList<Operation>();
+		for (String strOperation : strSchedule.split(" "))
+			listOperations.add(new Operation(strOperation.charAt(0), strOperation.charAt(1) - '0',
+					strOperation.length() > 2 ? strOperation.substring(2) : null));
+		assertEquals(expected, classify(listOperations), strSchedule);
+		assertEquals(expected, SerializabilityChecker.buildPrecedenceGraph(listOperations).getRecoverability(), strSchedule);
+	}
+
+	/**
+     * Method name: classify
+     * Purpose: Finds the class of a schedule from the definitions, looking back over the whole schedule at every step
+     * @param listOperations the schedule
+     * @return Recoverability
+     */
+	private static Recoverability classify(List<Operation> listOperations) {
+		boolean bRecoverable = true, bCascadeless = true, bStrict = true;
+		for (int i = 0; i < listOperations.size(); i++) {
+			Operation operation = listOperations.get(i);
+			long lId = operation.getlTransactionId();
+			if (operation.getcOperation() == 'c') {
+				// every transaction read from before the commit must have committed before it
+				for (int j = 0; j < i; j++)
+					if (listOperations.get(j).getlTransactionId() == lId && listOperations.get(j).getcOperation() == 'r') {
+						long lWriter = getLastWriter(listOperations, j);
+						if (lWriter != 0 && lWriter != lId && !isCommitted(listOperations, lWriter, i))
+							bRecoverable = false;
+					}
+				continue;
+			}
+			long lWriter = getLastWriter(listOperations, i);
+			if (lWriter == 0 || lWriter == lId || isCommitted(listOperations, lWriter, i))
+				continue;
+			bStrict = false;
+			if (operation.getcOperation() == 'r')
+				bCascadeless = false;
+		}
+		return !bRecoverable ? Recoverability.NOT_RECOVERABLE : !bCascadeless ? Recoverability.RECOVERABLE
+				: !bStrict ? Recoverability.AVOIDS_CASCADING_ABORTS : Recoverability.STRICT;
+	}
+
+	/**
+     * Method name: getLastWriter
+     * Purpose: Finds the transaction of the last write of the item of an operation before it
+     * @param listOperations the schedule
+     * @param iPosition the position of the operation
+     * @return long; the transaction ID, 0 if the item is not written before
+     */
+	private static long getLastWriter(List<Operation> listOperations, int iPosition) {
+		String strItem = listOperations.get(iPosition).getStrItem();
+		for (int j = iPosition - 1; j >= 0; j--)
+			if (listOperations.get(j).getcOperation() == 'w' && listOperations.get(j).getStrItem().equals(strItem))
+				return listOperations.get(j).getlTransactionId();
+		return 0;
+	}
+
+	/**
+     * Method name: isCommitted
+     * Purpose: Checks if a transaction commits before a position
+     * @param listOperations the schedule
+     * @param lId the transaction ID
+     * @param iPosition the position
+     * @return boolean; True if its commit is before the position
+     */
+	private static boolean isCommitted(List<Operation> listOperations, long lId, int iPosition) {
+		for (int j = 0; j < iPosition; j++)
+			if (listOperations.get(j).getcOperation() == 'c' && listOperations.get(j).getlTransactionId() == lId)
+				return true;
+		return false;
+	}
+}
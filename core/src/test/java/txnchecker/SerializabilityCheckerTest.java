@@ -0,0 +1,131 @@
+package txnchecker;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+/**
+ * Class name: SerializabilityCheckerTest.java
+ *
+ * Detailed Description -  Compares the item-sharded build of the precedence graph (buildPrecedenceGraph of columns on
+ * several threads) with the sequential build on random schedules above MIN_PARALLEL_OPERATIONS, for several numbers of
+ * threads and so of shards: the same edges, the same cycles and the same recoverability, and the same counts of edges
+ * emitted and suppressed in the CheckerMetrics.
+ *
+ * Programming language used is Java.
+ *
+ */
+public class SerializabilityCheckerTest {
+	private static final int OPERATIONS = 70000; // above MIN_PARALLEL_OPERATIONS (65536) of SerializabilityChecker
+	private static final int LENGTH = 400; // most reads and writes of a transaction, a few hundred transactions in all
+	private static final int[] THREADS = { 2, 3, 5, 8 }; // 8, 12, 20 and 32 shards, fewer if there are fewer items
+
+	@Test
+	public void shardedBuildMatchesSequential() {
+		Random random = new Random(21);
+		Set<Recoverability> setSeen = EnumSet.noneOf(Recoverability.class);
+		Set<Boolean> setVerdicts = new HashSet<Boolean>();
+		for (int iConcurrent : new int[] { 1, 8 })
+			for (int iItems : new int[] { 3, 40, 5000 }) {
+				ScheduleColumns schedule = PackedSchedule.of(randomSchedule(random, iConcurrent, iItems));
+				CheckerMetrics checkerMetrics = CheckerMetrics.getInstance();
+				checkerMetrics.reset();
+				checkerMetrics.setEnabled(true);
+				PrecedenceGraph sequentialGraph;
+				long lEmitted, lDuplicates;
+				try {
+					sequentialGraph = SerializabilityChecker.buildPrecedenceGraph(schedule);
+					lEmitted = checkerMetrics.getEdgesEmitted();
+					lDuplicates = checkerMetrics.getDuplicateEdgesSuppressed();
+					for (int iThreads : THREADS) {
+						checkerMetrics.reset();
+						PrecedenceGraph shardedGraph = SerializabilityChecker.buildPrecedenceGraph(schedule, iThreads);
+						String strCase = iConcurrent + " concurrent, " + iItems + " items, " + iThreads + " threads";
+						assertEquals(lEmitted, checkerMetrics.getEdgesEmitted(), strCase);
+						assertEquals(lDuplicates, checkerMetrics.getDuplicateEdgesSuppressed(), strCase);
+						assertSameGraph(sequentialGraph, shardedGraph, strCase);
+					}
+				} finally {
+					checkerMetrics.setEnabled(false);
+					checkerMetrics.reset();
+				}
+				setSeen.add(sequentialGraph.getRecoverability());
+				setVerdicts.add(CycleDetector.check(sequentialGraph).isConflictSerializable());
+			}
+		// the schedules cover acyclic and cyclic graphs and more than one recoverability class
+		assertEquals(2, setVerdicts.size());
+		assertTrue(setSeen.size() >= 2, setSeen.toString());
+	}
+
+	/**
+     * Method name: assertSameGraph
+     * Purpose: Asserts that two graphs have the same nodes, edges, cycles and recoverability
+     * @param expectedGraph the graph of the sequential build
+     * @param actualGraph the graph of the sharded build
+     * @param strCase the case, for the message
+     * @return none
+     */
+	private static void assertSameGraph(PrecedenceGraph expectedGraph, PrecedenceGraph actualGraph, String strCase) {
+		assertEquals(expectedGraph.getNodeCount(), actualGraph.getNodeCount(), strCase);
+		assertEquals(expectedGraph.getEdgeCount(), actualGraph.getEdgeCount(), strCase);
+		for (int iNode = 0; iNode < expectedGraph.getNodeCount(); iNode++) {
+			assertEquals(expectedGraph.getTransactionId(iNode), actualGraph.getTransactionId(iNode), strCase);
+			assertEquals(expectedGraph.getEdgeStart(iNode), actualGraph.getEdgeStart(iNode), strCase);
+			assertEquals(expectedGraph.getEdgeEnd(iNode), actualGraph.getEdgeEnd(iNode), strCase);
+		}
+		for (int iEdge = 0; iEdge < expectedGraph.getEdgeCount(); iEdge++)
+			assertEquals(expectedGraph.getEdgeTarget(iEdge), actualGraph.getEdgeTarget(iEdge), strCase);
+		assertEquals(expectedGraph.getRecoverability(), actualGraph.getRecoverability(), strCase);
+		SerializabilityResult expectedResult = CycleDetector.check(expectedGraph);
+		SerializabilityResult actualResult = CycleDetector.check(actualGraph);
+		assertEquals(expectedResult.isConflictSerializable(), actualResult.isConflictSerializable(), strCase);
+		if (expectedResult.isConflictSerializable()) {
+			assertArrayEquals(expectedResult.getSerializationOrder(), actualResult.getSerializationOrder(), strCase);
+			return;
+		}
+		assertEquals(expectedResult.getCycles().size(), actualResult.getCycles().size(), strCase);
+		for (int i = 0; i < expectedResult.getCycles().size(); i++) {
+			assertArrayEquals(expectedResult.getCyclicComponents().get(i), actualResult.getCyclicComponents().get(i), strCase);
+			assertArrayEquals(expectedResult.getCycles().get(i), actualResult.getCycles().get(i), strCase);
+		}
+	}
+
+	/**
+     * Method name: randomSchedule
+     * Purpose: Creates a schedule of at least OPERATIONS operations where up to iConcurrent transactions run at a time,
+     * each does 1 to LENGTH reads and writes of random items and then commits (1 runs them one after the other)
+     * @param random the source of randomness
+     * @param iConcurrent the most transactions that are active at a time
+     * @param iItems the number of items
+     * @return List of Operation; the schedule
+     */
+	private static List<Operation> randomSchedule(Random random, int iConcurrent, int iItems) {
+		List<Operation> listSchedule = new ArrayList<Operation>();
+		long[] activeIds = new long[iConcurrent];
+		int[] remaining = new int[iConcurrent]; // operations left before the commit
+		long lNextId = 1;
+		for (int k = 0; k < iConcurrent; k++) {
+			activeIds[k] = lNextId++;
+			remaining[k] = 1 + random.nextInt(LENGTH);
+		}
+		while (listSchedule.size() < OPERATIONS) {
+			int k = random.nextInt(iConcurrent);
+			if (remaining[k]-- > 0) {
+				listSchedule.add(new Operation(random.nextBoolean() ? 'r' : 'w', activeIds[k], "item" + random.nextInt(iItems)));
+				continue;
+			}
+			listSchedule.add(new Operation('c', activeIds[k], null));
+			activeIds[k] = lNextId++;
+			remaining[k] = 1 + random.nextInt(LENGTH);
+		}
+		return listSchedule;
+	}
+}
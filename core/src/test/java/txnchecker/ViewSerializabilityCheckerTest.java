@@ -0,0 +1,182 @@
+package txnchecker;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+/**
+ * Class name: ViewSerializabilityCheckerTest.java
+ *
+ * Detailed Description -  Checks the verdicts of ViewSerializabilityChecker on the schedules of its class comment, on
+ * exhausted budgets, and on random schedules against a brute force over every serial order of the transactions.
+ *
+ * Programming language used is Java.
+ *
+ */
+public class ViewSerializabilityCheckerTest {
+	private static final long TIME = 10000;
+	private static final long NODES = Long.MAX_VALUE;
+
+	@Test
+	public void blindWritesAreViewSerializable() {
+		ViewSerializabilityChecker.Result result = new ViewSerializabilityChecker(parse("r1A w2A w1A w3A")).check(TIME, NODES);
+		assertEquals(ViewSerializabilityChecker.Verdict.VIEW_SERIALIZABLE, result.getVerdict());
+		assertArrayEquals(new long[] { 1, 2, 3 }, result.getSerialOrder());
+	}
+
+	@Test
+	public void notViewSerializable() {
+		// T3 reads A from T1 and then from T2, no serial order does both
+		assertEquals(ViewSerializabilityChecker.Verdict.NOT_VIEW_SERIALIZABLE,
+				new ViewSerializabilityChecker(parse("w1A r3A w2A r3A")).check(TIME, NODES).getVerdict());
+		// no blind writes and the conflict cycle T1 <-> T2
+		assertEquals(ViewSerializabilityChecker.Verdict.NOT_VIEW_SERIALIZABLE,
+				new ViewSerializabilityChecker(parse("r1A r2A w1A w2A")).check(TIME, NODES).getVerdict());
+	}
+
+	@Test
+	public void exhaustedBudgetIsUnknown() {
+		// view serializable, but only found by the search
+		List<Operation> listOperations = parse("w1A r2A w4A w3A w4A");
+		assertEquals(ViewSerializabilityChecker.Verdict.VIEW_SERIALIZABLE,
+				new ViewSerializabilityChecker(listOperations).check(TIME, NODES).getVerdict());
+		assertEquals(ViewSerializabilityChecker.Verdict.UNKNOWN,
+				new ViewSerializabilityChecker(listOperations).check(TIME, 0).getVerdict());
+		assertEquals(ViewSerializabilityChecker.Verdict.UNKNOWN,
+				new ViewSerializabilityChecker(listOperations).check(0, NODES).getVerdict());
+	}
+
+	@Test
+	public void polygraphsAreNotRecordedAsConflictChecks() {
+		List<Operation> listOperations = parse("r1A w2A w1A w3A");
+		SerializabilityResult conflictResult = SerializabilityChecker.check(listOperations);
+		CheckerMetrics checkerMetrics = CheckerMetrics.getInstance();
+		checkerMetrics.reset();
+		checkerMetrics.setEnabled(true);
+		try {
+			assertEquals(ViewSerializabilityChecker.Verdict.VIEW_SERIALIZABLE,
+					new ViewSerializabilityChecker(listOperations).check(conflictResult, TIME, NODES).getVerdict());
+			assertEquals(1, checkerMetrics.getViewChecks());
+			assertEquals(0, checkerMetrics.getGraphsBuilt());
+			assertEquals(0, checkerMetrics.getEdgesEmitted());
+			assertEquals(0, checkerMetrics.getCycleChecks());
+			assertEquals(0, checkerMetrics.getCyclicComponents());
+		} finally {
+			checkerMetrics.setEnabled(false);
+			checkerMetrics.reset();
+		}
+	}
+
+	@Test
+	public void verdictMatchesBruteForce() {
+		Random random = new Random(25);
+		for (int k = 0; k < 3000; k++) {
+			List<Operation> listOperations = OnlineSerializabilityCheckerTest.randomSchedule(random);
+			ViewSerializabilityChecker.Result result = new ViewSerializabilityChecker(listOperations).check(TIME, NODES);
+			TreeSet<Long> setTransactions = new TreeSet<Long>();
+			for (Operation eachOperation : listOperations)
+				setTransactions.add(eachOperation.getlTransactionId());
+			List<Long> listOrder = new ArrayList<Long>();
+			boolean bViewSerializable = existsViewEquivalentOrder(listOperations, setTransactions, listOrder);
+			assertEquals(bViewSerializable ? ViewSerializabilityChecker.Verdict.VIEW_SERIALIZABLE
+					: ViewSerializabilityChecker.Verdict.NOT_VIEW_SERIALIZABLE, result.getVerdict(), listOperations.toString());
+			if (bViewSerializable) {
+				List<Long> listSerialOrder = new ArrayList<Long>();
+				for (long lId : result.getSerialOrder())
+					listSerialOrder.add(lId);
+				assertTrue(isViewEquivalent(listOperations, listSerialOrder), listOperations + " order " + listSerialOrder);
+			}
+		}
+	}
+
+	/**
+     * Method name: parse
+     * Purpose: Parses a schedule written as r1A w2A c1 (operation, transaction ID, item)
+     * @param strSchedule the schedule
+     * @return List of Operation; the operations
+     */
+	private static List<Operation> parse(String strSchedule) {
+		List<Operation> listOperations = new ArrayList<Operation>();
+		for (String strOperation : strSchedule.split(" ")) {
+			char cOperation = strOperation.charAt(0);
+			int iEnd = 1;
+			while (iEnd < strOperation.length() && Character.isDigit(strOperation.charAt(iEnd)))
+				iEnd++;
+			listOperations.add(new Operation(cOperation, Long.parseLong(strOperation.substring(1, iEnd)),
+					cOperation == 'c' ? null : strOperation.substring(iEnd)));
+		}
+		return listOperations;
+	}
+
+	/**
+     * Method name: existsViewEquivalentOrder
+     * Purpose: Tries every serial order of the remaining transactions after the prefix
+     * @param listOperations the schedule
+     * @param setRemaining the transactions not yet in the prefix
+     * @param listPrefix the serial order built so far
+     * @return boolean; true if some completion of the prefix is view equivalent to the schedule
+     */
+	private static boolean existsViewEquivalentOrder(List<Operation> listOperations, TreeSet<Long> setRemaining, List<Long> listPrefix) {
+		if (setRemaining.isEmpty())
+			return isViewEquivalent(listOperations, listPrefix);
+		for (Long lId : new ArrayList<Long>(setRemaining)) {
+			setRemaining.remove(lId);
+			listPrefix.add(lId);
+			boolean bFound = existsViewEquivalentOrder(listOperations, setRemaining, listPrefix);
+			listPrefix.remove(listPrefix.size() - 1);
+			setRemaining.add(lId);
+			if (bFound)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+     * Method name: isViewEquivalent
+     * Purpose: Checks if every read of the serial schedule of an order reads from the same write as in the schedule,
+     * and if the final writes are the same
+     * @param listOperations the schedule
+     * @param listOrder the transaction IDs
+     * @return boolean; true if the two schedules are view equivalent
+     */
+	private static boolean isViewEquivalent(List<Operation> listOperations, List<Long> listOrder) {
+		List<Operation> listSerial = new ArrayList<Operation>();
+		for (long lId : listOrder)
+			for (Operation eachOperation : listOperations)
+				if (eachOperation.getlTransactionId() == lId)
+					listSerial.add(eachOperation);
+		return listSerial.size() == listOperations.size() && getView(listOperations).equals(getView(listSerial));
+	}
+
+	/**
+     * Method name: getView
+     * Purpose: Lists which write every read reads from ("initial" for the initial value) and which write of every item
+     * comes last, an operation is named by its transaction and its position within the transaction
+     * @param listOperations the schedule
+     * @return Map of String to String; the view of the schedule
+     */
+	private static Map<String, String> getView(List<Operation> listOperations) {
+		Map<String, String> mapView = new HashMap<String, String>();
+		Map<String, String> mapLastWriter = new HashMap<String, String>();
+		Map<Long, Integer> mapPosition = new HashMap<Long, Integer>();
+		for (Operation eachOperation : listOperations) {
+			long lId = eachOperation.getlTransactionId();
+			int iPosition = mapPosition.merge(lId, 1, Integer::sum);
+			if (eachOperation.getcOperation() == 'r')
+				mapView.put("read " + lId + " " + iPosition, mapLastWriter.getOrDefault(eachOperation.getStrItem(), "initial"));
+			else if (eachOperation.getcOperation() == 'w')
+				mapLastWriter.put(eachOperation.getStrItem(), lId + " " + iPosition);
+		}
+		for (Map.Entry<String, String> eachEntry : mapLastWriter.entrySet())
+			mapView.put("final " + eachEntry.getKey(), eachEntry.getValue());
+		return mapView;
+	}
+}